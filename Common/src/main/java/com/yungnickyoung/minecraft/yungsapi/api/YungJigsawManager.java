@@ -1,6 +1,8 @@
 package com.yungnickyoung.minecraft.yungsapi.api;
 
 import com.yungnickyoung.minecraft.yungsapi.world.jigsaw.JigsawManager;
+import com.yungnickyoung.minecraft.yungsapi.world.jigsaw.TemplateCache;
+import com.yungnickyoung.minecraft.yungsapi.world.jigsaw.TemplatePrefetcher;
 import com.yungnickyoung.minecraft.yungsapi.world.jigsaw.piece.MaxCountFeaturePoolElement;
 import com.yungnickyoung.minecraft.yungsapi.world.jigsaw.piece.MaxCountLegacySinglePoolElement;
 import com.yungnickyoung.minecraft.yungsapi.world.jigsaw.piece.MaxCountListPoolElement;
@@ -60,4 +62,30 @@ public class YungJigsawManager {
     ) {
         return JigsawManager.assembleJigsawStructure(jigsawContext, pieceFactory, startPos, doBoundaryAdjustments, useHeightmap, structureBoundingBoxRadius);
     }
+
+    /**
+     * Enables or disables prefetching of structure templates on server start and datapack reload.
+     * When enabled, every template reachable from the start pool of a registered {@link YungJigsawConfig}
+     * is loaded in parallel ahead of time, instead of lazily on the worldgen thread during the first generation.
+     * Load time and memory usage are logged per namespace.
+     * <p>
+     * Disabled by default. Can also be enabled by launching with {@code -Dyungsapi.prefetchTemplates=true}.
+     * </p>
+     */
+    public static void setTemplatePrefetchEnabled(boolean enabled) {
+        TemplatePrefetcher.setEnabled(enabled);
+    }
+
+    /**
+     * Enables or disables the on-disk structure template cache.
+     * When enabled, loaded templates are stored in a flat binary format under {@code .cache/yungsapi/templates}
+     * in the game directory, and later loads read them back through a memory-mapped file instead of inflating the NBT.
+     * Cache entries are invalidated automatically when the source template or the game version changes.
+     * <p>
+     * Disabled by default. Can also be enabled by launching with {@code -Dyungsapi.templateCache=true}.
+     * </p>
+     */
+    public static void setTemplateCacheEnabled(boolean enabled) {
+        TemplateCache.setEnabled(enabled);
+    }
 }
@@ -1,6 +1,7 @@
 package com.yungnickyoung.minecraft.yungsapi.codec;
 
 import com.mojang.serialization.Codec;
+import com.mojang.serialization.DataResult;
 import com.mojang.serialization.codecs.RecordCodecBuilder;
 import com.yungnickyoung.minecraft.yungsapi.YungsApiCommon;
 import net.minecraft.core.Registry;
@@ -16,6 +17,21 @@ import java.util.Map;
 public class CodecHelper {
     public static Codec<BlockState> BLOCKSTATE_STRING_CODEC = Codec.STRING.xmap(CodecHelper::blockStateFromString, BlockState::toString);
 
+    /**
+     * Creates a codec for the given enum, serialized by constant name.
+     * Names are matched case-insensitively when decoding.
+     */
+    public static <E extends Enum<E>> Codec<E> enumCodec(Class<E> enumClass) {
+        return Codec.STRING.comapFlatMap(name -> {
+            for (E value : enumClass.getEnumConstants()) {
+                if (value.name().equalsIgnoreCase(name)) {
+                    return DataResult.success(value);
+                }
+            }
+            return DataResult.error("Unknown " + enumClass.getSimpleName() + ": " + name);
+        }, Enum::name);
+    }
+
     public static BlockState blockStateFromString(String blockStateString) {
         BlockState blockState;
         Map<String, String> properties = new HashMap<>();
@@ -41,7 +41,7 @@ public class BlockStateRandomizerAdapter extends TypeAdapter<BlockStateRandomize
             }
         }
         reader.endObject();
-        return selector;
+        return selector.compile();
     }
 
     public void write(JsonWriter writer, BlockStateRandomizer selector) throws IOException {
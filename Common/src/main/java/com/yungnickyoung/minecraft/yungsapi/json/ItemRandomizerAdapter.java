@@ -41,7 +41,7 @@ public class ItemRandomizerAdapter extends TypeAdapter<ItemRandomizer> {
             }
         }
         reader.endObject();
-        return selector;
+        return selector.compile();
     }
 
     public void write(JsonWriter writer, ItemRandomizer selector) throws IOException {
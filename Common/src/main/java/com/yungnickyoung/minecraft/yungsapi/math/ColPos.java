@@ -39,9 +39,16 @@ public class ColPos {
     }
 
     public long toLong() {
+        return toLong(this.getX(), this.getZ());
+    }
+
+    /**
+     * Packs the given coordinates the same way as {@link #toLong()}, without needing a ColPos instance.
+     */
+    public static long toLong(int x, int z) {
         long i = 0L;
-        i = i | ((long)this.getX() & X_MASK);
-        i = i | ((long)this.getZ() & Z_MASK) << NUM_X_BITS;
+        i = i | ((long)x & X_MASK);
+        i = i | ((long)z & Z_MASK) << NUM_X_BITS;
         return i;
     }
 
@@ -0,0 +1,34 @@
+package com.yungnickyoung.minecraft.yungsapi.mixin;
+
+import com.yungnickyoung.minecraft.yungsapi.world.jigsaw.TemplateCache;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.server.packs.resources.ResourceManager;
+import net.minecraft.world.level.levelgen.structure.templatesystem.StructureManager;
+import net.minecraft.world.level.levelgen.structure.templatesystem.StructureTemplate;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.Shadow;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfoReturnable;
+
+import java.util.Optional;
+
+/**
+ * Serves structure templates from the on-disk {@link TemplateCache}, when enabled.
+ * Falls through to vanilla loading whenever the cache can't provide a template.
+ */
+@Mixin(StructureManager.class)
+public class StructureManagerMixin {
+    @Shadow
+    private ResourceManager resourceManager;
+
+    @Inject(method = "loadFromResource", at = @At("HEAD"), cancellable = true)
+    private void yungsapi_loadFromTemplateCache(ResourceLocation id, CallbackInfoReturnable<Optional<StructureTemplate>> info) {
+        if (!TemplateCache.isEnabled()) return;
+
+        StructureTemplate template = TemplateCache.load((StructureManager) (Object) this, this.resourceManager, id);
+        if (template != null) {
+            info.setReturnValue(Optional.of(template));
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.yungnickyoung.minecraft.yungsapi.mixin;
+
+import com.yungnickyoung.minecraft.yungsapi.world.jigsaw.TemplatePrefetcher;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.level.progress.ChunkProgressListener;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfoReturnable;
+
+import java.util.Collection;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Kicks off the optional structure template prefetch on server start and after each datapack reload.
+ * Does nothing unless prefetching has been enabled via {@link TemplatePrefetcher#setEnabled(boolean)}.
+ */
+@Mixin(MinecraftServer.class)
+public class TemplatePrefetchMixin {
+    @Inject(method = "prepareLevels", at = @At("HEAD"))
+    private void yungsapi_prefetchTemplatesOnStart(ChunkProgressListener listener, CallbackInfo info) {
+        TemplatePrefetcher.prefetchIfEnabled((MinecraftServer) (Object) this);
+    }
+
+    @Inject(method = "reloadResources", at = @At("RETURN"))
+    private void yungsapi_prefetchTemplatesOnReload(Collection<String> selectedIds, CallbackInfoReturnable<CompletableFuture<Void>> info) {
+        info.getReturnValue().thenRun(() -> TemplatePrefetcher.prefetchIfEnabled((MinecraftServer) (Object) this));
+    }
+}
@@ -0,0 +1,14 @@
+package com.yungnickyoung.minecraft.yungsapi.mixin.accessor;
+
+import com.mojang.datafixers.util.Either;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.world.level.levelgen.structure.pools.SinglePoolElement;
+import net.minecraft.world.level.levelgen.structure.templatesystem.StructureTemplate;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.gen.Accessor;
+
+@Mixin(SinglePoolElement.class)
+public interface SinglePoolElementAccessor {
+    @Accessor
+    Either<ResourceLocation, StructureTemplate> getTemplate();
+}
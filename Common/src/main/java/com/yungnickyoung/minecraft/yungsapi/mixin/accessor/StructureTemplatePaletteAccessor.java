@@ -0,0 +1,15 @@
+package com.yungnickyoung.minecraft.yungsapi.mixin.accessor;
+
+import net.minecraft.world.level.levelgen.structure.templatesystem.StructureTemplate;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.gen.Invoker;
+
+import java.util.List;
+
+@Mixin(StructureTemplate.Palette.class)
+public interface StructureTemplatePaletteAccessor {
+    @Invoker("<init>")
+    static StructureTemplate.Palette createPalette(List<StructureTemplate.StructureBlockInfo> blocks) {
+        throw new AssertionError();
+    }
+}
@@ -0,0 +1,228 @@
+package com.yungnickyoung.minecraft.yungsapi.noise;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * A 2D noise field precomputed over a fixed region and stored on disk, for fixed-seed fields that are queried constantly
+ * (e.g. biome-scale modifiers sampled by every structure piece).
+ * <p>
+ * {@link #bake} samples an {@link INoiseLibrary} on a regular grid over the region, at a fixed y-coordinate,
+ * and writes the samples as 16-bit values quantised per tile. {@link #open} memory-maps such a file;
+ * lookups inside the baked region bilinearly interpolate the stored grid, and lookups outside it
+ * fall back to sampling the live noise.
+ * </p>
+ * <p>
+ * File layout (big-endian): a fixed-size header, followed by square tiles in row-major tile order.
+ * Each tile holds its value range (min and step as floats) and then {@code TILE_SIZE * TILE_SIZE} unsigned 16-bit samples,
+ * row-major within the tile. Edge tiles are padded to full size.
+ * </p>
+ * Instances are immutable and safe to share between threads.
+ * The file mapping is released once the instance is garbage collected.
+ */
+public class BakedNoiseField implements INoiseLibrary {
+    private static final int MAGIC = 0x594E4631; // "YNF1"
+    private static final int FORMAT_VERSION = 1;
+    private static final int HEADER_SIZE = 48;
+    private static final int TILE_SIZE = 64;
+    private static final int TILE_HEADER_SIZE = 8;
+    private static final int TILE_BYTES = TILE_HEADER_SIZE + TILE_SIZE * TILE_SIZE * 2;
+    private static final int QUANTISATION_LEVELS = 65535;
+
+    private final MappedByteBuffer buffer;
+    private final INoiseLibrary fallback;
+    private final int minX, minZ, step, sizeX, sizeZ, tilesX;
+    private final float sampleY;
+
+    private BakedNoiseField(MappedByteBuffer buffer, INoiseLibrary fallback, int minX, int minZ, int step, int sizeX, int sizeZ, float sampleY) {
+        this.buffer = buffer;
+        this.fallback = fallback;
+        this.minX = minX;
+        this.minZ = minZ;
+        this.step = step;
+        this.sizeX = sizeX;
+        this.sizeZ = sizeZ;
+        this.tilesX = (sizeX + TILE_SIZE - 1) / TILE_SIZE;
+        this.sampleY = sampleY;
+    }
+
+    /**
+     * Samples the noise over a region and writes it to the given file.
+     * The file is written to a temporary file first and moved into place once complete.
+     * @param noise The noise to bake. Only sampled at y = sampleY.
+     * @param minX Minimum x-coordinate of the region, in blocks
+     * @param minZ Minimum z-coordinate of the region, in blocks
+     * @param sizeX Number of samples along the x-axis
+     * @param sizeZ Number of samples along the z-axis
+     * @param step Distance between samples, in blocks. Should be small relative to the noise's feature size.
+     * @param fingerprint Caller-chosen value identifying the baked noise (e.g. a hash of its seed and settings).
+     *                    {@link #open} only accepts files baked with the same fingerprint.
+     */
+    public static void bake(INoiseLibrary noise, Path file, int minX, int minZ, int sizeX, int sizeZ, int step, float sampleY, long fingerprint) throws IOException {
+        if (sizeX < 2 || sizeZ < 2 || step < 1) {
+            throw new IllegalArgumentException("Baked noise fields need at least 2x2 samples and a positive step");
+        }
+        int tilesX = (sizeX + TILE_SIZE - 1) / TILE_SIZE;
+        int tilesZ = (sizeZ + TILE_SIZE - 1) / TILE_SIZE;
+        if ((long) tilesX * tilesZ * TILE_BYTES + HEADER_SIZE > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Baked noise field of " + sizeX + "x" + sizeZ + " samples is too large for a single file");
+        }
+
+        Path tempPath = file.resolveSibling(file.getFileName() + ".tmp");
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tempPath)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(FORMAT_VERSION);
+            out.writeLong(fingerprint);
+            out.writeInt(minX);
+            out.writeInt(minZ);
+            out.writeInt(step);
+            out.writeInt(sizeX);
+            out.writeInt(sizeZ);
+            out.writeInt(TILE_SIZE);
+            out.writeFloat(sampleY);
+            out.write(new byte[HEADER_SIZE - 44]);
+
+            float[] tile = new float[TILE_SIZE * TILE_SIZE];
+            float[] row = new float[TILE_SIZE];
+            for (int tileZ = 0; tileZ < tilesZ; tileZ++) {
+                for (int tileX = 0; tileX < tilesX; tileX++) {
+                    float min = Float.POSITIVE_INFINITY;
+                    float max = Float.NEGATIVE_INFINITY;
+                    int rowSamples = Math.min(TILE_SIZE, sizeX - tileX * TILE_SIZE);
+
+                    // Samples past the edge of the region repeat the last row/column, so they don't widen the tile's range
+                    for (int localZ = 0; localZ < TILE_SIZE; localZ++) {
+                        int sampleZ = Math.min(tileZ * TILE_SIZE + localZ, sizeZ - 1);
+                        noise.FillNoise3D(row, minX + tileX * TILE_SIZE * step, sampleY, minZ + sampleZ * step, rowSamples, 1, 1, step);
+                        for (int localX = 0; localX < TILE_SIZE; localX++) {
+                            float value = row[Math.min(localX, rowSamples - 1)];
+                            tile[localZ * TILE_SIZE + localX] = value;
+                            min = Math.min(min, value);
+                            max = Math.max(max, value);
+                        }
+                    }
+
+                    float quantum = (max - min) / QUANTISATION_LEVELS;
+                    out.writeFloat(min);
+                    out.writeFloat(quantum);
+                    for (float value : tile) {
+                        out.writeShort(quantum == 0 ? 0 : Math.round((value - min) / quantum));
+                    }
+                }
+            }
+        }
+
+        Files.move(tempPath, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Memory-maps a baked noise field.
+     * @param fallback The live noise the file was baked from, sampled for positions outside the baked region
+     * @param fingerprint Must match the fingerprint the file was baked with
+     * @throws IOException If the file can't be read, or wasn't baked with this format or fingerprint
+     */
+    public static BakedNoiseField open(Path file, INoiseLibrary fallback, long fingerprint) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() < HEADER_SIZE || channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("Invalid baked noise field size " + channel.size());
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+
+            if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != FORMAT_VERSION) {
+                throw new IOException("Not a baked noise field, or an unsupported format version");
+            }
+            if (buffer.getLong(8) != fingerprint) {
+                throw new IOException("Baked noise field fingerprint mismatch - the noise settings have changed since baking");
+            }
+
+            int minX = buffer.getInt(16);
+            int minZ = buffer.getInt(20);
+            int step = buffer.getInt(24);
+            int sizeX = buffer.getInt(28);
+            int sizeZ = buffer.getInt(32);
+            int tileSize = buffer.getInt(36);
+            float sampleY = buffer.getFloat(40);
+
+            long tiles = (long) ((sizeX + TILE_SIZE - 1) / TILE_SIZE) * ((sizeZ + TILE_SIZE - 1) / TILE_SIZE);
+            if (tileSize != TILE_SIZE || step < 1 || sizeX < 2 || sizeZ < 2 || channel.size() != HEADER_SIZE + tiles * TILE_BYTES) {
+                throw new IOException("Corrupt baked noise field header");
+            }
+
+            return new BakedNoiseField(buffer, fallback, minX, minZ, step, sizeX, sizeZ, sampleY);
+        }
+    }
+
+    /**
+     * Returns the field's value at the given block column.
+     * Inside the baked region this is bilinearly interpolated from the stored samples;
+     * outside of it, the live noise is sampled at the baked y-coordinate.
+     */
+    public float get(float x, float z) {
+        float gridX = (x - this.minX) / this.step;
+        float gridZ = (z - this.minZ) / this.step;
+        if (!(gridX >= 0 && gridZ >= 0 && gridX <= this.sizeX - 1 && gridZ <= this.sizeZ - 1)) {
+            return this.fallback.GetNoise(x, this.sampleY, z);
+        }
+
+        int x0 = Math.min((int) gridX, this.sizeX - 2);
+        int z0 = Math.min((int) gridZ, this.sizeZ - 2);
+        float fx = gridX - x0;
+        float fz = gridZ - z0;
+
+        float v00 = sample(x0, z0);
+        float v10 = sample(x0 + 1, z0);
+        float v01 = sample(x0, z0 + 1);
+        float v11 = sample(x0 + 1, z0 + 1);
+
+        float top = v00 + fx * (v10 - v00);
+        float bottom = v01 + fx * (v11 - v01);
+        return top + fz * (bottom - top);
+    }
+
+    /**
+     * The field is two-dimensional, so the y-coordinate is ignored. See {@link #get(float, float)}.
+     */
+    @Override
+    public float GetNoise(float x, float y, float z) {
+        return get(x, z);
+    }
+
+    /**
+     * @return Whether the given block column lies inside the baked region, i.e. is served without sampling live noise
+     */
+    public boolean isBaked(float x, float z) {
+        float gridX = (x - this.minX) / this.step;
+        float gridZ = (z - this.minZ) / this.step;
+        return gridX >= 0 && gridZ >= 0 && gridX <= this.sizeX - 1 && gridZ <= this.sizeZ - 1;
+    }
+
+    public float getSampleY() {
+        return this.sampleY;
+    }
+
+    /**
+     * Dequantised value of the stored sample at the given grid position.
+     * Uses absolute reads only, so concurrent lookups don't interfere.
+     */
+    private float sample(int gridX, int gridZ) {
+        int tileIndex = (gridZ / TILE_SIZE) * this.tilesX + gridX / TILE_SIZE;
+        int tileOffset = HEADER_SIZE + tileIndex * TILE_BYTES;
+        int sampleIndex = (gridZ % TILE_SIZE) * TILE_SIZE + gridX % TILE_SIZE;
+
+        float min = this.buffer.getFloat(tileOffset);
+        float quantum = this.buffer.getFloat(tileOffset + 4);
+        int quantised = this.buffer.getShort(tileOffset + TILE_HEADER_SIZE + sampleIndex * 2) & 0xFFFF;
+        return min + quantised * quantum;
+    }
+}
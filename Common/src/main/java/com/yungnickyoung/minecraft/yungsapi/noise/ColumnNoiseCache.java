@@ -0,0 +1,155 @@
+package com.yungnickyoung.minecraft.yungsapi.noise;
+
+import com.yungnickyoung.minecraft.yungsapi.math.ColPos;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded cache of per-chunk noise tiles for a single {@link INoiseLibrary}.
+ * <p>
+ * Each tile holds the 2D noise value ({@link INoiseLibrary#GetNoise(float, float)}) for all 16x16 block columns of a chunk.
+ * Tiles are keyed by the chunk's packed {@link ColPos} and evicted least-recently-used first,
+ * so repeated lookups in the same chunk (e.g. multiple processor passes over a piece, or overlapping pieces)
+ * only cost a map lookup and an array read.
+ * </p>
+ * <p>
+ * The cache is split into lock-striped segments, each with its own LRU order, so it can be shared between worldgen threads.
+ * The noise library itself must be safe to sample concurrently - e.g. a {@link FastNoise} created through its builder.
+ * </p>
+ */
+public class ColumnNoiseCache {
+    private static final int TILE_SIZE = 16;
+    private static final int SEGMENT_BITS = 4;
+    private static final int SEGMENT_COUNT = 1 << SEGMENT_BITS;
+
+    private final INoiseLibrary noise;
+    private final Segment[] segments = new Segment[SEGMENT_COUNT];
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * @param noise The noise to sample
+     * @param maxTiles The maximum number of chunk tiles to keep. Each tile is 1 KiB.
+     */
+    public ColumnNoiseCache(INoiseLibrary noise, int maxTiles) {
+        if (maxTiles < 1) {
+            throw new IllegalArgumentException("ColumnNoiseCache must hold at least one tile");
+        }
+        this.noise = noise;
+
+        // Split capacity across segments so the total is exactly maxTiles.
+        // With fewer tiles than segments, some segments hold none and their tiles are recomputed on every lookup.
+        for (int i = 0; i < SEGMENT_COUNT; i++) {
+            int segmentCapacity = maxTiles / SEGMENT_COUNT + (i < maxTiles % SEGMENT_COUNT ? 1 : 0);
+            this.segments[i] = new Segment(segmentCapacity);
+        }
+    }
+
+    /**
+     * @return The noise value at the given block column
+     */
+    public float get(int blockX, int blockZ) {
+        float[] tile = getTile(blockX >> 4, blockZ >> 4);
+        return tile[(blockZ & 15) * TILE_SIZE + (blockX & 15)];
+    }
+
+    /**
+     * Returns the tile for the given chunk, computing it if it isn't cached.
+     * Values are stored in the order {@code tile[localZ * 16 + localX]}.
+     * The returned array is shared and must not be modified.
+     */
+    public float[] getTile(int chunkX, int chunkZ) {
+        long key = ColPos.toLong(chunkX, chunkZ);
+        Segment segment = this.segments[segmentIndex(key)];
+
+        float[] tile;
+        synchronized (segment) {
+            tile = segment.get(key);
+        }
+        if (tile != null) {
+            this.hits.increment();
+            return tile;
+        }
+
+        // Compute outside the lock so other lookups in this segment aren't blocked.
+        // If another thread computed the same tile in the meantime, use theirs; both are identical.
+        this.misses.increment();
+        float[] computedTile = computeTile(chunkX, chunkZ);
+        synchronized (segment) {
+            tile = segment.putIfAbsent(key, computedTile);
+        }
+        return tile == null ? computedTile : tile;
+    }
+
+    public long getHits() {
+        return this.hits.sum();
+    }
+
+    public long getMisses() {
+        return this.misses.sum();
+    }
+
+    /**
+     * @return The fraction of lookups served from the cache, or 0 if there have been no lookups
+     */
+    public double getHitRate() {
+        long hits = getHits();
+        long total = hits + getMisses();
+        return total == 0 ? 0 : (double) hits / total;
+    }
+
+    /**
+     * @return The number of tiles currently cached
+     */
+    public int size() {
+        int size = 0;
+        for (Segment segment : this.segments) {
+            synchronized (segment) {
+                size += segment.size();
+            }
+        }
+        return size;
+    }
+
+    /**
+     * Removes all cached tiles. Hit and miss counters are left unchanged.
+     */
+    public void clear() {
+        for (Segment segment : this.segments) {
+            synchronized (segment) {
+                segment.clear();
+            }
+        }
+    }
+
+    private float[] computeTile(int chunkX, int chunkZ) {
+        float[] tile = new float[TILE_SIZE * TILE_SIZE];
+        this.noise.FillNoise2D(tile, chunkX << 4, chunkZ << 4, TILE_SIZE, TILE_SIZE, 1);
+        return tile;
+    }
+
+    private static int segmentIndex(long key) {
+        // Mix both coordinates so neighbouring chunks land in different segments
+        int hash = (int) (key ^ (key >>> 32)) * 0x9E3779B9;
+        return hash >>> (32 - SEGMENT_BITS);
+    }
+
+    /**
+     * A single lock stripe, holding tiles in access order. Must only be accessed while synchronized on the segment.
+     */
+    private static class Segment extends LinkedHashMap<Long, float[]> {
+        private final int capacity;
+
+        Segment(int capacity) {
+            super(16, 0.75f, true);
+            this.capacity = capacity;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, float[]> eldest) {
+            return size() > this.capacity;
+        }
+    }
+}
@@ -38,32 +38,104 @@ public class FastNoise implements INoiseLibrary {
     public enum CellularDistanceFunction {Euclidean, Manhattan, Natural}
     public enum CellularReturnType {CellValue, NoiseLookup, Distance, Distance2, Distance2Add, Distance2Sub, Distance2Mul, Distance2Div}
 
-    private int m_seed = 1337;
-    private float m_frequency = (float) 0.01;
-    private Interp m_interp = Interp.Quintic;
-    private NoiseType m_noiseType = NoiseType.Simplex;
+    private final int m_seed;
+    private final float m_frequency;
+    private final Interp m_interp;
+    private final NoiseType m_noiseType;
 
-    private int m_octaves = 3;
-    private float m_lacunarity = (float) 2.0;
-    private float m_gain = (float) 0.5;
-    private FractalType m_fractalType = FractalType.FBM;
+    private final int m_octaves;
+    private final float m_lacunarity;
+    private final float m_gain;
+    private final FractalType m_fractalType;
 
-    private float m_fractalBounding;
+    private final float m_fractalBounding;
+    private final float[] m_octaveAmps;
 
-    private CellularDistanceFunction m_cellularDistanceFunction = CellularDistanceFunction.Euclidean;
-    private CellularReturnType m_cellularReturnType = CellularReturnType.CellValue;
-    private FastNoise m_cellularNoiseLookup = null;
+    private final CellularDistanceFunction m_cellularDistanceFunction;
+    private final CellularReturnType m_cellularReturnType;
+    private final FastNoise m_cellularNoiseLookup;
 
-    private float m_gradientPerturbAmp = (float) (1.0 / 0.45);
+    private final float m_gradientPerturbAmp;
+
+    // Settings of an instance created through the public constructors, which the setters write to. Null for built instances.
+    // Such an instance samples through m_snapshot, a built instance rebuilt from these settings after each change.
+    private final Builder m_settings;
+    private FastNoise m_snapshot;
 
     public FastNoise() {
         this(1337);
     }
 
     public FastNoise(int seed) {
-        m_seed = seed;
+        this(new Builder().seed(seed), true);
+    }
+
+    private FastNoise(Builder builder, boolean mutable) {
+        m_seed = builder.seed;
+        m_frequency = builder.frequency;
+        m_interp = builder.interp;
+        m_noiseType = builder.noiseType;
+        m_octaves = builder.octaves;
+        m_lacunarity = builder.lacunarity;
+        m_gain = builder.gain;
+        m_fractalType = builder.fractalType;
+        m_cellularDistanceFunction = builder.cellularDistanceFunction;
+        m_cellularReturnType = builder.cellularReturnType;
+        m_cellularNoiseLookup = builder.cellularNoiseLookup;
+        m_gradientPerturbAmp = builder.gradientPerturbAmp;
+        m_fractalBounding = CalculateFractalBounding(m_octaves, m_gain);
+        m_octaveAmps = CalculateOctaveAmps(m_octaves, m_gain);
+        m_settings = mutable ? builder : null;
+    }
+
+    // Returns a builder for an immutable FastNoise instance
+    // Instances created by the builder never change after construction, and can be shared freely between threads,
+    // e.g. by every worldgen thread. All setters on such an instance throw UnsupportedOperationException.
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    // Returns a builder initialized with this object's configuration
+    public Builder toBuilder() {
+        if (m_settings != null) {
+            return Current().toBuilder();
+        }
 
-        CalculateFractalBounding();
+        Builder builder = new Builder();
+        builder.seed = m_seed;
+        builder.frequency = m_frequency;
+        builder.interp = m_interp;
+        builder.noiseType = m_noiseType;
+        builder.octaves = m_octaves;
+        builder.lacunarity = m_lacunarity;
+        builder.gain = m_gain;
+        builder.fractalType = m_fractalType;
+        builder.cellularDistanceFunction = m_cellularDistanceFunction;
+        builder.cellularReturnType = m_cellularReturnType;
+        builder.cellularNoiseLookup(m_cellularNoiseLookup);
+        builder.gradientPerturbAmp = m_gradientPerturbAmp;
+        return builder;
+    }
+
+    // Returns true if this object was created through a Builder and cannot be modified
+    public boolean IsFrozen() {
+        return m_settings == null;
+    }
+
+    private void CheckMutable() {
+        if (m_settings == null) {
+            throw new UnsupportedOperationException("FastNoise instances created through FastNoise.Builder are immutable");
+        }
+    }
+
+    // Returns the built instance that an instance created through the public constructors samples through
+    private FastNoise Current() {
+        FastNoise snapshot = m_snapshot;
+        if (snapshot == null) {
+            snapshot = new FastNoise(m_settings, false);
+            m_snapshot = snapshot;
+        }
+        return snapshot;
     }
 
     // Returns a 0 float/double
@@ -73,19 +145,23 @@ public class FastNoise implements INoiseLibrary {
 
     // Returns the seed used by this object
     public int GetSeed() {
-        return m_seed;
+        return m_settings != null ? m_settings.seed : m_seed;
     }
 
     // Sets seed used for all noise types
     // Default: 1337
     public void SetSeed(int seed) {
-        m_seed = seed;
+        CheckMutable();
+        m_settings.seed(seed);
+        m_snapshot = null;
     }
 
     // Sets frequency for all noise types
     // Default: 0.01
     public void SetFrequency(float frequency) {
-        m_frequency = frequency;
+        CheckMutable();
+        m_settings.frequency(frequency);
+        m_snapshot = null;
     }
 
     // Changes the interpolation method used to smooth between noise values
@@ -96,167 +172,251 @@ public class FastNoise implements INoiseLibrary {
     // Used in Value, Gradient Noise and Position Perturbing
     // Default: Quintic
     public void SetInterp(Interp interp) {
-        m_interp = interp;
+        CheckMutable();
+        m_settings.interp(interp);
+        m_snapshot = null;
     }
 
     // Sets noise return type of GetNoise(...)
     // Default: Simplex
     public void SetNoiseType(NoiseType noiseType) {
-        m_noiseType = noiseType;
+        CheckMutable();
+        m_settings.noiseType(noiseType);
+        m_snapshot = null;
     }
 
     // Sets octave count for all fractal noise types
     // Default: 3
     public void SetFractalOctaves(int octaves) {
-        m_octaves = octaves;
-        CalculateFractalBounding();
+        CheckMutable();
+        m_settings.fractalOctaves(octaves);
+        m_snapshot = null;
     }
 
     // Sets octave lacunarity for all fractal noise types
     // Default: 2.0
     public void SetFractalLacunarity(float lacunarity) {
-        m_lacunarity = lacunarity;
+        CheckMutable();
+        m_settings.fractalLacunarity(lacunarity);
+        m_snapshot = null;
     }
 
     // Sets octave gain for all fractal noise types
     // Default: 0.5
     public void SetFractalGain(float gain) {
-        m_gain = gain;
-        CalculateFractalBounding();
+        CheckMutable();
+        m_settings.fractalGain(gain);
+        m_snapshot = null;
     }
 
     // Sets method for combining octaves in all fractal noise types
     // Default: FBM
     public void SetFractalType(FractalType fractalType) {
-        m_fractalType = fractalType;
+        CheckMutable();
+        m_settings.fractalType(fractalType);
+        m_snapshot = null;
     }
 
     // Sets return type from cellular noise calculations
     // Note: NoiseLookup requires another FastNoise object be set with SetCellularNoiseLookup() to function
     // Default: CellValue
     public void SetCellularDistanceFunction(CellularDistanceFunction cellularDistanceFunction) {
-        m_cellularDistanceFunction = cellularDistanceFunction;
+        CheckMutable();
+        m_settings.cellularDistanceFunction(cellularDistanceFunction);
+        m_snapshot = null;
     }
 
     // Sets distance function used in cellular noise calculations
     // Default: Euclidean
     public void SetCellularReturnType(CellularReturnType cellularReturnType) {
-        m_cellularReturnType = cellularReturnType;
+        CheckMutable();
+        m_settings.cellularReturnType(cellularReturnType);
+        m_snapshot = null;
     }
 
     // Noise used to calculate a cell value if cellular return type is NoiseLookup
     // The lookup value is acquired through GetNoise() so ensure you SetNoiseType() on the noise lookup, value, gradient or simplex is recommended
+    // The lookup is used as is, so later changes to it are reflected in this object's cellular noise
     public void SetCellularNoiseLookup(FastNoise noise) {
-        m_cellularNoiseLookup = noise;
+        CheckMutable();
+        m_settings.cellularNoiseLookup = noise;
+        m_snapshot = null;
     }
 
     // Sets the maximum perturb distance from original location when using GradientPerturb{Fractal}(...)
     // Default: 1.0
     public void SetGradientPerturbAmp(float gradientPerturbAmp) {
-        m_gradientPerturbAmp = gradientPerturbAmp / (float) 0.45;
+        CheckMutable();
+        m_settings.gradientPerturbAmp(gradientPerturbAmp);
+        m_snapshot = null;
     }
 
-    private static class Float2 {
-        public final float x, y;
+    public static class Builder {
+        private int seed = 1337;
+        private float frequency = (float) 0.01;
+        private Interp interp = Interp.Quintic;
+        private NoiseType noiseType = NoiseType.Simplex;
+        private int octaves = 3;
+        private float lacunarity = (float) 2.0;
+        private float gain = (float) 0.5;
+        private FractalType fractalType = FractalType.FBM;
+        private CellularDistanceFunction cellularDistanceFunction = CellularDistanceFunction.Euclidean;
+        private CellularReturnType cellularReturnType = CellularReturnType.CellValue;
+        private FastNoise cellularNoiseLookup = null;
+        private float gradientPerturbAmp = (float) (1.0 / 0.45);
+
+        public FastNoise build() {
+            return new FastNoise(this, false);
+        }
 
-        public Float2(float x, float y) {
-            this.x = x;
-            this.y = y;
+        public Builder seed(int seed) {
+            this.seed = seed;
+            return this;
+        }
+
+        public Builder frequency(float frequency) {
+            this.frequency = frequency;
+            return this;
+        }
+
+        public Builder interp(Interp interp) {
+            this.interp = interp;
+            return this;
+        }
+
+        public Builder noiseType(NoiseType noiseType) {
+            this.noiseType = noiseType;
+            return this;
+        }
+
+        public Builder fractalOctaves(int octaves) {
+            this.octaves = octaves;
+            return this;
+        }
+
+        public Builder fractalLacunarity(float lacunarity) {
+            this.lacunarity = lacunarity;
+            return this;
+        }
+
+        public Builder fractalGain(float gain) {
+            this.gain = gain;
+            return this;
+        }
+
+        public Builder fractalType(FractalType fractalType) {
+            this.fractalType = fractalType;
+            return this;
         }
-    }
 
-    private static class Float3 {
-        public final float x, y, z;
+        public Builder cellularDistanceFunction(CellularDistanceFunction cellularDistanceFunction) {
+            this.cellularDistanceFunction = cellularDistanceFunction;
+            return this;
+        }
+
+        public Builder cellularReturnType(CellularReturnType cellularReturnType) {
+            this.cellularReturnType = cellularReturnType;
+            return this;
+        }
+
+        // A lookup that can still be modified is copied, so the built instance never sees later changes to it
+        public Builder cellularNoiseLookup(FastNoise cellularNoiseLookup) {
+            this.cellularNoiseLookup = cellularNoiseLookup == null || cellularNoiseLookup.IsFrozen()
+                ? cellularNoiseLookup
+                : cellularNoiseLookup.toBuilder().build();
+            return this;
+        }
 
-        public Float3(float x, float y, float z) {
-            this.x = x;
-            this.y = y;
-            this.z = z;
+        public Builder gradientPerturbAmp(float gradientPerturbAmp) {
+            this.gradientPerturbAmp = gradientPerturbAmp / (float) 0.45;
+            return this;
         }
     }
 
-    private static final Float2[] GRAD_2D = {
-        new Float2(-1, -1), new Float2(1, -1), new Float2(-1, 1), new Float2(1, 1),
-        new Float2(0, -1), new Float2(-1, 0), new Float2(0, 1), new Float2(1, 0),
+    // Gradient and cell vectors are stored interleaved in flat arrays: (x, y) pairs for 2D, and (x, y, z, 0) for 3D.
+    // 3D vectors are padded to four components so a vector's index is a shift away from its hash.
+    private static final float[] GRAD_2D = {
+        -1, -1, 1, -1, -1, 1, 1, 1,
+        0, -1, -1, 0, 0, 1, 1, 0,
     };
 
-    private static final Float3[] GRAD_3D = {
-        new Float3(1, 1, 0), new Float3(-1, 1, 0), new Float3(1, -1, 0), new Float3(-1, -1, 0),
-        new Float3(1, 0, 1), new Float3(-1, 0, 1), new Float3(1, 0, -1), new Float3(-1, 0, -1),
-        new Float3(0, 1, 1), new Float3(0, -1, 1), new Float3(0, 1, -1), new Float3(0, -1, -1),
-        new Float3(1, 1, 0), new Float3(0, -1, 1), new Float3(-1, 1, 0), new Float3(0, -1, -1),
+    private static final float[] GRAD_3D = {
+        1, 1, 0, 0, -1, 1, 0, 0, 1, -1, 0, 0, -1, -1, 0, 0,
+        1, 0, 1, 0, -1, 0, 1, 0, 1, 0, -1, 0, -1, 0, -1, 0,
+        0, 1, 1, 0, 0, -1, 1, 0, 0, 1, -1, 0, 0, -1, -1, 0,
+        1, 1, 0, 0, 0, -1, 1, 0, -1, 1, 0, 0, 0, -1, -1, 0,
     };
 
-    private static final Float2[] CELL_2D =
+    private static final float[] CELL_2D =
         {
-            new Float2(-0.4313539279f, 0.1281943404f), new Float2(-0.1733316799f, 0.415278375f), new Float2(-0.2821957395f, -0.3505218461f), new Float2(-0.2806473808f, 0.3517627718f), new Float2(0.3125508975f, -0.3237467165f), new Float2(0.3383018443f, -0.2967353402f), new Float2(-0.4393982022f, -0.09710417025f), new Float2(-0.4460443703f, -0.05953502905f),
-            new Float2(-0.302223039f, 0.3334085102f), new Float2(-0.212681052f, -0.3965687458f), new Float2(-0.2991156529f, 0.3361990872f), new Float2(0.2293323691f, 0.3871778202f), new Float2(0.4475439151f, -0.04695150755f), new Float2(0.1777518f, 0.41340573f), new Float2(0.1688522499f, -0.4171197882f), new Float2(-0.0976597166f, 0.4392750616f),
-            new Float2(0.08450188373f, 0.4419948321f), new Float2(-0.4098760448f, -0.1857461384f), new Float2(0.3476585782f, -0.2857157906f), new Float2(-0.3350670039f, -0.30038326f), new Float2(0.2298190031f, -0.3868891648f), new Float2(-0.01069924099f, 0.449872789f), new Float2(-0.4460141246f, -0.05976119672f), new Float2(0.3650293864f, 0.2631606867f),
-            new Float2(-0.349479423f, 0.2834856838f), new Float2(-0.4122720642f, 0.1803655873f), new Float2(-0.267327811f, 0.3619887311f), new Float2(0.322124041f, -0.3142230135f), new Float2(0.2880445931f, -0.3457315612f), new Float2(0.3892170926f, -0.2258540565f), new Float2(0.4492085018f, -0.02667811596f), new Float2(-0.4497724772f, 0.01430799601f),
-            new Float2(0.1278175387f, -0.4314657307f), new Float2(-0.03572100503f, 0.4485799926f), new Float2(-0.4297407068f, -0.1335025276f), new Float2(-0.3217817723f, 0.3145735065f), new Float2(-0.3057158873f, 0.3302087162f), new Float2(-0.414503978f, 0.1751754899f), new Float2(-0.3738139881f, 0.2505256519f), new Float2(0.2236891408f, -0.3904653228f),
-            new Float2(0.002967775577f, -0.4499902136f), new Float2(0.1747128327f, -0.4146991995f), new Float2(-0.4423772489f, -0.08247647938f), new Float2(-0.2763960987f, -0.355112935f), new Float2(-0.4019385906f, -0.2023496216f), new Float2(0.3871414161f, -0.2293938184f), new Float2(-0.430008727f, 0.1326367019f), new Float2(-0.03037574274f, -0.4489736231f),
-            new Float2(-0.3486181573f, 0.2845441624f), new Float2(0.04553517144f, -0.4476902368f), new Float2(-0.0375802926f, 0.4484280562f), new Float2(0.3266408905f, 0.3095250049f), new Float2(0.06540017593f, -0.4452222108f), new Float2(0.03409025829f, 0.448706869f), new Float2(-0.4449193635f, 0.06742966669f), new Float2(-0.4255936157f, -0.1461850686f),
-            new Float2(0.449917292f, 0.008627302568f), new Float2(0.05242606404f, 0.4469356864f), new Float2(-0.4495305179f, -0.02055026661f), new Float2(-0.1204775703f, 0.4335725488f), new Float2(-0.341986385f, -0.2924813028f), new Float2(0.3865320182f, 0.2304191809f), new Float2(0.04506097811f, -0.447738214f), new Float2(-0.06283465979f, 0.4455915232f),
-            new Float2(0.3932600341f, -0.2187385324f), new Float2(0.4472261803f, -0.04988730975f), new Float2(0.3753571011f, -0.2482076684f), new Float2(-0.273662295f, 0.357223947f), new Float2(0.1700461538f, 0.4166344988f), new Float2(0.4102692229f, 0.1848760794f), new Float2(0.323227187f, -0.3130881435f), new Float2(-0.2882310238f, -0.3455761521f),
-            new Float2(0.2050972664f, 0.4005435199f), new Float2(0.4414085979f, -0.08751256895f), new Float2(-0.1684700334f, 0.4172743077f), new Float2(-0.003978032396f, 0.4499824166f), new Float2(-0.2055133639f, 0.4003301853f), new Float2(-0.006095674897f, -0.4499587123f), new Float2(-0.1196228124f, -0.4338091548f), new Float2(0.3901528491f, -0.2242337048f),
-            new Float2(0.01723531752f, 0.4496698165f), new Float2(-0.3015070339f, 0.3340561458f), new Float2(-0.01514262423f, -0.4497451511f), new Float2(-0.4142574071f, -0.1757577897f), new Float2(-0.1916377265f, -0.4071547394f), new Float2(0.3749248747f, 0.2488600778f), new Float2(-0.2237774255f, 0.3904147331f), new Float2(-0.4166343106f, -0.1700466149f),
-            new Float2(0.3619171625f, 0.267424695f), new Float2(0.1891126846f, -0.4083336779f), new Float2(-0.3127425077f, 0.323561623f), new Float2(-0.3281807787f, 0.307891826f), new Float2(-0.2294806661f, 0.3870899429f), new Float2(-0.3445266136f, 0.2894847362f), new Float2(-0.4167095422f, -0.1698621719f), new Float2(-0.257890321f, -0.3687717212f),
-            new Float2(-0.3612037825f, 0.2683874578f), new Float2(0.2267996491f, 0.3886668486f), new Float2(0.207157062f, 0.3994821043f), new Float2(0.08355176718f, -0.4421754202f), new Float2(-0.4312233307f, 0.1286329626f), new Float2(0.3257055497f, 0.3105090899f), new Float2(0.177701095f, -0.4134275279f), new Float2(-0.445182522f, 0.06566979625f),
-            new Float2(0.3955143435f, 0.2146355146f), new Float2(-0.4264613988f, 0.1436338239f), new Float2(-0.3793799665f, -0.2420141339f), new Float2(0.04617599081f, -0.4476245948f), new Float2(-0.371405428f, -0.2540826796f), new Float2(0.2563570295f, -0.3698392535f), new Float2(0.03476646309f, 0.4486549822f), new Float2(-0.3065454405f, 0.3294387544f),
-            new Float2(-0.2256979823f, 0.3893076172f), new Float2(0.4116448463f, -0.1817925206f), new Float2(-0.2907745828f, -0.3434387019f), new Float2(0.2842278468f, -0.348876097f), new Float2(0.3114589359f, -0.3247973695f), new Float2(0.4464155859f, -0.0566844308f), new Float2(-0.3037334033f, -0.3320331606f), new Float2(0.4079607166f, 0.1899159123f),
-            new Float2(-0.3486948919f, -0.2844501228f), new Float2(0.3264821436f, 0.3096924441f), new Float2(0.3211142406f, 0.3152548881f), new Float2(0.01183382662f, 0.4498443737f), new Float2(0.4333844092f, 0.1211526057f), new Float2(0.3118668416f, 0.324405723f), new Float2(-0.272753471f, 0.3579183483f), new Float2(-0.422228622f, -0.1556373694f),
-            new Float2(-0.1009700099f, -0.4385260051f), new Float2(-0.2741171231f, -0.3568750521f), new Float2(-0.1465125133f, 0.4254810025f), new Float2(0.2302279044f, -0.3866459777f), new Float2(-0.3699435608f, 0.2562064828f), new Float2(0.105700352f, -0.4374099171f), new Float2(-0.2646713633f, 0.3639355292f), new Float2(0.3521828122f, 0.2801200935f),
-            new Float2(-0.1864187807f, -0.4095705534f), new Float2(0.1994492955f, -0.4033856449f), new Float2(0.3937065066f, 0.2179339044f), new Float2(-0.3226158377f, 0.3137180602f), new Float2(0.3796235338f, 0.2416318948f), new Float2(0.1482921929f, 0.4248640083f), new Float2(-0.407400394f, 0.1911149365f), new Float2(0.4212853031f, 0.1581729856f),
-            new Float2(-0.2621297173f, 0.3657704353f), new Float2(-0.2536986953f, -0.3716678248f), new Float2(-0.2100236383f, 0.3979825013f), new Float2(0.3624152444f, 0.2667493029f), new Float2(-0.3645038479f, -0.2638881295f), new Float2(0.2318486784f, 0.3856762766f), new Float2(-0.3260457004f, 0.3101519002f), new Float2(-0.2130045332f, -0.3963950918f),
-            new Float2(0.3814998766f, -0.2386584257f), new Float2(-0.342977305f, 0.2913186713f), new Float2(-0.4355865605f, 0.1129794154f), new Float2(-0.2104679605f, 0.3977477059f), new Float2(0.3348364681f, -0.3006402163f), new Float2(0.3430468811f, 0.2912367377f), new Float2(-0.2291836801f, -0.3872658529f), new Float2(0.2547707298f, -0.3709337882f),
-            new Float2(0.4236174945f, -0.151816397f), new Float2(-0.15387742f, 0.4228731957f), new Float2(-0.4407449312f, 0.09079595574f), new Float2(-0.06805276192f, -0.444824484f), new Float2(0.4453517192f, -0.06451237284f), new Float2(0.2562464609f, -0.3699158705f), new Float2(0.3278198355f, -0.3082761026f), new Float2(-0.4122774207f, -0.1803533432f),
-            new Float2(0.3354090914f, -0.3000012356f), new Float2(0.446632869f, -0.05494615882f), new Float2(-0.1608953296f, 0.4202531296f), new Float2(-0.09463954939f, 0.4399356268f), new Float2(-0.02637688324f, -0.4492262904f), new Float2(0.447102804f, -0.05098119915f), new Float2(-0.4365670908f, 0.1091291678f), new Float2(-0.3959858651f, 0.2137643437f),
-            new Float2(-0.4240048207f, -0.1507312575f), new Float2(-0.3882794568f, 0.2274622243f), new Float2(-0.4283652566f, -0.1378521198f), new Float2(0.3303888091f, 0.305521251f), new Float2(0.3321434919f, -0.3036127481f), new Float2(-0.413021046f, -0.1786438231f), new Float2(0.08403060337f, -0.4420846725f), new Float2(-0.3822882919f, 0.2373934748f),
-            new Float2(-0.3712395594f, -0.2543249683f), new Float2(0.4472363971f, -0.04979563372f), new Float2(-0.4466591209f, 0.05473234629f), new Float2(0.0486272539f, -0.4473649407f), new Float2(-0.4203101295f, -0.1607463688f), new Float2(0.2205360833f, 0.39225481f), new Float2(-0.3624900666f, 0.2666476169f), new Float2(-0.4036086833f, -0.1989975647f),
-            new Float2(0.2152727807f, 0.3951678503f), new Float2(-0.4359392962f, -0.1116106179f), new Float2(0.4178354266f, 0.1670735057f), new Float2(0.2007630161f, 0.4027334247f), new Float2(-0.07278067175f, -0.4440754146f), new Float2(0.3644748615f, -0.2639281632f), new Float2(-0.4317451775f, 0.126870413f), new Float2(-0.297436456f, 0.3376855855f),
-            new Float2(-0.2998672222f, 0.3355289094f), new Float2(-0.2673674124f, 0.3619594822f), new Float2(0.2808423357f, 0.3516071423f), new Float2(0.3498946567f, 0.2829730186f), new Float2(-0.2229685561f, 0.390877248f), new Float2(0.3305823267f, 0.3053118493f), new Float2(-0.2436681211f, -0.3783197679f), new Float2(-0.03402776529f, 0.4487116125f),
-            new Float2(-0.319358823f, 0.3170330301f), new Float2(0.4454633477f, -0.06373700535f), new Float2(0.4483504221f, 0.03849544189f), new Float2(-0.4427358436f, -0.08052932871f), new Float2(0.05452298565f, 0.4466847255f), new Float2(-0.2812560807f, 0.3512762688f), new Float2(0.1266696921f, 0.4318041097f), new Float2(-0.3735981243f, 0.2508474468f),
-            new Float2(0.2959708351f, -0.3389708908f), new Float2(-0.3714377181f, 0.254035473f), new Float2(-0.404467102f, -0.1972469604f), new Float2(0.1636165687f, -0.419201167f), new Float2(0.3289185495f, -0.3071035458f), new Float2(-0.2494824991f, -0.3745109914f), new Float2(0.03283133272f, 0.4488007393f), new Float2(-0.166306057f, -0.4181414777f),
-            new Float2(-0.106833179f, 0.4371346153f), new Float2(0.06440260376f, -0.4453676062f), new Float2(-0.4483230967f, 0.03881238203f), new Float2(-0.421377757f, -0.1579265206f), new Float2(0.05097920662f, -0.4471030312f), new Float2(0.2050584153f, -0.4005634111f), new Float2(0.4178098529f, -0.167137449f), new Float2(-0.3565189504f, -0.2745801121f),
-            new Float2(0.4478398129f, 0.04403977727f), new Float2(-0.3399999602f, -0.2947881053f), new Float2(0.3767121994f, 0.2461461331f), new Float2(-0.3138934434f, 0.3224451987f), new Float2(-0.1462001792f, -0.4255884251f), new Float2(0.3970290489f, -0.2118205239f), new Float2(0.4459149305f, -0.06049689889f), new Float2(-0.4104889426f, -0.1843877112f),
-            new Float2(0.1475103971f, -0.4251360756f), new Float2(0.09258030352f, 0.4403735771f), new Float2(-0.1589664637f, -0.4209865359f), new Float2(0.2482445008f, 0.3753327428f), new Float2(0.4383624232f, -0.1016778537f), new Float2(0.06242802956f, 0.4456486745f), new Float2(0.2846591015f, -0.3485243118f), new Float2(-0.344202744f, -0.2898697484f),
-            new Float2(0.1198188883f, -0.4337550392f), new Float2(-0.243590703f, 0.3783696201f), new Float2(0.2958191174f, -0.3391033025f), new Float2(-0.1164007991f, 0.4346847754f), new Float2(0.1274037151f, -0.4315881062f), new Float2(0.368047306f, 0.2589231171f), new Float2(0.2451436949f, 0.3773652989f), new Float2(-0.4314509715f, 0.12786735f),
+            -0.4313539279f, 0.1281943404f, -0.1733316799f, 0.415278375f, -0.2821957395f, -0.3505218461f, -0.2806473808f, 0.3517627718f, 0.3125508975f, -0.3237467165f, 0.3383018443f, -0.2967353402f, -0.4393982022f, -0.09710417025f, -0.4460443703f, -0.05953502905f,
+            -0.302223039f, 0.3334085102f, -0.212681052f, -0.3965687458f, -0.2991156529f, 0.3361990872f, 0.2293323691f, 0.3871778202f, 0.4475439151f, -0.04695150755f, 0.1777518f, 0.41340573f, 0.1688522499f, -0.4171197882f, -0.0976597166f, 0.4392750616f,
+            0.08450188373f, 0.4419948321f, -0.4098760448f, -0.1857461384f, 0.3476585782f, -0.2857157906f, -0.3350670039f, -0.30038326f, 0.2298190031f, -0.3868891648f, -0.01069924099f, 0.449872789f, -0.4460141246f, -0.05976119672f, 0.3650293864f, 0.2631606867f,
+            -0.349479423f, 0.2834856838f, -0.4122720642f, 0.1803655873f, -0.267327811f, 0.3619887311f, 0.322124041f, -0.3142230135f, 0.2880445931f, -0.3457315612f, 0.3892170926f, -0.2258540565f, 0.4492085018f, -0.02667811596f, -0.4497724772f, 0.01430799601f,
+            0.1278175387f, -0.4314657307f, -0.03572100503f, 0.4485799926f, -0.4297407068f, -0.1335025276f, -0.3217817723f, 0.3145735065f, -0.3057158873f, 0.3302087162f, -0.414503978f, 0.1751754899f, -0.3738139881f, 0.2505256519f, 0.2236891408f, -0.3904653228f,
+            0.002967775577f, -0.4499902136f, 0.1747128327f, -0.4146991995f, -0.4423772489f, -0.08247647938f, -0.2763960987f, -0.355112935f, -0.4019385906f, -0.2023496216f, 0.3871414161f, -0.2293938184f, -0.430008727f, 0.1326367019f, -0.03037574274f, -0.4489736231f,
+            -0.3486181573f, 0.2845441624f, 0.04553517144f, -0.4476902368f, -0.0375802926f, 0.4484280562f, 0.3266408905f, 0.3095250049f, 0.06540017593f, -0.4452222108f, 0.03409025829f, 0.448706869f, -0.4449193635f, 0.06742966669f, -0.4255936157f, -0.1461850686f,
+            0.449917292f, 0.008627302568f, 0.05242606404f, 0.4469356864f, -0.4495305179f, -0.02055026661f, -0.1204775703f, 0.4335725488f, -0.341986385f, -0.2924813028f, 0.3865320182f, 0.2304191809f, 0.04506097811f, -0.447738214f, -0.06283465979f, 0.4455915232f,
+            0.3932600341f, -0.2187385324f, 0.4472261803f, -0.04988730975f, 0.3753571011f, -0.2482076684f, -0.273662295f, 0.357223947f, 0.1700461538f, 0.4166344988f, 0.4102692229f, 0.1848760794f, 0.323227187f, -0.3130881435f, -0.2882310238f, -0.3455761521f,
+            0.2050972664f, 0.4005435199f, 0.4414085979f, -0.08751256895f, -0.1684700334f, 0.4172743077f, -0.003978032396f, 0.4499824166f, -0.2055133639f, 0.4003301853f, -0.006095674897f, -0.4499587123f, -0.1196228124f, -0.4338091548f, 0.3901528491f, -0.2242337048f,
+            0.01723531752f, 0.4496698165f, -0.3015070339f, 0.3340561458f, -0.01514262423f, -0.4497451511f, -0.4142574071f, -0.1757577897f, -0.1916377265f, -0.4071547394f, 0.3749248747f, 0.2488600778f, -0.2237774255f, 0.3904147331f, -0.4166343106f, -0.1700466149f,
+            0.3619171625f, 0.267424695f, 0.1891126846f, -0.4083336779f, -0.3127425077f, 0.323561623f, -0.3281807787f, 0.307891826f, -0.2294806661f, 0.3870899429f, -0.3445266136f, 0.2894847362f, -0.4167095422f, -0.1698621719f, -0.257890321f, -0.3687717212f,
+            -0.3612037825f, 0.2683874578f, 0.2267996491f, 0.3886668486f, 0.207157062f, 0.3994821043f, 0.08355176718f, -0.4421754202f, -0.4312233307f, 0.1286329626f, 0.3257055497f, 0.3105090899f, 0.177701095f, -0.4134275279f, -0.445182522f, 0.06566979625f,
+            0.3955143435f, 0.2146355146f, -0.4264613988f, 0.1436338239f, -0.3793799665f, -0.2420141339f, 0.04617599081f, -0.4476245948f, -0.371405428f, -0.2540826796f, 0.2563570295f, -0.3698392535f, 0.03476646309f, 0.4486549822f, -0.3065454405f, 0.3294387544f,
+            -0.2256979823f, 0.3893076172f, 0.4116448463f, -0.1817925206f, -0.2907745828f, -0.3434387019f, 0.2842278468f, -0.348876097f, 0.3114589359f, -0.3247973695f, 0.4464155859f, -0.0566844308f, -0.3037334033f, -0.3320331606f, 0.4079607166f, 0.1899159123f,
+            -0.3486948919f, -0.2844501228f, 0.3264821436f, 0.3096924441f, 0.3211142406f, 0.3152548881f, 0.01183382662f, 0.4498443737f, 0.4333844092f, 0.1211526057f, 0.3118668416f, 0.324405723f, -0.272753471f, 0.3579183483f, -0.422228622f, -0.1556373694f,
+            -0.1009700099f, -0.4385260051f, -0.2741171231f, -0.3568750521f, -0.1465125133f, 0.4254810025f, 0.2302279044f, -0.3866459777f, -0.3699435608f, 0.2562064828f, 0.105700352f, -0.4374099171f, -0.2646713633f, 0.3639355292f, 0.3521828122f, 0.2801200935f,
+            -0.1864187807f, -0.4095705534f, 0.1994492955f, -0.4033856449f, 0.3937065066f, 0.2179339044f, -0.3226158377f, 0.3137180602f, 0.3796235338f, 0.2416318948f, 0.1482921929f, 0.4248640083f, -0.407400394f, 0.1911149365f, 0.4212853031f, 0.1581729856f,
+            -0.2621297173f, 0.3657704353f, -0.2536986953f, -0.3716678248f, -0.2100236383f, 0.3979825013f, 0.3624152444f, 0.2667493029f, -0.3645038479f, -0.2638881295f, 0.2318486784f, 0.3856762766f, -0.3260457004f, 0.3101519002f, -0.2130045332f, -0.3963950918f,
+            0.3814998766f, -0.2386584257f, -0.342977305f, 0.2913186713f, -0.4355865605f, 0.1129794154f, -0.2104679605f, 0.3977477059f, 0.3348364681f, -0.3006402163f, 0.3430468811f, 0.2912367377f, -0.2291836801f, -0.3872658529f, 0.2547707298f, -0.3709337882f,
+            0.4236174945f, -0.151816397f, -0.15387742f, 0.4228731957f, -0.4407449312f, 0.09079595574f, -0.06805276192f, -0.444824484f, 0.4453517192f, -0.06451237284f, 0.2562464609f, -0.3699158705f, 0.3278198355f, -0.3082761026f, -0.4122774207f, -0.1803533432f,
+            0.3354090914f, -0.3000012356f, 0.446632869f, -0.05494615882f, -0.1608953296f, 0.4202531296f, -0.09463954939f, 0.4399356268f, -0.02637688324f, -0.4492262904f, 0.447102804f, -0.05098119915f, -0.4365670908f, 0.1091291678f, -0.3959858651f, 0.2137643437f,
+            -0.4240048207f, -0.1507312575f, -0.3882794568f, 0.2274622243f, -0.4283652566f, -0.1378521198f, 0.3303888091f, 0.305521251f, 0.3321434919f, -0.3036127481f, -0.413021046f, -0.1786438231f, 0.08403060337f, -0.4420846725f, -0.3822882919f, 0.2373934748f,
+            -0.3712395594f, -0.2543249683f, 0.4472363971f, -0.04979563372f, -0.4466591209f, 0.05473234629f, 0.0486272539f, -0.4473649407f, -0.4203101295f, -0.1607463688f, 0.2205360833f, 0.39225481f, -0.3624900666f, 0.2666476169f, -0.4036086833f, -0.1989975647f,
+            0.2152727807f, 0.3951678503f, -0.4359392962f, -0.1116106179f, 0.4178354266f, 0.1670735057f, 0.2007630161f, 0.4027334247f, -0.07278067175f, -0.4440754146f, 0.3644748615f, -0.2639281632f, -0.4317451775f, 0.126870413f, -0.297436456f, 0.3376855855f,
+            -0.2998672222f, 0.3355289094f, -0.2673674124f, 0.3619594822f, 0.2808423357f, 0.3516071423f, 0.3498946567f, 0.2829730186f, -0.2229685561f, 0.390877248f, 0.3305823267f, 0.3053118493f, -0.2436681211f, -0.3783197679f, -0.03402776529f, 0.4487116125f,
+            -0.319358823f, 0.3170330301f, 0.4454633477f, -0.06373700535f, 0.4483504221f, 0.03849544189f, -0.4427358436f, -0.08052932871f, 0.05452298565f, 0.4466847255f, -0.2812560807f, 0.3512762688f, 0.1266696921f, 0.4318041097f, -0.3735981243f, 0.2508474468f,
+            0.2959708351f, -0.3389708908f, -0.3714377181f, 0.254035473f, -0.404467102f, -0.1972469604f, 0.1636165687f, -0.419201167f, 0.3289185495f, -0.3071035458f, -0.2494824991f, -0.3745109914f, 0.03283133272f, 0.4488007393f, -0.166306057f, -0.4181414777f,
+            -0.106833179f, 0.4371346153f, 0.06440260376f, -0.4453676062f, -0.4483230967f, 0.03881238203f, -0.421377757f, -0.1579265206f, 0.05097920662f, -0.4471030312f, 0.2050584153f, -0.4005634111f, 0.4178098529f, -0.167137449f, -0.3565189504f, -0.2745801121f,
+            0.4478398129f, 0.04403977727f, -0.3399999602f, -0.2947881053f, 0.3767121994f, 0.2461461331f, -0.3138934434f, 0.3224451987f, -0.1462001792f, -0.4255884251f, 0.3970290489f, -0.2118205239f, 0.4459149305f, -0.06049689889f, -0.4104889426f, -0.1843877112f,
+            0.1475103971f, -0.4251360756f, 0.09258030352f, 0.4403735771f, -0.1589664637f, -0.4209865359f, 0.2482445008f, 0.3753327428f, 0.4383624232f, -0.1016778537f, 0.06242802956f, 0.4456486745f, 0.2846591015f, -0.3485243118f, -0.344202744f, -0.2898697484f,
+            0.1198188883f, -0.4337550392f, -0.243590703f, 0.3783696201f, 0.2958191174f, -0.3391033025f, -0.1164007991f, 0.4346847754f, 0.1274037151f, -0.4315881062f, 0.368047306f, 0.2589231171f, 0.2451436949f, 0.3773652989f, -0.4314509715f, 0.12786735f,
         };
 
-    private static final Float3[] CELL_3D =
+    private static final float[] CELL_3D =
         {
-            new Float3(0.1453787434f, -0.4149781685f, -0.0956981749f), new Float3(-0.01242829687f, -0.1457918398f, -0.4255470325f), new Float3(0.2877979582f, -0.02606483451f, -0.3449535616f), new Float3(-0.07732986802f, 0.2377094325f, 0.3741848704f), new Float3(0.1107205875f, -0.3552302079f, -0.2530858567f), new Float3(0.2755209141f, 0.2640521179f, -0.238463215f), new Float3(0.294168941f, 0.1526064594f, 0.3044271714f), new Float3(0.4000921098f, -0.2034056362f, 0.03244149937f),
-            new Float3(-0.1697304074f, 0.3970864695f, -0.1265461359f), new Float3(-0.1483224484f, -0.3859694688f, 0.1775613147f), new Float3(0.2623596946f, -0.2354852944f, 0.2796677792f), new Float3(-0.2709003183f, 0.3505271138f, -0.07901746678f), new Float3(-0.03516550699f, 0.3885234328f, 0.2243054374f), new Float3(-0.1267712655f, 0.1920044036f, 0.3867342179f), new Float3(0.02952021915f, 0.4409685861f, 0.08470692262f), new Float3(-0.2806854217f, -0.266996757f, 0.2289725438f),
-            new Float3(-0.171159547f, 0.2141185563f, 0.3568720405f), new Float3(0.2113227183f, 0.3902405947f, -0.07453178509f), new Float3(-0.1024352839f, 0.2128044156f, -0.3830421561f), new Float3(-0.3304249877f, -0.1566986703f, 0.2622305365f), new Float3(0.2091111325f, 0.3133278055f, -0.2461670583f), new Float3(0.344678154f, -0.1944240454f, -0.2142341261f), new Float3(0.1984478035f, -0.3214342325f, -0.2445373252f), new Float3(-0.2929008603f, 0.2262915116f, 0.2559320961f),
-            new Float3(-0.1617332831f, 0.006314769776f, -0.4198838754f), new Float3(-0.3582060271f, -0.148303178f, -0.2284613961f), new Float3(-0.1852067326f, -0.3454119342f, -0.2211087107f), new Float3(0.3046301062f, 0.1026310383f, 0.314908508f), new Float3(-0.03816768434f, -0.2551766358f, -0.3686842991f), new Float3(-0.4084952196f, 0.1805950793f, 0.05492788837f), new Float3(-0.02687443361f, -0.2749741471f, 0.3551999201f), new Float3(-0.03801098351f, 0.3277859044f, 0.3059600725f),
-            new Float3(0.2371120802f, 0.2900386767f, -0.2493099024f), new Float3(0.4447660503f, 0.03946930643f, 0.05590469027f), new Float3(0.01985147278f, -0.01503183293f, -0.4493105419f), new Float3(0.4274339143f, 0.03345994256f, -0.1366772882f), new Float3(-0.2072988631f, 0.2871414597f, -0.2776273824f), new Float3(-0.3791240978f, 0.1281177671f, 0.2057929936f), new Float3(-0.2098721267f, -0.1007087278f, -0.3851122467f), new Float3(0.01582798878f, 0.4263894424f, 0.1429738373f),
-            new Float3(-0.1888129464f, -0.3160996813f, -0.2587096108f), new Float3(0.1612988974f, -0.1974805082f, -0.3707885038f), new Float3(-0.08974491322f, 0.229148752f, -0.3767448739f), new Float3(0.07041229526f, 0.4150230285f, -0.1590534329f), new Float3(-0.1082925611f, -0.1586061639f, 0.4069604477f), new Float3(0.2474100658f, -0.3309414609f, 0.1782302128f), new Float3(-0.1068836661f, -0.2701644537f, -0.3436379634f), new Float3(0.2396452163f, 0.06803600538f, -0.3747549496f),
-            new Float3(-0.3063886072f, 0.2597428179f, 0.2028785103f), new Float3(0.1593342891f, -0.3114350249f, -0.2830561951f), new Float3(0.2709690528f, 0.1412648683f, -0.3303331794f), new Float3(-0.1519780427f, 0.3623355133f, 0.2193527988f), new Float3(0.1699773681f, 0.3456012883f, 0.2327390037f), new Float3(-0.1986155616f, 0.3836276443f, -0.1260225743f), new Float3(-0.1887482106f, -0.2050154888f, -0.353330953f), new Float3(0.2659103394f, 0.3015631259f, -0.2021172246f),
-            new Float3(-0.08838976154f, -0.4288819642f, -0.1036702021f), new Float3(-0.04201869311f, 0.3099592485f, 0.3235115047f), new Float3(-0.3230334656f, 0.201549922f, -0.2398478873f), new Float3(0.2612720941f, 0.2759854499f, -0.2409749453f), new Float3(0.385713046f, 0.2193460345f, 0.07491837764f), new Float3(0.07654967953f, 0.3721732183f, 0.241095919f), new Float3(0.4317038818f, -0.02577753072f, 0.1243675091f), new Float3(-0.2890436293f, -0.3418179959f, -0.04598084447f),
-            new Float3(-0.2201947582f, 0.383023377f, -0.08548310451f), new Float3(0.4161322773f, -0.1669634289f, -0.03817251927f), new Float3(0.2204718095f, 0.02654238946f, -0.391391981f), new Float3(-0.1040307469f, 0.3890079625f, -0.2008741118f), new Float3(-0.1432122615f, 0.371614387f, -0.2095065525f), new Float3(0.3978380468f, -0.06206669342f, 0.2009293758f), new Float3(-0.2599274663f, 0.2616724959f, -0.2578084893f), new Float3(0.4032618332f, -0.1124593585f, 0.1650235939f),
-            new Float3(-0.08953470255f, -0.3048244735f, 0.3186935478f), new Float3(0.118937202f, -0.2875221847f, 0.325092195f), new Float3(0.02167047076f, -0.03284630549f, -0.4482761547f), new Float3(-0.3411343612f, 0.2500031105f, 0.1537068389f), new Float3(0.3162964612f, 0.3082064153f, -0.08640228117f), new Float3(0.2355138889f, -0.3439334267f, -0.1695376245f), new Float3(-0.02874541518f, -0.3955933019f, 0.2125550295f), new Float3(-0.2461455173f, 0.02020282325f, -0.3761704803f),
-            new Float3(0.04208029445f, -0.4470439576f, 0.02968078139f), new Float3(0.2727458746f, 0.2288471896f, -0.2752065618f), new Float3(-0.1347522818f, -0.02720848277f, -0.4284874806f), new Float3(0.3829624424f, 0.1231931484f, -0.2016512234f), new Float3(-0.3547613644f, 0.1271702173f, 0.2459107769f), new Float3(0.2305790207f, 0.3063895591f, 0.2354968222f), new Float3(-0.08323845599f, -0.1922245118f, 0.3982726409f), new Float3(0.2993663085f, -0.2619918095f, -0.2103333191f),
-            new Float3(-0.2154865723f, 0.2706747713f, 0.287751117f), new Float3(0.01683355354f, -0.2680655787f, -0.3610505186f), new Float3(0.05240429123f, 0.4335128183f, -0.1087217856f), new Float3(0.00940104872f, -0.4472890582f, 0.04841609928f), new Float3(0.3465688735f, 0.01141914583f, -0.2868093776f), new Float3(-0.3706867948f, -0.2551104378f, 0.003156692623f), new Float3(0.2741169781f, 0.2139972417f, -0.2855959784f), new Float3(0.06413433865f, 0.1708718512f, 0.4113266307f),
-            new Float3(-0.388187972f, -0.03973280434f, -0.2241236325f), new Float3(0.06419469312f, -0.2803682491f, 0.3460819069f), new Float3(-0.1986120739f, -0.3391173584f, 0.2192091725f), new Float3(-0.203203009f, -0.3871641506f, 0.1063600375f), new Float3(-0.1389736354f, -0.2775901578f, -0.3257760473f), new Float3(-0.06555641638f, 0.342253257f, -0.2847192729f), new Float3(-0.2529246486f, -0.2904227915f, 0.2327739768f), new Float3(0.1444476522f, 0.1069184044f, 0.4125570634f),
-            new Float3(-0.3643780054f, -0.2447099973f, -0.09922543227f), new Float3(0.4286142488f, -0.1358496089f, -0.01829506817f), new Float3(0.165872923f, -0.3136808464f, -0.2767498872f), new Float3(0.2219610524f, -0.3658139958f, 0.1393320198f), new Float3(0.04322940318f, -0.3832730794f, 0.2318037215f), new Float3(-0.08481269795f, -0.4404869674f, -0.03574965489f), new Float3(0.1822082075f, -0.3953259299f, 0.1140946023f), new Float3(-0.3269323334f, 0.3036542563f, 0.05838957105f),
-            new Float3(-0.4080485344f, 0.04227858267f, -0.184956522f), new Float3(0.2676025294f, -0.01299671652f, 0.36155217f), new Float3(0.3024892441f, -0.1009990293f, -0.3174892964f), new Float3(0.1448494052f, 0.425921681f, -0.0104580805f), new Float3(0.4198402157f, 0.08062320474f, 0.1404780841f), new Float3(-0.3008872161f, -0.333040905f, -0.03241355801f), new Float3(0.3639310428f, -0.1291284382f, -0.2310412139f), new Float3(0.3295806598f, 0.0184175994f, -0.3058388149f),
-            new Float3(0.2776259487f, -0.2974929052f, -0.1921504723f), new Float3(0.4149000507f, -0.144793182f, -0.09691688386f), new Float3(0.145016715f, -0.0398992945f, 0.4241205002f), new Float3(0.09299023471f, -0.299732164f, -0.3225111565f), new Float3(0.1028907093f, -0.361266869f, 0.247789732f), new Float3(0.2683057049f, -0.07076041213f, -0.3542668666f), new Float3(-0.4227307273f, -0.07933161816f, -0.1323073187f), new Float3(-0.1781224702f, 0.1806857196f, -0.3716517945f),
-            new Float3(0.4390788626f, -0.02841848598f, -0.09435116353f), new Float3(0.2972583585f, 0.2382799621f, -0.2394997452f), new Float3(-0.1707002821f, 0.2215845691f, 0.3525077196f), new Float3(0.3806686614f, 0.1471852559f, -0.1895464869f), new Float3(-0.1751445661f, -0.274887877f, 0.3102596268f), new Float3(-0.2227237566f, -0.2316778837f, 0.3149912482f), new Float3(0.1369633021f, 0.1341343041f, -0.4071228836f), new Float3(-0.3529503428f, -0.2472893463f, -0.129514612f),
-            new Float3(-0.2590744185f, -0.2985577559f, -0.2150435121f), new Float3(-0.3784019401f, 0.2199816631f, -0.1044989934f), new Float3(-0.05635805671f, 0.1485737441f, 0.4210102279f), new Float3(0.3251428613f, 0.09666046873f, -0.2957006485f), new Float3(-0.4190995804f, 0.1406751354f, -0.08405978803f), new Float3(-0.3253150961f, -0.3080335042f, -0.04225456877f), new Float3(0.2857945863f, -0.05796152095f, 0.3427271751f), new Float3(-0.2733604046f, 0.1973770973f, -0.2980207554f),
-            new Float3(0.219003657f, 0.2410037886f, -0.3105713639f), new Float3(0.3182767252f, -0.271342949f, 0.1660509868f), new Float3(-0.03222023115f, -0.3331161506f, -0.300824678f), new Float3(-0.3087780231f, 0.1992794134f, -0.2596995338f), new Float3(-0.06487611647f, -0.4311322747f, 0.1114273361f), new Float3(0.3921171432f, -0.06294284106f, -0.2116183942f), new Float3(-0.1606404506f, -0.358928121f, -0.2187812825f), new Float3(-0.03767771199f, -0.2290351443f, 0.3855169162f),
-            new Float3(0.1394866832f, -0.3602213994f, 0.2308332918f), new Float3(-0.4345093872f, 0.005751117145f, 0.1169124335f), new Float3(-0.1044637494f, 0.4168128432f, -0.1336202785f), new Float3(0.2658727501f, 0.2551943237f, 0.2582393035f), new Float3(0.2051461999f, 0.1975390727f, 0.3484154868f), new Float3(-0.266085566f, 0.23483312f, 0.2766800993f), new Float3(0.07849405464f, -0.3300346342f, -0.2956616708f), new Float3(-0.2160686338f, 0.05376451292f, -0.3910546287f),
-            new Float3(-0.185779186f, 0.2148499206f, 0.3490352499f), new Float3(0.02492421743f, -0.3229954284f, -0.3123343347f), new Float3(-0.120167831f, 0.4017266681f, 0.1633259825f), new Float3(-0.02160084693f, -0.06885389554f, 0.4441762538f), new Float3(0.2597670064f, 0.3096300784f, 0.1978643903f), new Float3(-0.1611553854f, -0.09823036005f, 0.4085091653f), new Float3(-0.3278896792f, 0.1461670309f, 0.2713366126f), new Float3(0.2822734956f, 0.03754421121f, -0.3484423997f),
-            new Float3(0.03169341113f, 0.347405252f, -0.2842624114f), new Float3(0.2202613604f, -0.3460788041f, -0.1849713341f), new Float3(0.2933396046f, 0.3031973659f, 0.1565989581f), new Float3(-0.3194922995f, 0.2453752201f, -0.200538455f), new Float3(-0.3441586045f, -0.1698856132f, -0.2349334659f), new Float3(0.2703645948f, -0.3574277231f, 0.04060059933f), new Float3(0.2298568861f, 0.3744156221f, 0.0973588921f), new Float3(0.09326603877f, -0.3170108894f, 0.3054595587f),
-            new Float3(-0.1116165319f, -0.2985018719f, 0.3177080142f), new Float3(0.2172907365f, -0.3460005203f, -0.1885958001f), new Float3(0.1991339479f, 0.3820341668f, -0.1299829458f), new Float3(-0.0541918155f, -0.2103145071f, 0.39412061f), new Float3(0.08871336998f, 0.2012117383f, 0.3926114802f), new Float3(0.2787673278f, 0.3505404674f, 0.04370535101f), new Float3(-0.322166438f, 0.3067213525f, 0.06804996813f), new Float3(-0.4277366384f, 0.132066775f, 0.04582286686f),
-            new Float3(0.240131882f, -0.1612516055f, 0.344723946f), new Float3(0.1448607981f, -0.2387819045f, 0.3528435224f), new Float3(-0.3837065682f, -0.2206398454f, 0.08116235683f), new Float3(-0.4382627882f, -0.09082753406f, -0.04664855374f), new Float3(-0.37728353f, 0.05445141085f, 0.2391488697f), new Float3(0.1259579313f, 0.348394558f, 0.2554522098f), new Float3(-0.1406285511f, -0.270877371f, -0.3306796947f), new Float3(-0.1580694418f, 0.4162931958f, -0.06491553533f),
-            new Float3(0.2477612106f, -0.2927867412f, -0.2353514536f), new Float3(0.2916132853f, 0.3312535401f, 0.08793624968f), new Float3(0.07365265219f, -0.1666159848f, 0.411478311f), new Float3(-0.26126526f, -0.2422237692f, 0.2748965434f), new Float3(-0.3721862032f, 0.252790166f, 0.008634938242f), new Float3(-0.3691191571f, -0.255281188f, 0.03290232422f), new Float3(0.2278441737f, -0.3358364886f, 0.1944244981f), new Float3(0.363398169f, -0.2310190248f, 0.1306597909f),
-            new Float3(-0.304231482f, -0.2698452035f, 0.1926830856f), new Float3(-0.3199312232f, 0.316332536f, -0.008816977938f), new Float3(0.2874852279f, 0.1642275508f, -0.304764754f), new Float3(-0.1451096801f, 0.3277541114f, -0.2720669462f), new Float3(0.3220090754f, 0.0511344108f, 0.3101538769f), new Float3(-0.1247400865f, -0.04333605335f, -0.4301882115f), new Float3(-0.2829555867f, -0.3056190617f, -0.1703910946f), new Float3(0.1069384374f, 0.3491024667f, -0.2630430352f),
-            new Float3(-0.1420661144f, -0.3055376754f, -0.2982682484f), new Float3(-0.250548338f, 0.3156466809f, -0.2002316239f), new Float3(0.3265787872f, 0.1871229129f, 0.2466400438f), new Float3(0.07646097258f, -0.3026690852f, 0.324106687f), new Float3(0.3451771584f, 0.2757120714f, -0.0856480183f), new Float3(0.298137964f, 0.2852657134f, 0.179547284f), new Float3(0.2812250376f, 0.3466716415f, 0.05684409612f), new Float3(0.4390345476f, -0.09790429955f, -0.01278335452f),
-            new Float3(0.2148373234f, 0.1850172527f, 0.3494474791f), new Float3(0.2595421179f, -0.07946825393f, 0.3589187731f), new Float3(0.3182823114f, -0.307355516f, -0.08203022006f), new Float3(-0.4089859285f, -0.04647718411f, 0.1818526372f), new Float3(-0.2826749061f, 0.07417482322f, 0.3421885344f), new Float3(0.3483864637f, 0.225442246f, -0.1740766085f), new Float3(-0.3226415069f, -0.1420585388f, -0.2796816575f), new Float3(0.4330734858f, -0.118868561f, -0.02859407492f),
-            new Float3(-0.08717822568f, -0.3909896417f, -0.2050050172f), new Float3(-0.2149678299f, 0.3939973956f, -0.03247898316f), new Float3(-0.2687330705f, 0.322686276f, -0.1617284888f), new Float3(0.2105665099f, -0.1961317136f, -0.3459683451f), new Float3(0.4361845915f, -0.1105517485f, 0.004616608544f), new Float3(0.05333333359f, -0.313639498f, -0.3182543336f), new Float3(-0.05986216652f, 0.1361029153f, -0.4247264031f), new Float3(0.3664988455f, 0.2550543014f, -0.05590974511f),
-            new Float3(-0.2341015558f, -0.182405731f, 0.3382670703f), new Float3(-0.04730947785f, -0.4222150243f, -0.1483114513f), new Float3(-0.2391566239f, -0.2577696514f, -0.2808182972f), new Float3(-0.1242081035f, 0.4256953395f, -0.07652336246f), new Float3(0.2614832715f, -0.3650179274f, 0.02980623099f), new Float3(-0.2728794681f, -0.3499628774f, 0.07458404908f), new Float3(0.007892900508f, -0.1672771315f, 0.4176793787f), new Float3(-0.01730330376f, 0.2978486637f, -0.3368779738f),
-            new Float3(0.2054835762f, -0.3252600376f, -0.2334146693f), new Float3(-0.3231994983f, 0.1564282844f, -0.2712420987f), new Float3(-0.2669545963f, 0.2599343665f, -0.2523278991f), new Float3(-0.05554372779f, 0.3170813944f, -0.3144428146f), new Float3(-0.2083935713f, -0.310922837f, -0.2497981362f), new Float3(0.06989323478f, -0.3156141536f, 0.3130537363f), new Float3(0.3847566193f, -0.1605309138f, -0.1693876312f), new Float3(-0.3026215288f, -0.3001537679f, -0.1443188342f),
-            new Float3(0.3450735512f, 0.08611519592f, 0.2756962409f), new Float3(0.1814473292f, -0.2788782453f, -0.3029914042f), new Float3(-0.03855010448f, 0.09795110726f, 0.4375151083f), new Float3(0.3533670318f, 0.2665752752f, 0.08105160988f), new Float3(-0.007945601311f, 0.140359426f, -0.4274764309f), new Float3(0.4063099273f, -0.1491768253f, -0.1231199324f), new Float3(-0.2016773589f, 0.008816271194f, -0.4021797064f), new Float3(-0.07527055435f, -0.425643481f, -0.1251477955f),
+            0.1453787434f, -0.4149781685f, -0.0956981749f, 0, -0.01242829687f, -0.1457918398f, -0.4255470325f, 0, 0.2877979582f, -0.02606483451f, -0.3449535616f, 0, -0.07732986802f, 0.2377094325f, 0.3741848704f, 0, 0.1107205875f, -0.3552302079f, -0.2530858567f, 0, 0.2755209141f, 0.2640521179f, -0.238463215f, 0, 0.294168941f, 0.1526064594f, 0.3044271714f, 0, 0.4000921098f, -0.2034056362f, 0.03244149937f, 0,
+            -0.1697304074f, 0.3970864695f, -0.1265461359f, 0, -0.1483224484f, -0.3859694688f, 0.1775613147f, 0, 0.2623596946f, -0.2354852944f, 0.2796677792f, 0, -0.2709003183f, 0.3505271138f, -0.07901746678f, 0, -0.03516550699f, 0.3885234328f, 0.2243054374f, 0, -0.1267712655f, 0.1920044036f, 0.3867342179f, 0, 0.02952021915f, 0.4409685861f, 0.08470692262f, 0, -0.2806854217f, -0.266996757f, 0.2289725438f, 0,
+            -0.171159547f, 0.2141185563f, 0.3568720405f, 0, 0.2113227183f, 0.3902405947f, -0.07453178509f, 0, -0.1024352839f, 0.2128044156f, -0.3830421561f, 0, -0.3304249877f, -0.1566986703f, 0.2622305365f, 0, 0.2091111325f, 0.3133278055f, -0.2461670583f, 0, 0.344678154f, -0.1944240454f, -0.2142341261f, 0, 0.1984478035f, -0.3214342325f, -0.2445373252f, 0, -0.2929008603f, 0.2262915116f, 0.2559320961f, 0,
+            -0.1617332831f, 0.006314769776f, -0.4198838754f, 0, -0.3582060271f, -0.148303178f, -0.2284613961f, 0, -0.1852067326f, -0.3454119342f, -0.2211087107f, 0, 0.3046301062f, 0.1026310383f, 0.314908508f, 0, -0.03816768434f, -0.2551766358f, -0.3686842991f, 0, -0.4084952196f, 0.1805950793f, 0.05492788837f, 0, -0.02687443361f, -0.2749741471f, 0.3551999201f, 0, -0.03801098351f, 0.3277859044f, 0.3059600725f, 0,
+            0.2371120802f, 0.2900386767f, -0.2493099024f, 0, 0.4447660503f, 0.03946930643f, 0.05590469027f, 0, 0.01985147278f, -0.01503183293f, -0.4493105419f, 0, 0.4274339143f, 0.03345994256f, -0.1366772882f, 0, -0.2072988631f, 0.2871414597f, -0.2776273824f, 0, -0.3791240978f, 0.1281177671f, 0.2057929936f, 0, -0.2098721267f, -0.1007087278f, -0.3851122467f, 0, 0.01582798878f, 0.4263894424f, 0.1429738373f, 0,
+            -0.1888129464f, -0.3160996813f, -0.2587096108f, 0, 0.1612988974f, -0.1974805082f, -0.3707885038f, 0, -0.08974491322f, 0.229148752f, -0.3767448739f, 0, 0.07041229526f, 0.4150230285f, -0.1590534329f, 0, -0.1082925611f, -0.1586061639f, 0.4069604477f, 0, 0.2474100658f, -0.3309414609f, 0.1782302128f, 0, -0.1068836661f, -0.2701644537f, -0.3436379634f, 0, 0.2396452163f, 0.06803600538f, -0.3747549496f, 0,
+            -0.3063886072f, 0.2597428179f, 0.2028785103f, 0, 0.1593342891f, -0.3114350249f, -0.2830561951f, 0, 0.2709690528f, 0.1412648683f, -0.3303331794f, 0, -0.1519780427f, 0.3623355133f, 0.2193527988f, 0, 0.1699773681f, 0.3456012883f, 0.2327390037f, 0, -0.1986155616f, 0.3836276443f, -0.1260225743f, 0, -0.1887482106f, -0.2050154888f, -0.353330953f, 0, 0.2659103394f, 0.3015631259f, -0.2021172246f, 0,
+            -0.08838976154f, -0.4288819642f, -0.1036702021f, 0, -0.04201869311f, 0.3099592485f, 0.3235115047f, 0, -0.3230334656f, 0.201549922f, -0.2398478873f, 0, 0.2612720941f, 0.2759854499f, -0.2409749453f, 0, 0.385713046f, 0.2193460345f, 0.07491837764f, 0, 0.07654967953f, 0.3721732183f, 0.241095919f, 0, 0.4317038818f, -0.02577753072f, 0.1243675091f, 0, -0.2890436293f, -0.3418179959f, -0.04598084447f, 0,
+            -0.2201947582f, 0.383023377f, -0.08548310451f, 0, 0.4161322773f, -0.1669634289f, -0.03817251927f, 0, 0.2204718095f, 0.02654238946f, -0.391391981f, 0, -0.1040307469f, 0.3890079625f, -0.2008741118f, 0, -0.1432122615f, 0.371614387f, -0.2095065525f, 0, 0.3978380468f, -0.06206669342f, 0.2009293758f, 0, -0.2599274663f, 0.2616724959f, -0.2578084893f, 0, 0.4032618332f, -0.1124593585f, 0.1650235939f, 0,
+            -0.08953470255f, -0.3048244735f, 0.3186935478f, 0, 0.118937202f, -0.2875221847f, 0.325092195f, 0, 0.02167047076f, -0.03284630549f, -0.4482761547f, 0, -0.3411343612f, 0.2500031105f, 0.1537068389f, 0, 0.3162964612f, 0.3082064153f, -0.08640228117f, 0, 0.2355138889f, -0.3439334267f, -0.1695376245f, 0, -0.02874541518f, -0.3955933019f, 0.2125550295f, 0, -0.2461455173f, 0.02020282325f, -0.3761704803f, 0,
+            0.04208029445f, -0.4470439576f, 0.02968078139f, 0, 0.2727458746f, 0.2288471896f, -0.2752065618f, 0, -0.1347522818f, -0.02720848277f, -0.4284874806f, 0, 0.3829624424f, 0.1231931484f, -0.2016512234f, 0, -0.3547613644f, 0.1271702173f, 0.2459107769f, 0, 0.2305790207f, 0.3063895591f, 0.2354968222f, 0, -0.08323845599f, -0.1922245118f, 0.3982726409f, 0, 0.2993663085f, -0.2619918095f, -0.2103333191f, 0,
+            -0.2154865723f, 0.2706747713f, 0.287751117f, 0, 0.01683355354f, -0.2680655787f, -0.3610505186f, 0, 0.05240429123f, 0.4335128183f, -0.1087217856f, 0, 0.00940104872f, -0.4472890582f, 0.04841609928f, 0, 0.3465688735f, 0.01141914583f, -0.2868093776f, 0, -0.3706867948f, -0.2551104378f, 0.003156692623f, 0, 0.2741169781f, 0.2139972417f, -0.2855959784f, 0, 0.06413433865f, 0.1708718512f, 0.4113266307f, 0,
+            -0.388187972f, -0.03973280434f, -0.2241236325f, 0, 0.06419469312f, -0.2803682491f, 0.3460819069f, 0, -0.1986120739f, -0.3391173584f, 0.2192091725f, 0, -0.203203009f, -0.3871641506f, 0.1063600375f, 0, -0.1389736354f, -0.2775901578f, -0.3257760473f, 0, -0.06555641638f, 0.342253257f, -0.2847192729f, 0, -0.2529246486f, -0.2904227915f, 0.2327739768f, 0, 0.1444476522f, 0.1069184044f, 0.4125570634f, 0,
+            -0.3643780054f, -0.2447099973f, -0.09922543227f, 0, 0.4286142488f, -0.1358496089f, -0.01829506817f, 0, 0.165872923f, -0.3136808464f, -0.2767498872f, 0, 0.2219610524f, -0.3658139958f, 0.1393320198f, 0, 0.04322940318f, -0.3832730794f, 0.2318037215f, 0, -0.08481269795f, -0.4404869674f, -0.03574965489f, 0, 0.1822082075f, -0.3953259299f, 0.1140946023f, 0, -0.3269323334f, 0.3036542563f, 0.05838957105f, 0,
+            -0.4080485344f, 0.04227858267f, -0.184956522f, 0, 0.2676025294f, -0.01299671652f, 0.36155217f, 0, 0.3024892441f, -0.1009990293f, -0.3174892964f, 0, 0.1448494052f, 0.425921681f, -0.0104580805f, 0, 0.4198402157f, 0.08062320474f, 0.1404780841f, 0, -0.3008872161f, -0.333040905f, -0.03241355801f, 0, 0.3639310428f, -0.1291284382f, -0.2310412139f, 0, 0.3295806598f, 0.0184175994f, -0.3058388149f, 0,
+            0.2776259487f, -0.2974929052f, -0.1921504723f, 0, 0.4149000507f, -0.144793182f, -0.09691688386f, 0, 0.145016715f, -0.0398992945f, 0.4241205002f, 0, 0.09299023471f, -0.299732164f, -0.3225111565f, 0, 0.1028907093f, -0.361266869f, 0.247789732f, 0, 0.2683057049f, -0.07076041213f, -0.3542668666f, 0, -0.4227307273f, -0.07933161816f, -0.1323073187f, 0, -0.1781224702f, 0.1806857196f, -0.3716517945f, 0,
+            0.4390788626f, -0.02841848598f, -0.09435116353f, 0, 0.2972583585f, 0.2382799621f, -0.2394997452f, 0, -0.1707002821f, 0.2215845691f, 0.3525077196f, 0, 0.3806686614f, 0.1471852559f, -0.1895464869f, 0, -0.1751445661f, -0.274887877f, 0.3102596268f, 0, -0.2227237566f, -0.2316778837f, 0.3149912482f, 0, 0.1369633021f, 0.1341343041f, -0.4071228836f, 0, -0.3529503428f, -0.2472893463f, -0.129514612f, 0,
+            -0.2590744185f, -0.2985577559f, -0.2150435121f, 0, -0.3784019401f, 0.2199816631f, -0.1044989934f, 0, -0.05635805671f, 0.1485737441f, 0.4210102279f, 0, 0.3251428613f, 0.09666046873f, -0.2957006485f, 0, -0.4190995804f, 0.1406751354f, -0.08405978803f, 0, -0.3253150961f, -0.3080335042f, -0.04225456877f, 0, 0.2857945863f, -0.05796152095f, 0.3427271751f, 0, -0.2733604046f, 0.1973770973f, -0.2980207554f, 0,
+            0.219003657f, 0.2410037886f, -0.3105713639f, 0, 0.3182767252f, -0.271342949f, 0.1660509868f, 0, -0.03222023115f, -0.3331161506f, -0.300824678f, 0, -0.3087780231f, 0.1992794134f, -0.2596995338f, 0, -0.06487611647f, -0.4311322747f, 0.1114273361f, 0, 0.3921171432f, -0.06294284106f, -0.2116183942f, 0, -0.1606404506f, -0.358928121f, -0.2187812825f, 0, -0.03767771199f, -0.2290351443f, 0.3855169162f, 0,
+            0.1394866832f, -0.3602213994f, 0.2308332918f, 0, -0.4345093872f, 0.005751117145f, 0.1169124335f, 0, -0.1044637494f, 0.4168128432f, -0.1336202785f, 0, 0.2658727501f, 0.2551943237f, 0.2582393035f, 0, 0.2051461999f, 0.1975390727f, 0.3484154868f, 0, -0.266085566f, 0.23483312f, 0.2766800993f, 0, 0.07849405464f, -0.3300346342f, -0.2956616708f, 0, -0.2160686338f, 0.05376451292f, -0.3910546287f, 0,
+            -0.185779186f, 0.2148499206f, 0.3490352499f, 0, 0.02492421743f, -0.3229954284f, -0.3123343347f, 0, -0.120167831f, 0.4017266681f, 0.1633259825f, 0, -0.02160084693f, -0.06885389554f, 0.4441762538f, 0, 0.2597670064f, 0.3096300784f, 0.1978643903f, 0, -0.1611553854f, -0.09823036005f, 0.4085091653f, 0, -0.3278896792f, 0.1461670309f, 0.2713366126f, 0, 0.2822734956f, 0.03754421121f, -0.3484423997f, 0,
+            0.03169341113f, 0.347405252f, -0.2842624114f, 0, 0.2202613604f, -0.3460788041f, -0.1849713341f, 0, 0.2933396046f, 0.3031973659f, 0.1565989581f, 0, -0.3194922995f, 0.2453752201f, -0.200538455f, 0, -0.3441586045f, -0.1698856132f, -0.2349334659f, 0, 0.2703645948f, -0.3574277231f, 0.04060059933f, 0, 0.2298568861f, 0.3744156221f, 0.0973588921f, 0, 0.09326603877f, -0.3170108894f, 0.3054595587f, 0,
+            -0.1116165319f, -0.2985018719f, 0.3177080142f, 0, 0.2172907365f, -0.3460005203f, -0.1885958001f, 0, 0.1991339479f, 0.3820341668f, -0.1299829458f, 0, -0.0541918155f, -0.2103145071f, 0.39412061f, 0, 0.08871336998f, 0.2012117383f, 0.3926114802f, 0, 0.2787673278f, 0.3505404674f, 0.04370535101f, 0, -0.322166438f, 0.3067213525f, 0.06804996813f, 0, -0.4277366384f, 0.132066775f, 0.04582286686f, 0,
+            0.240131882f, -0.1612516055f, 0.344723946f, 0, 0.1448607981f, -0.2387819045f, 0.3528435224f, 0, -0.3837065682f, -0.2206398454f, 0.08116235683f, 0, -0.4382627882f, -0.09082753406f, -0.04664855374f, 0, -0.37728353f, 0.05445141085f, 0.2391488697f, 0, 0.1259579313f, 0.348394558f, 0.2554522098f, 0, -0.1406285511f, -0.270877371f, -0.3306796947f, 0, -0.1580694418f, 0.4162931958f, -0.06491553533f, 0,
+            0.2477612106f, -0.2927867412f, -0.2353514536f, 0, 0.2916132853f, 0.3312535401f, 0.08793624968f, 0, 0.07365265219f, -0.1666159848f, 0.411478311f, 0, -0.26126526f, -0.2422237692f, 0.2748965434f, 0, -0.3721862032f, 0.252790166f, 0.008634938242f, 0, -0.3691191571f, -0.255281188f, 0.03290232422f, 0, 0.2278441737f, -0.3358364886f, 0.1944244981f, 0, 0.363398169f, -0.2310190248f, 0.1306597909f, 0,
+            -0.304231482f, -0.2698452035f, 0.1926830856f, 0, -0.3199312232f, 0.316332536f, -0.008816977938f, 0, 0.2874852279f, 0.1642275508f, -0.304764754f, 0, -0.1451096801f, 0.3277541114f, -0.2720669462f, 0, 0.3220090754f, 0.0511344108f, 0.3101538769f, 0, -0.1247400865f, -0.04333605335f, -0.4301882115f, 0, -0.2829555867f, -0.3056190617f, -0.1703910946f, 0, 0.1069384374f, 0.3491024667f, -0.2630430352f, 0,
+            -0.1420661144f, -0.3055376754f, -0.2982682484f, 0, -0.250548338f, 0.3156466809f, -0.2002316239f, 0, 0.3265787872f, 0.1871229129f, 0.2466400438f, 0, 0.07646097258f, -0.3026690852f, 0.324106687f, 0, 0.3451771584f, 0.2757120714f, -0.0856480183f, 0, 0.298137964f, 0.2852657134f, 0.179547284f, 0, 0.2812250376f, 0.3466716415f, 0.05684409612f, 0, 0.4390345476f, -0.09790429955f, -0.01278335452f, 0,
+            0.2148373234f, 0.1850172527f, 0.3494474791f, 0, 0.2595421179f, -0.07946825393f, 0.3589187731f, 0, 0.3182823114f, -0.307355516f, -0.08203022006f, 0, -0.4089859285f, -0.04647718411f, 0.1818526372f, 0, -0.2826749061f, 0.07417482322f, 0.3421885344f, 0, 0.3483864637f, 0.225442246f, -0.1740766085f, 0, -0.3226415069f, -0.1420585388f, -0.2796816575f, 0, 0.4330734858f, -0.118868561f, -0.02859407492f, 0,
+            -0.08717822568f, -0.3909896417f, -0.2050050172f, 0, -0.2149678299f, 0.3939973956f, -0.03247898316f, 0, -0.2687330705f, 0.322686276f, -0.1617284888f, 0, 0.2105665099f, -0.1961317136f, -0.3459683451f, 0, 0.4361845915f, -0.1105517485f, 0.004616608544f, 0, 0.05333333359f, -0.313639498f, -0.3182543336f, 0, -0.05986216652f, 0.1361029153f, -0.4247264031f, 0, 0.3664988455f, 0.2550543014f, -0.05590974511f, 0,
+            -0.2341015558f, -0.182405731f, 0.3382670703f, 0, -0.04730947785f, -0.4222150243f, -0.1483114513f, 0, -0.2391566239f, -0.2577696514f, -0.2808182972f, 0, -0.1242081035f, 0.4256953395f, -0.07652336246f, 0, 0.2614832715f, -0.3650179274f, 0.02980623099f, 0, -0.2728794681f, -0.3499628774f, 0.07458404908f, 0, 0.007892900508f, -0.1672771315f, 0.4176793787f, 0, -0.01730330376f, 0.2978486637f, -0.3368779738f, 0,
+            0.2054835762f, -0.3252600376f, -0.2334146693f, 0, -0.3231994983f, 0.1564282844f, -0.2712420987f, 0, -0.2669545963f, 0.2599343665f, -0.2523278991f, 0, -0.05554372779f, 0.3170813944f, -0.3144428146f, 0, -0.2083935713f, -0.310922837f, -0.2497981362f, 0, 0.06989323478f, -0.3156141536f, 0.3130537363f, 0, 0.3847566193f, -0.1605309138f, -0.1693876312f, 0, -0.3026215288f, -0.3001537679f, -0.1443188342f, 0,
+            0.3450735512f, 0.08611519592f, 0.2756962409f, 0, 0.1814473292f, -0.2788782453f, -0.3029914042f, 0, -0.03855010448f, 0.09795110726f, 0.4375151083f, 0, 0.3533670318f, 0.2665752752f, 0.08105160988f, 0, -0.007945601311f, 0.140359426f, -0.4274764309f, 0, 0.4063099273f, -0.1491768253f, -0.1231199324f, 0, -0.2016773589f, 0.008816271194f, -0.4021797064f, 0, -0.07527055435f, -0.425643481f, -0.1251477955f, 0,
         };
 
 
@@ -285,19 +445,40 @@ public class FastNoise implements INoiseLibrary {
     }
 
 
+    private static float InterpHermiteDerivative(float t) {
+        return 6 * t * (1 - t);
+    }
+
+
+    private static float InterpQuinticDerivative(float t) {
+        return 30 * t * t * (t * (t - 2) + 1);
+    }
+
+
     private static float CubicLerp(float a, float b, float c, float d, float t) {
         float p = (d - c) - (a - b);
         return t * t * t * p + t * t * ((a - b) - p) + t * (c - a) + b;
     }
 
-    private void CalculateFractalBounding() {
-        float amp = m_gain;
+    // Recalculates the fractal bounding and the per-octave amplitude table
+    // Octave amplitudes are accumulated by repeated multiplication, exactly as the fractal loops used to compute them
+    private static float CalculateFractalBounding(int octaves, float gain) {
+        float amp = gain;
         float ampFractal = 1;
-        for (int i = 1; i < m_octaves; i++) {
+        for (int i = 1; i < octaves; i++) {
             ampFractal += amp;
-            amp *= m_gain;
+            amp *= gain;
+        }
+        return 1.0f / ampFractal;
+    }
+
+    private static float[] CalculateOctaveAmps(int octaves, float gain) {
+        float[] octaveAmps = new float[Math.max(octaves, 1)];
+        octaveAmps[0] = 1;
+        for (int i = 1; i < octaveAmps.length; i++) {
+            octaveAmps[i] = octaveAmps[i - 1] * gain;
         }
-        m_fractalBounding = 1.0f / ampFractal;
+        return octaveAmps;
     }
 
     // Hashing
@@ -377,9 +558,9 @@ public class FastNoise implements INoiseLibrary {
         hash = hash * hash * hash * 60493;
         hash = (hash >> 13) ^ hash;
 
-        Float2 g = GRAD_2D[hash & 7];
+        int g = (hash & 7) << 1;
 
-        return xd * g.x + yd * g.y;
+        return xd * GRAD_2D[g] + yd * GRAD_2D[g | 1];
     }
 
     private static float GradCoord3D(int seed, int x, int y, int z, float xd, float yd, float zd) {
@@ -391,9 +572,9 @@ public class FastNoise implements INoiseLibrary {
         hash = hash * hash * hash * 60493;
         hash = (hash >> 13) ^ hash;
 
-        Float3 g = GRAD_3D[hash & 15];
+        int g = (hash & 15) << 2;
 
-        return xd * g.x + yd * g.y + zd * g.z;
+        return xd * GRAD_3D[g] + yd * GRAD_3D[g | 1] + zd * GRAD_3D[g | 2];
     }
 
     private static float GradCoord4D(int seed, int x, int y, int z, int w, float xd, float yd, float zd, float wd) {
@@ -429,6 +610,10 @@ public class FastNoise implements INoiseLibrary {
     }
 
     public float GetNoise(float x, float y, float z) {
+        if (m_settings != null) {
+            return Current().GetNoise(x, y, z);
+        }
+
         x *= m_frequency;
         y *= m_frequency;
         z *= m_frequency;
@@ -503,6 +688,10 @@ public class FastNoise implements INoiseLibrary {
     }
 
     public float GetNoise(float x, float y) {
+        if (m_settings != null) {
+            return Current().GetNoise(x, y);
+        }
+
         x *= m_frequency;
         y *= m_frequency;
 
@@ -571,8 +760,1669 @@ public class FastNoise implements INoiseLibrary {
                         return 0;
                 }
             default:
-                return 0;
+                return 0;
+        }
+    }
+
+    // Double precision evaluation
+    // Coordinates are scaled by the frequency before being narrowed to float, so large coordinates keep more precision
+    // than with GetNoise(float, ...). Results can therefore differ slightly from the float variants.
+    @Override
+    public double GetNoise(double x, double y, double z) {
+        if (m_settings != null) {
+            return Current().GetNoise(x, y, z);
+        }
+
+        return GetKernel3D().Sample(this, (float) (x * m_frequency), (float) (y * m_frequency), (float) (z * m_frequency));
+    }
+
+    @Override
+    public double GetNoise(double x, double y) {
+        if (m_settings != null) {
+            return Current().GetNoise(x, y);
+        }
+
+        return GetKernel2D().Sample(this, (float) (x * m_frequency), (float) (y * m_frequency));
+    }
+
+    // Batch Evaluation
+
+    // Fills out[z * width + x] with GetNoise(x0 + x * step, z0 + z * step) for each x < width, z < depth
+    // The result is identical to calling GetNoise(...) for each sample, but noise type dispatch is resolved once per call
+    // and Value/Perlin noise reuse lattice values between neighbouring samples. No allocation is performed.
+    public void FillNoise2D(float[] out, float x0, float z0, int width, int depth, float step) {
+        if (m_settings != null) {
+            Current().FillNoise2D(out, x0, z0, width, depth, step);
+            return;
+        }
+
+        switch (m_noiseType) {
+            case Value:
+                for (int z = 0; z < depth; z++) {
+                    FillValueRow2D(out, z * width, x0, step, width, (z0 + z * step) * m_frequency);
+                }
+                return;
+            case Perlin:
+                for (int z = 0; z < depth; z++) {
+                    FillPerlinRow2D(out, z * width, x0, step, width, (z0 + z * step) * m_frequency);
+                }
+                return;
+            default:
+                Kernel2D kernel = GetKernel2D();
+                int index = 0;
+                for (int z = 0; z < depth; z++) {
+                    float zf = (z0 + z * step) * m_frequency;
+                    for (int x = 0; x < width; x++) {
+                        out[index++] = kernel.Sample(this, (x0 + x * step) * m_frequency, zf);
+                    }
+                }
+        }
+    }
+
+    // Fills out[(y * depth + z) * width + x] with GetNoise(x0 + x * step, y0 + y * step, z0 + z * step)
+    // for each x < width, y < height, z < depth
+    // See FillNoise2D(...)
+    public void FillNoise3D(float[] out, float x0, float y0, float z0, int width, int height, int depth, float step) {
+        if (m_settings != null) {
+            Current().FillNoise3D(out, x0, y0, z0, width, height, depth, step);
+            return;
+        }
+
+        switch (m_noiseType) {
+            case Value:
+                for (int y = 0; y < height; y++) {
+                    float yf = (y0 + y * step) * m_frequency;
+                    for (int z = 0; z < depth; z++) {
+                        FillValueRow3D(out, (y * depth + z) * width, x0, step, width, yf, (z0 + z * step) * m_frequency);
+                    }
+                }
+                return;
+            case Perlin:
+                for (int y = 0; y < height; y++) {
+                    float yf = (y0 + y * step) * m_frequency;
+                    for (int z = 0; z < depth; z++) {
+                        FillPerlinRow3D(out, (y * depth + z) * width, x0, step, width, yf, (z0 + z * step) * m_frequency);
+                    }
+                }
+                return;
+            default:
+                Kernel3D kernel = GetKernel3D();
+                int index = 0;
+                for (int y = 0; y < height; y++) {
+                    float yf = (y0 + y * step) * m_frequency;
+                    for (int z = 0; z < depth; z++) {
+                        float zf = (z0 + z * step) * m_frequency;
+                        for (int x = 0; x < width; x++) {
+                            out[index++] = kernel.Sample(this, (x0 + x * step) * m_frequency, yf, zf);
+                        }
+                    }
+                }
+        }
+    }
+
+    // Batch evaluation over arbitrary points
+    // Points are passed as separate coordinate arrays (xs[i], ys[i], zs[i]) and results written to out[i] for each i < count
+    // Noise type dispatch is resolved once per call. Simplex noise uses branch-free kernels which evaluate every simplex corner
+    // and clamp out-of-range falloff to 0 instead of skipping it, avoiding data-dependent branches in the inner loop.
+    // Value, Perlin and Cubic noise keep the lattice values of the last point's cell, so consecutive points in the same cell
+    // skip hashing its corners again. Other noise types, including the Value, Perlin and Cubic fractals, are evaluated per point.
+    // Results match GetNoise(...) exactly, except that a simplex result of zero may have the opposite sign.
+    public void GetNoise(float[] xs, float[] ys, float[] zs, float[] out, int count) {
+        if (m_settings != null) {
+            Current().GetNoise(xs, ys, zs, out, count);
+            return;
+        }
+
+        Kernel3D kernel;
+        switch (m_noiseType) {
+            case Value:
+                GetValueBatch3D(xs, ys, zs, out, count);
+                return;
+            case Perlin:
+                GetPerlinBatch3D(xs, ys, zs, out, count);
+                return;
+            case Cubic:
+                GetCubicBatch3D(xs, ys, zs, out, count);
+                return;
+            case Simplex:
+                kernel = (n, x, y, z) -> n.SingleSimplexBranchless(n.m_seed, x, y, z);
+                break;
+            case SimplexFractal:
+                switch (m_fractalType) {
+                    case FBM:
+                        kernel = FastNoise::SingleSimplexBranchlessFractalFBM;
+                        break;
+                    case Billow:
+                        kernel = FastNoise::SingleSimplexBranchlessFractalBillow;
+                        break;
+                    case RigidMulti:
+                        kernel = FastNoise::SingleSimplexBranchlessFractalRigidMulti;
+                        break;
+                    default:
+                        kernel = (n, x, y, z) -> 0;
+                }
+                break;
+            default:
+                kernel = GetKernel3D();
+        }
+
+        for (int i = 0; i < count; i++) {
+            out[i] = kernel.Sample(this, xs[i] * m_frequency, ys[i] * m_frequency, zs[i] * m_frequency);
+        }
+    }
+
+    // See GetNoise(float[], float[], float[], float[], int)
+    public void GetNoise(float[] xs, float[] ys, float[] out, int count) {
+        if (m_settings != null) {
+            Current().GetNoise(xs, ys, out, count);
+            return;
+        }
+
+        Kernel2D kernel;
+        switch (m_noiseType) {
+            case Value:
+                GetValueBatch2D(xs, ys, out, count);
+                return;
+            case Perlin:
+                GetPerlinBatch2D(xs, ys, out, count);
+                return;
+            case Cubic:
+                GetCubicBatch2D(xs, ys, out, count);
+                return;
+            case Simplex:
+                kernel = (n, x, y) -> n.SingleSimplexBranchless(n.m_seed, x, y);
+                break;
+            case SimplexFractal:
+                switch (m_fractalType) {
+                    case FBM:
+                        kernel = FastNoise::SingleSimplexBranchlessFractalFBM;
+                        break;
+                    case Billow:
+                        kernel = FastNoise::SingleSimplexBranchlessFractalBillow;
+                        break;
+                    case RigidMulti:
+                        kernel = FastNoise::SingleSimplexBranchlessFractalRigidMulti;
+                        break;
+                    default:
+                        kernel = (n, x, y) -> 0;
+                }
+                break;
+            default:
+                kernel = GetKernel2D();
+        }
+
+        for (int i = 0; i < count; i++) {
+            out[i] = kernel.Sample(this, xs[i] * m_frequency, ys[i] * m_frequency);
+        }
+    }
+
+    // Batch kernels for Value, Perlin and Cubic noise
+    // The corner values (gradient indices for Perlin) of the last point's cell are kept, and only recomputed when a point
+    // lands in a different cell. The interpolation is the same as in SingleValue(...), SinglePerlin(...) and SingleCubic(...).
+    private void GetValueBatch3D(float[] xs, float[] ys, float[] zs, float[] out, int count) {
+        int seed = m_seed;
+        float frequency = m_frequency;
+        Interp interp = m_interp;
+        boolean hasCell = false;
+        int cellX = 0, cellY = 0, cellZ = 0;
+        float v000 = 0, v100 = 0, v010 = 0, v110 = 0, v001 = 0, v101 = 0, v011 = 0, v111 = 0;
+
+        for (int i = 0; i < count; i++) {
+            float x = xs[i] * frequency;
+            float y = ys[i] * frequency;
+            float z = zs[i] * frequency;
+            int x0 = FastFloor(x);
+            int y0 = FastFloor(y);
+            int z0 = FastFloor(z);
+
+            if (!hasCell || x0 != cellX || y0 != cellY || z0 != cellZ) {
+                int x1 = x0 + 1;
+                int y1 = y0 + 1;
+                int z1 = z0 + 1;
+                v000 = ValCoord3D(seed, x0, y0, z0);
+                v100 = ValCoord3D(seed, x1, y0, z0);
+                v010 = ValCoord3D(seed, x0, y1, z0);
+                v110 = ValCoord3D(seed, x1, y1, z0);
+                v001 = ValCoord3D(seed, x0, y0, z1);
+                v101 = ValCoord3D(seed, x1, y0, z1);
+                v011 = ValCoord3D(seed, x0, y1, z1);
+                v111 = ValCoord3D(seed, x1, y1, z1);
+                cellX = x0;
+                cellY = y0;
+                cellZ = z0;
+                hasCell = true;
+            }
+
+            float xw, yw, zw;
+            switch (interp) {
+                default:
+                case Linear:
+                    xw = x - x0;
+                    yw = y - y0;
+                    zw = z - z0;
+                    break;
+                case Hermite:
+                    xw = InterpHermiteFunc(x - x0);
+                    yw = InterpHermiteFunc(y - y0);
+                    zw = InterpHermiteFunc(z - z0);
+                    break;
+                case Quintic:
+                    xw = InterpQuinticFunc(x - x0);
+                    yw = InterpQuinticFunc(y - y0);
+                    zw = InterpQuinticFunc(z - z0);
+                    break;
+            }
+
+            float xf00 = Lerp(v000, v100, xw);
+            float xf10 = Lerp(v010, v110, xw);
+            float xf01 = Lerp(v001, v101, xw);
+            float xf11 = Lerp(v011, v111, xw);
+
+            float yf0 = Lerp(xf00, xf10, yw);
+            float yf1 = Lerp(xf01, xf11, yw);
+
+            out[i] = Lerp(yf0, yf1, zw);
+        }
+    }
+
+    private void GetValueBatch2D(float[] xs, float[] ys, float[] out, int count) {
+        int seed = m_seed;
+        float frequency = m_frequency;
+        Interp interp = m_interp;
+        boolean hasCell = false;
+        int cellX = 0, cellY = 0;
+        float v00 = 0, v10 = 0, v01 = 0, v11 = 0;
+
+        for (int i = 0; i < count; i++) {
+            float x = xs[i] * frequency;
+            float y = ys[i] * frequency;
+            int x0 = FastFloor(x);
+            int y0 = FastFloor(y);
+
+            if (!hasCell || x0 != cellX || y0 != cellY) {
+                int x1 = x0 + 1;
+                int y1 = y0 + 1;
+                v00 = ValCoord2D(seed, x0, y0);
+                v10 = ValCoord2D(seed, x1, y0);
+                v01 = ValCoord2D(seed, x0, y1);
+                v11 = ValCoord2D(seed, x1, y1);
+                cellX = x0;
+                cellY = y0;
+                hasCell = true;
+            }
+
+            float xw, yw;
+            switch (interp) {
+                default:
+                case Linear:
+                    xw = x - x0;
+                    yw = y - y0;
+                    break;
+                case Hermite:
+                    xw = InterpHermiteFunc(x - x0);
+                    yw = InterpHermiteFunc(y - y0);
+                    break;
+                case Quintic:
+                    xw = InterpQuinticFunc(x - x0);
+                    yw = InterpQuinticFunc(y - y0);
+                    break;
+            }
+
+            float xf0 = Lerp(v00, v10, xw);
+            float xf1 = Lerp(v01, v11, xw);
+
+            out[i] = Lerp(xf0, xf1, yw);
+        }
+    }
+
+    private void GetPerlinBatch3D(float[] xs, float[] ys, float[] zs, float[] out, int count) {
+        int seed = m_seed;
+        float frequency = m_frequency;
+        Interp interp = m_interp;
+        boolean hasCell = false;
+        int cellX = 0, cellY = 0, cellZ = 0;
+        int g000 = 0, g100 = 0, g010 = 0, g110 = 0, g001 = 0, g101 = 0, g011 = 0, g111 = 0;
+
+        for (int i = 0; i < count; i++) {
+            float x = xs[i] * frequency;
+            float y = ys[i] * frequency;
+            float z = zs[i] * frequency;
+            int x0 = FastFloor(x);
+            int y0 = FastFloor(y);
+            int z0 = FastFloor(z);
+
+            if (!hasCell || x0 != cellX || y0 != cellY || z0 != cellZ) {
+                int x1 = x0 + 1;
+                int y1 = y0 + 1;
+                int z1 = z0 + 1;
+                g000 = (Hash3D(seed, x0, y0, z0) & 15) << 2;
+                g100 = (Hash3D(seed, x1, y0, z0) & 15) << 2;
+                g010 = (Hash3D(seed, x0, y1, z0) & 15) << 2;
+                g110 = (Hash3D(seed, x1, y1, z0) & 15) << 2;
+                g001 = (Hash3D(seed, x0, y0, z1) & 15) << 2;
+                g101 = (Hash3D(seed, x1, y0, z1) & 15) << 2;
+                g011 = (Hash3D(seed, x0, y1, z1) & 15) << 2;
+                g111 = (Hash3D(seed, x1, y1, z1) & 15) << 2;
+                cellX = x0;
+                cellY = y0;
+                cellZ = z0;
+                hasCell = true;
+            }
+
+            float xw, yw, zw;
+            switch (interp) {
+                default:
+                case Linear:
+                    xw = x - x0;
+                    yw = y - y0;
+                    zw = z - z0;
+                    break;
+                case Hermite:
+                    xw = InterpHermiteFunc(x - x0);
+                    yw = InterpHermiteFunc(y - y0);
+                    zw = InterpHermiteFunc(z - z0);
+                    break;
+                case Quintic:
+                    xw = InterpQuinticFunc(x - x0);
+                    yw = InterpQuinticFunc(y - y0);
+                    zw = InterpQuinticFunc(z - z0);
+                    break;
+            }
+
+            float xd0 = x - x0;
+            float yd0 = y - y0;
+            float zd0 = z - z0;
+            float xd1 = xd0 - 1;
+            float yd1 = yd0 - 1;
+            float zd1 = zd0 - 1;
+
+            float xf00 = Lerp(xd0 * GRAD_3D[g000] + yd0 * GRAD_3D[g000 | 1] + zd0 * GRAD_3D[g000 | 2], xd1 * GRAD_3D[g100] + yd0 * GRAD_3D[g100 | 1] + zd0 * GRAD_3D[g100 | 2], xw);
+            float xf10 = Lerp(xd0 * GRAD_3D[g010] + yd1 * GRAD_3D[g010 | 1] + zd0 * GRAD_3D[g010 | 2], xd1 * GRAD_3D[g110] + yd1 * GRAD_3D[g110 | 1] + zd0 * GRAD_3D[g110 | 2], xw);
+            float xf01 = Lerp(xd0 * GRAD_3D[g001] + yd0 * GRAD_3D[g001 | 1] + zd1 * GRAD_3D[g001 | 2], xd1 * GRAD_3D[g101] + yd0 * GRAD_3D[g101 | 1] + zd1 * GRAD_3D[g101 | 2], xw);
+            float xf11 = Lerp(xd0 * GRAD_3D[g011] + yd1 * GRAD_3D[g011 | 1] + zd1 * GRAD_3D[g011 | 2], xd1 * GRAD_3D[g111] + yd1 * GRAD_3D[g111 | 1] + zd1 * GRAD_3D[g111 | 2], xw);
+
+            float yf0 = Lerp(xf00, xf10, yw);
+            float yf1 = Lerp(xf01, xf11, yw);
+
+            out[i] = Lerp(yf0, yf1, zw);
+        }
+    }
+
+    private void GetPerlinBatch2D(float[] xs, float[] ys, float[] out, int count) {
+        int seed = m_seed;
+        float frequency = m_frequency;
+        Interp interp = m_interp;
+        boolean hasCell = false;
+        int cellX = 0, cellY = 0;
+        int g00 = 0, g10 = 0, g01 = 0, g11 = 0;
+
+        for (int i = 0; i < count; i++) {
+            float x = xs[i] * frequency;
+            float y = ys[i] * frequency;
+            int x0 = FastFloor(x);
+            int y0 = FastFloor(y);
+
+            if (!hasCell || x0 != cellX || y0 != cellY) {
+                int x1 = x0 + 1;
+                int y1 = y0 + 1;
+                g00 = (Hash2D(seed, x0, y0) & 7) << 1;
+                g10 = (Hash2D(seed, x1, y0) & 7) << 1;
+                g01 = (Hash2D(seed, x0, y1) & 7) << 1;
+                g11 = (Hash2D(seed, x1, y1) & 7) << 1;
+                cellX = x0;
+                cellY = y0;
+                hasCell = true;
+            }
+
+            float xw, yw;
+            switch (interp) {
+                default:
+                case Linear:
+                    xw = x - x0;
+                    yw = y - y0;
+                    break;
+                case Hermite:
+                    xw = InterpHermiteFunc(x - x0);
+                    yw = InterpHermiteFunc(y - y0);
+                    break;
+                case Quintic:
+                    xw = InterpQuinticFunc(x - x0);
+                    yw = InterpQuinticFunc(y - y0);
+                    break;
+            }
+
+            float xd0 = x - x0;
+            float yd0 = y - y0;
+            float xd1 = xd0 - 1;
+            float yd1 = yd0 - 1;
+
+            float xf0 = Lerp(xd0 * GRAD_2D[g00] + yd0 * GRAD_2D[g00 | 1], xd1 * GRAD_2D[g10] + yd0 * GRAD_2D[g10 | 1], xw);
+            float xf1 = Lerp(xd0 * GRAD_2D[g01] + yd1 * GRAD_2D[g01 | 1], xd1 * GRAD_2D[g11] + yd1 * GRAD_2D[g11 | 1], xw);
+
+            out[i] = Lerp(xf0, xf1, yw);
+        }
+    }
+
+    // Cubic noise reads a 4x4x4 block of lattice values around each cell, kept in lattice[(z * 4 + y) * 4 + x]
+    private void GetCubicBatch3D(float[] xs, float[] ys, float[] zs, float[] out, int count) {
+        int seed = m_seed;
+        float frequency = m_frequency;
+        boolean hasCell = false;
+        int cellX = 0, cellY = 0, cellZ = 0;
+        float[] lattice = new float[64];
+
+        for (int i = 0; i < count; i++) {
+            float x = xs[i] * frequency;
+            float y = ys[i] * frequency;
+            float z = zs[i] * frequency;
+            int x1 = FastFloor(x);
+            int y1 = FastFloor(y);
+            int z1 = FastFloor(z);
+
+            if (!hasCell || x1 != cellX || y1 != cellY || z1 != cellZ) {
+                int index = 0;
+                for (int zi = z1 - 1; zi <= z1 + 2; zi++) {
+                    for (int yi = y1 - 1; yi <= y1 + 2; yi++) {
+                        for (int xi = x1 - 1; xi <= x1 + 2; xi++) {
+                            lattice[index++] = ValCoord3D(seed, xi, yi, zi);
+                        }
+                    }
+                }
+                cellX = x1;
+                cellY = y1;
+                cellZ = z1;
+                hasCell = true;
+            }
+
+            float xw = x - (float) x1;
+            float yw = y - (float) y1;
+            float zw = z - (float) z1;
+
+            out[i] = CubicLerp(
+                CubicLerpPlane(lattice, 0, xw, yw),
+                CubicLerpPlane(lattice, 16, xw, yw),
+                CubicLerpPlane(lattice, 32, xw, yw),
+                CubicLerpPlane(lattice, 48, xw, yw),
+                zw) * CUBIC_3D_BOUNDING;
+        }
+    }
+
+    private void GetCubicBatch2D(float[] xs, float[] ys, float[] out, int count) {
+        int seed = m_seed;
+        float frequency = m_frequency;
+        boolean hasCell = false;
+        int cellX = 0, cellY = 0;
+        float[] lattice = new float[16];
+
+        for (int i = 0; i < count; i++) {
+            float x = xs[i] * frequency;
+            float y = ys[i] * frequency;
+            int x1 = FastFloor(x);
+            int y1 = FastFloor(y);
+
+            if (!hasCell || x1 != cellX || y1 != cellY) {
+                int index = 0;
+                for (int yi = y1 - 1; yi <= y1 + 2; yi++) {
+                    for (int xi = x1 - 1; xi <= x1 + 2; xi++) {
+                        lattice[index++] = ValCoord2D(seed, xi, yi);
+                    }
+                }
+                cellX = x1;
+                cellY = y1;
+                hasCell = true;
+            }
+
+            out[i] = CubicLerpPlane(lattice, 0, x - (float) x1, y - (float) y1) * CUBIC_2D_BOUNDING;
+        }
+    }
+
+    // Bicubic interpolation of the 4x4 lattice values starting at lattice[offset], rows along x
+    private static float CubicLerpPlane(float[] lattice, int offset, float xw, float yw) {
+        return CubicLerp(
+            CubicLerp(lattice[offset], lattice[offset + 1], lattice[offset + 2], lattice[offset + 3], xw),
+            CubicLerp(lattice[offset + 4], lattice[offset + 5], lattice[offset + 6], lattice[offset + 7], xw),
+            CubicLerp(lattice[offset + 8], lattice[offset + 9], lattice[offset + 10], lattice[offset + 11], xw),
+            CubicLerp(lattice[offset + 12], lattice[offset + 13], lattice[offset + 14], lattice[offset + 15], xw),
+            yw);
+    }
+
+    // Per-sample kernels operating on frequency-scaled coordinates, matching the dispatch in GetNoise(...)
+    // Non-capturing, so each kernel is a single shared instance
+    private interface Kernel2D {
+        float Sample(FastNoise noise, float x, float y);
+    }
+
+    private interface Kernel3D {
+        float Sample(FastNoise noise, float x, float y, float z);
+    }
+
+    private Kernel2D GetKernel2D() {
+        switch (m_noiseType) {
+            case Value:
+                return (n, x, y) -> n.SingleValue(n.m_seed, x, y);
+            case ValueFractal:
+                switch (m_fractalType) {
+                    case FBM:
+                        return FastNoise::SingleValueFractalFBM;
+                    case Billow:
+                        return FastNoise::SingleValueFractalBillow;
+                    case RigidMulti:
+                        return FastNoise::SingleValueFractalRigidMulti;
+                    default:
+                        return (n, x, y) -> 0;
+                }
+            case Perlin:
+                return (n, x, y) -> n.SinglePerlin(n.m_seed, x, y);
+            case PerlinFractal:
+                switch (m_fractalType) {
+                    case FBM:
+                        return FastNoise::SinglePerlinFractalFBM;
+                    case Billow:
+                        return FastNoise::SinglePerlinFractalBillow;
+                    case RigidMulti:
+                        return FastNoise::SinglePerlinFractalRigidMulti;
+                    default:
+                        return (n, x, y) -> 0;
+                }
+            case Simplex:
+                return (n, x, y) -> n.SingleSimplex(n.m_seed, x, y);
+            case SimplexFractal:
+                switch (m_fractalType) {
+                    case FBM:
+                        return FastNoise::SingleSimplexFractalFBM;
+                    case Billow:
+                        return FastNoise::SingleSimplexFractalBillow;
+                    case RigidMulti:
+                        return FastNoise::SingleSimplexFractalRigidMulti;
+                    default:
+                        return (n, x, y) -> 0;
+                }
+            case Cellular:
+                switch (m_cellularReturnType) {
+                    case CellValue:
+                    case NoiseLookup:
+                    case Distance:
+                        return FastNoise::SingleCellular;
+                    default:
+                        return FastNoise::SingleCellular2Edge;
+                }
+            case WhiteNoise:
+                return FastNoise::GetWhiteNoise;
+            case Cubic:
+                return (n, x, y) -> n.SingleCubic(n.m_seed, x, y);
+            case CubicFractal:
+                switch (m_fractalType) {
+                    case FBM:
+                        return FastNoise::SingleCubicFractalFBM;
+                    case Billow:
+                        return FastNoise::SingleCubicFractalBillow;
+                    case RigidMulti:
+                        return FastNoise::SingleCubicFractalRigidMulti;
+                    default:
+                        return (n, x, y) -> 0;
+                }
+            default:
+                return (n, x, y) -> 0;
+        }
+    }
+
+    private Kernel3D GetKernel3D() {
+        switch (m_noiseType) {
+            case Value:
+                return (n, x, y, z) -> n.SingleValue(n.m_seed, x, y, z);
+            case ValueFractal:
+                switch (m_fractalType) {
+                    case FBM:
+                        return FastNoise::SingleValueFractalFBM;
+                    case Billow:
+                        return FastNoise::SingleValueFractalBillow;
+                    case RigidMulti:
+                        return FastNoise::SingleValueFractalRigidMulti;
+                    default:
+                        return (n, x, y, z) -> 0;
+                }
+            case Perlin:
+                return (n, x, y, z) -> n.SinglePerlin(n.m_seed, x, y, z);
+            case PerlinFractal:
+                switch (m_fractalType) {
+                    case FBM:
+                        return FastNoise::SinglePerlinFractalFBM;
+                    case Billow:
+                        return FastNoise::SinglePerlinFractalBillow;
+                    case RigidMulti:
+                        return FastNoise::SinglePerlinFractalRigidMulti;
+                    default:
+                        return (n, x, y, z) -> 0;
+                }
+            case Simplex:
+                return (n, x, y, z) -> n.SingleSimplex(n.m_seed, x, y, z);
+            case SimplexFractal:
+                switch (m_fractalType) {
+                    case FBM:
+                        return FastNoise::SingleSimplexFractalFBM;
+                    case Billow:
+                        return FastNoise::SingleSimplexFractalBillow;
+                    case RigidMulti:
+                        return FastNoise::SingleSimplexFractalRigidMulti;
+                    default:
+                        return (n, x, y, z) -> 0;
+                }
+            case Cellular:
+                switch (m_cellularReturnType) {
+                    case CellValue:
+                    case NoiseLookup:
+                    case Distance:
+                        return FastNoise::SingleCellular;
+                    default:
+                        return FastNoise::SingleCellular2Edge;
+                }
+            case WhiteNoise:
+                return FastNoise::GetWhiteNoise;
+            case Cubic:
+                return (n, x, y, z) -> n.SingleCubic(n.m_seed, x, y, z);
+            case CubicFractal:
+                switch (m_fractalType) {
+                    case FBM:
+                        return FastNoise::SingleCubicFractalFBM;
+                    case Billow:
+                        return FastNoise::SingleCubicFractalBillow;
+                    case RigidMulti:
+                        return FastNoise::SingleCubicFractalRigidMulti;
+                    default:
+                        return (n, x, y, z) -> 0;
+                }
+            default:
+                return (n, x, y, z) -> 0;
+        }
+    }
+
+    private float InterpFunc(float t) {
+        switch (m_interp) {
+            default:
+            case Linear:
+                return t;
+            case Hermite:
+                return InterpHermiteFunc(t);
+            case Quintic:
+                return InterpQuinticFunc(t);
+        }
+    }
+
+    // Row kernels for Value and Perlin noise
+    // The row's y (and z) lattice coordinates and weights are computed once, and corner values are only
+    // recomputed when the sample crosses into a new cell along x. Stepping into the next cell reuses the shared face.
+    private void FillValueRow2D(float[] out, int offset, float x0, float step, int width, float y) {
+        int seed = m_seed;
+        int yi0 = FastFloor(y);
+        int yi1 = yi0 + 1;
+        float ys = InterpFunc(y - yi0);
+
+        boolean hasCell = false;
+        int cellX = 0;
+        float v00 = 0, v10 = 0, v01 = 0, v11 = 0;
+
+        for (int i = 0; i < width; i++) {
+            float x = (x0 + i * step) * m_frequency;
+            int xi0 = FastFloor(x);
+
+            if (!hasCell || xi0 != cellX) {
+                int xi1 = xi0 + 1;
+                if (hasCell && xi0 == cellX + 1) {
+                    v00 = v10;
+                    v01 = v11;
+                } else {
+                    v00 = ValCoord2D(seed, xi0, yi0);
+                    v01 = ValCoord2D(seed, xi0, yi1);
+                }
+                v10 = ValCoord2D(seed, xi1, yi0);
+                v11 = ValCoord2D(seed, xi1, yi1);
+                cellX = xi0;
+                hasCell = true;
+            }
+
+            float xs = InterpFunc(x - xi0);
+            float xf0 = Lerp(v00, v10, xs);
+            float xf1 = Lerp(v01, v11, xs);
+
+            out[offset + i] = Lerp(xf0, xf1, ys);
+        }
+    }
+
+    private void FillPerlinRow2D(float[] out, int offset, float x0, float step, int width, float y) {
+        int seed = m_seed;
+        int yi0 = FastFloor(y);
+        int yi1 = yi0 + 1;
+        float ys = InterpFunc(y - yi0);
+        float yd0 = y - yi0;
+        float yd1 = yd0 - 1;
+
+        boolean hasCell = false;
+        int cellX = 0;
+        int g00 = 0, g10 = 0, g01 = 0, g11 = 0;
+
+        for (int i = 0; i < width; i++) {
+            float x = (x0 + i * step) * m_frequency;
+            int xi0 = FastFloor(x);
+
+            if (!hasCell || xi0 != cellX) {
+                int xi1 = xi0 + 1;
+                if (hasCell && xi0 == cellX + 1) {
+                    g00 = g10;
+                    g01 = g11;
+                } else {
+                    g00 = (Hash2D(seed, xi0, yi0) & 7) << 1;
+                    g01 = (Hash2D(seed, xi0, yi1) & 7) << 1;
+                }
+                g10 = (Hash2D(seed, xi1, yi0) & 7) << 1;
+                g11 = (Hash2D(seed, xi1, yi1) & 7) << 1;
+                cellX = xi0;
+                hasCell = true;
+            }
+
+            float xs = InterpFunc(x - xi0);
+            float xd0 = x - xi0;
+            float xd1 = xd0 - 1;
+
+            float xf0 = Lerp(xd0 * GRAD_2D[g00] + yd0 * GRAD_2D[g00 | 1], xd1 * GRAD_2D[g10] + yd0 * GRAD_2D[g10 | 1], xs);
+            float xf1 = Lerp(xd0 * GRAD_2D[g01] + yd1 * GRAD_2D[g01 | 1], xd1 * GRAD_2D[g11] + yd1 * GRAD_2D[g11 | 1], xs);
+
+            out[offset + i] = Lerp(xf0, xf1, ys);
+        }
+    }
+
+    private void FillValueRow3D(float[] out, int offset, float x0, float step, int width, float y, float z) {
+        int seed = m_seed;
+        int yi0 = FastFloor(y);
+        int zi0 = FastFloor(z);
+        int yi1 = yi0 + 1;
+        int zi1 = zi0 + 1;
+        float ys = InterpFunc(y - yi0);
+        float zs = InterpFunc(z - zi0);
+
+        boolean hasCell = false;
+        int cellX = 0;
+        float v000 = 0, v100 = 0, v010 = 0, v110 = 0, v001 = 0, v101 = 0, v011 = 0, v111 = 0;
+
+        for (int i = 0; i < width; i++) {
+            float x = (x0 + i * step) * m_frequency;
+            int xi0 = FastFloor(x);
+
+            if (!hasCell || xi0 != cellX) {
+                int xi1 = xi0 + 1;
+                if (hasCell && xi0 == cellX + 1) {
+                    v000 = v100;
+                    v010 = v110;
+                    v001 = v101;
+                    v011 = v111;
+                } else {
+                    v000 = ValCoord3D(seed, xi0, yi0, zi0);
+                    v010 = ValCoord3D(seed, xi0, yi1, zi0);
+                    v001 = ValCoord3D(seed, xi0, yi0, zi1);
+                    v011 = ValCoord3D(seed, xi0, yi1, zi1);
+                }
+                v100 = ValCoord3D(seed, xi1, yi0, zi0);
+                v110 = ValCoord3D(seed, xi1, yi1, zi0);
+                v101 = ValCoord3D(seed, xi1, yi0, zi1);
+                v111 = ValCoord3D(seed, xi1, yi1, zi1);
+                cellX = xi0;
+                hasCell = true;
+            }
+
+            float xs = InterpFunc(x - xi0);
+            float xf00 = Lerp(v000, v100, xs);
+            float xf10 = Lerp(v010, v110, xs);
+            float xf01 = Lerp(v001, v101, xs);
+            float xf11 = Lerp(v011, v111, xs);
+
+            float yf0 = Lerp(xf00, xf10, ys);
+            float yf1 = Lerp(xf01, xf11, ys);
+
+            out[offset + i] = Lerp(yf0, yf1, zs);
+        }
+    }
+
+    private void FillPerlinRow3D(float[] out, int offset, float x0, float step, int width, float y, float z) {
+        int seed = m_seed;
+        int yi0 = FastFloor(y);
+        int zi0 = FastFloor(z);
+        int yi1 = yi0 + 1;
+        int zi1 = zi0 + 1;
+        float ys = InterpFunc(y - yi0);
+        float zs = InterpFunc(z - zi0);
+        float yd0 = y - yi0;
+        float zd0 = z - zi0;
+        float yd1 = yd0 - 1;
+        float zd1 = zd0 - 1;
+
+        boolean hasCell = false;
+        int cellX = 0;
+        int g000 = 0, g100 = 0, g010 = 0, g110 = 0, g001 = 0, g101 = 0, g011 = 0, g111 = 0;
+
+        for (int i = 0; i < width; i++) {
+            float x = (x0 + i * step) * m_frequency;
+            int xi0 = FastFloor(x);
+
+            if (!hasCell || xi0 != cellX) {
+                int xi1 = xi0 + 1;
+                if (hasCell && xi0 == cellX + 1) {
+                    g000 = g100;
+                    g010 = g110;
+                    g001 = g101;
+                    g011 = g111;
+                } else {
+                    g000 = (Hash3D(seed, xi0, yi0, zi0) & 15) << 2;
+                    g010 = (Hash3D(seed, xi0, yi1, zi0) & 15) << 2;
+                    g001 = (Hash3D(seed, xi0, yi0, zi1) & 15) << 2;
+                    g011 = (Hash3D(seed, xi0, yi1, zi1) & 15) << 2;
+                }
+                g100 = (Hash3D(seed, xi1, yi0, zi0) & 15) << 2;
+                g110 = (Hash3D(seed, xi1, yi1, zi0) & 15) << 2;
+                g101 = (Hash3D(seed, xi1, yi0, zi1) & 15) << 2;
+                g111 = (Hash3D(seed, xi1, yi1, zi1) & 15) << 2;
+                cellX = xi0;
+                hasCell = true;
+            }
+
+            float xs = InterpFunc(x - xi0);
+            float xd0 = x - xi0;
+            float xd1 = xd0 - 1;
+
+            float xf00 = Lerp(xd0 * GRAD_3D[g000] + yd0 * GRAD_3D[g000 | 1] + zd0 * GRAD_3D[g000 | 2], xd1 * GRAD_3D[g100] + yd0 * GRAD_3D[g100 | 1] + zd0 * GRAD_3D[g100 | 2], xs);
+            float xf10 = Lerp(xd0 * GRAD_3D[g010] + yd1 * GRAD_3D[g010 | 1] + zd0 * GRAD_3D[g010 | 2], xd1 * GRAD_3D[g110] + yd1 * GRAD_3D[g110 | 1] + zd0 * GRAD_3D[g110 | 2], xs);
+            float xf01 = Lerp(xd0 * GRAD_3D[g001] + yd0 * GRAD_3D[g001 | 1] + zd1 * GRAD_3D[g001 | 2], xd1 * GRAD_3D[g101] + yd0 * GRAD_3D[g101 | 1] + zd1 * GRAD_3D[g101 | 2], xs);
+            float xf11 = Lerp(xd0 * GRAD_3D[g011] + yd1 * GRAD_3D[g011 | 1] + zd1 * GRAD_3D[g011 | 2], xd1 * GRAD_3D[g111] + yd1 * GRAD_3D[g111 | 1] + zd1 * GRAD_3D[g111 | 2], xs);
+
+            float yf0 = Lerp(xf00, xf10, ys);
+            float yf1 = Lerp(xf01, xf11, ys);
+
+            out[offset + i] = Lerp(yf0, yf1, zs);
+        }
+    }
+
+    // Block Coordinate Evaluation
+    // Integer block coordinate entrypoints, for callers sampling whole blocks. Results are identical to GetNoise(...)
+    // called with the same coordinates cast to float (exact for coordinates within +-2^24).
+    // The fills scale each axis once per call instead of once per sample: every x, y and z coordinate of the block is
+    // multiplied by the frequency up front, and for Value noise its lattice cell and interpolation weight for each octave
+    // are tabulated as well. Value and White noise then skip interpolation entirely for samples that land exactly on
+    // lattice points, e.g. when the frequency is 1 / n and the step a multiple of n.
+
+    public float GetNoiseBlock(int x, int y, int z) {
+        if (m_settings != null) {
+            return Current().GetNoiseBlock(x, y, z);
+        }
+
+        if (m_noiseType == NoiseType.Value) {
+            float xf = x * m_frequency;
+            float yf = y * m_frequency;
+            float zf = z * m_frequency;
+            int x0 = FastFloor(xf);
+            int y0 = FastFloor(yf);
+            int z0 = FastFloor(zf);
+            return SingleValueLattice(m_seed, x0, y0, z0, InterpFunc(xf - x0), InterpFunc(yf - y0), InterpFunc(zf - z0));
+        }
+        return GetNoise((float) x, (float) y, (float) z);
+    }
+
+    public float GetNoiseBlock(int x, int y) {
+        if (m_settings != null) {
+            return Current().GetNoiseBlock(x, y);
+        }
+
+        if (m_noiseType == NoiseType.Value) {
+            float xf = x * m_frequency;
+            float yf = y * m_frequency;
+            int x0 = FastFloor(xf);
+            int y0 = FastFloor(yf);
+            return SingleValueLattice(m_seed, x0, y0, InterpFunc(xf - x0), InterpFunc(yf - y0));
+        }
+        return GetNoise((float) x, (float) y);
+    }
+
+    // Fills out[(y * depth + z) * width + x] with GetNoiseBlock(x0 + x * step, y0 + y * step, z0 + z * step)
+    // for each x < width, y < height, z < depth
+    // Allocates per-axis tables of width + height + depth entries (times the octave count for ValueFractal).
+    public void FillNoiseBlock3D(float[] out, int x0, int y0, int z0, int width, int height, int depth, int step) {
+        if (m_settings != null) {
+            Current().FillNoiseBlock3D(out, x0, y0, z0, width, height, depth, step);
+            return;
+        }
+
+        switch (m_noiseType) {
+            case Value:
+            case ValueFractal:
+                FillValueBlock3D(out, x0, y0, z0, width, height, depth, step);
+                return;
+            case WhiteNoise: {
+                int seed = m_seed;
+                int[] xi = WhiteNoiseAxis(x0, step, width);
+                int[] yi = WhiteNoiseAxis(y0, step, height);
+                int[] zi = WhiteNoiseAxis(z0, step, depth);
+                int index = 0;
+                for (int y = 0; y < height; y++) {
+                    for (int z = 0; z < depth; z++) {
+                        for (int x = 0; x < width; x++) {
+                            out[index++] = ValCoord3D(seed, xi[x], yi[y], zi[z]);
+                        }
+                    }
+                }
+                return;
+            }
+            default: {
+                Kernel3D kernel = GetKernel3D();
+                float[] xf = ScaledAxis(x0, step, width);
+                float[] yf = ScaledAxis(y0, step, height);
+                float[] zf = ScaledAxis(z0, step, depth);
+                int index = 0;
+                for (int y = 0; y < height; y++) {
+                    for (int z = 0; z < depth; z++) {
+                        for (int x = 0; x < width; x++) {
+                            out[index++] = kernel.Sample(this, xf[x], yf[y], zf[z]);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    // Fills out[z * width + x] with GetNoiseBlock(x0 + x * step, z0 + z * step) for each x < width, z < depth
+    // See FillNoiseBlock3D(...)
+    public void FillNoiseBlock2D(float[] out, int x0, int z0, int width, int depth, int step) {
+        if (m_settings != null) {
+            Current().FillNoiseBlock2D(out, x0, z0, width, depth, step);
+            return;
+        }
+
+        switch (m_noiseType) {
+            case Value:
+            case ValueFractal:
+                FillValueBlock2D(out, x0, z0, width, depth, step);
+                return;
+            case WhiteNoise: {
+                int seed = m_seed;
+                int[] xi = WhiteNoiseAxis(x0, step, width);
+                int[] zi = WhiteNoiseAxis(z0, step, depth);
+                int index = 0;
+                for (int z = 0; z < depth; z++) {
+                    for (int x = 0; x < width; x++) {
+                        out[index++] = ValCoord2D(seed, xi[x], zi[z]);
+                    }
+                }
+                return;
+            }
+            default: {
+                Kernel2D kernel = GetKernel2D();
+                float[] xf = ScaledAxis(x0, step, width);
+                float[] zf = ScaledAxis(z0, step, depth);
+                int index = 0;
+                for (int z = 0; z < depth; z++) {
+                    for (int x = 0; x < width; x++) {
+                        out[index++] = kernel.Sample(this, xf[x], zf[z]);
+                    }
+                }
+            }
+        }
+    }
+
+    // Frequency-scaled coordinates origin + i * step for each i < count
+    private float[] ScaledAxis(int origin, int step, int count) {
+        float[] scaled = new float[count];
+        int coord = origin;
+        for (int i = 0; i < count; i++, coord += step) {
+            scaled[i] = coord * m_frequency;
+        }
+        return scaled;
+    }
+
+    // White noise hash inputs of the frequency-scaled coordinates, see GetWhiteNoise(...)
+    private int[] WhiteNoiseAxis(int origin, int step, int count) {
+        int[] hashed = new int[count];
+        int coord = origin;
+        for (int i = 0; i < count; i++, coord += step) {
+            hashed[i] = FloatCast2Int(coord * m_frequency);
+        }
+        return hashed;
+    }
+
+    // Octave count used by the Value block fills, 1 unless the noise type is ValueFractal
+    private int ValueBlockOctaves() {
+        return m_noiseType == NoiseType.ValueFractal ? m_octaveAmps.length : 1;
+    }
+
+    // Tabulates the lattice cell and interpolation weight of origin + i * step along one axis, for each octave
+    // Entries are stored at (octave * count + i), scaling by the lacunarity between octaves as the fractal functions do
+    private void ValueAxis(int origin, int step, int count, int octaves, int[] cells, float[] weights) {
+        int coord = origin;
+        for (int i = 0; i < count; i++, coord += step) {
+            float f = coord * m_frequency;
+            for (int octave = 0; octave < octaves; octave++) {
+                int cell = FastFloor(f);
+                cells[octave * count + i] = cell;
+                weights[octave * count + i] = InterpFunc(f - cell);
+                f *= m_lacunarity;
+            }
+        }
+    }
+
+    private void FillValueBlock3D(float[] out, int x0, int y0, int z0, int width, int height, int depth, int step) {
+        int octaves = ValueBlockOctaves();
+        int[] xc = new int[octaves * width], yc = new int[octaves * height], zc = new int[octaves * depth];
+        float[] xw = new float[octaves * width], yw = new float[octaves * height], zw = new float[octaves * depth];
+        ValueAxis(x0, step, width, octaves, xc, xw);
+        ValueAxis(y0, step, height, octaves, yc, yw);
+        ValueAxis(z0, step, depth, octaves, zc, zw);
+
+        boolean fractal = m_noiseType == NoiseType.ValueFractal;
+        if (!fractal && !AllZero(xw)) {
+            // Samples off the lattice along x gain more from the row kernel's corner reuse than from the tables
+            for (int y = 0; y < height; y++) {
+                float yf = (y0 + y * step) * m_frequency;
+                for (int z = 0; z < depth; z++) {
+                    FillValueRow3D(out, (y * depth + z) * width, x0, step, width, yf, (z0 + z * step) * m_frequency);
+                }
+            }
+            return;
+        }
+
+        float[] amps = m_octaveAmps;
+        int index = 0;
+        for (int y = 0; y < height; y++) {
+            for (int z = 0; z < depth; z++) {
+                for (int x = 0; x < width; x++) {
+                    if (!fractal) {
+                        out[index++] = SingleValueLattice(m_seed, xc[x], yc[y], zc[z], xw[x], yw[y], zw[z]);
+                        continue;
+                    }
+
+                    // Same octave accumulation as the SingleValueFractal* functions
+                    int seed = m_seed;
+                    float sum = 0;
+                    for (int octave = 0; octave < octaves; octave++, seed++) {
+                        int xi = octave * width + x, yi = octave * height + y, zi = octave * depth + z;
+                        float value = SingleValueLattice(seed, xc[xi], yc[yi], zc[zi], xw[xi], yw[yi], zw[zi]);
+                        sum = AccumulateOctave(sum, value, octave, amps);
+                    }
+                    out[index++] = m_fractalType == FractalType.RigidMulti ? sum : sum * m_fractalBounding;
+                }
+            }
+        }
+    }
+
+    private void FillValueBlock2D(float[] out, int x0, int z0, int width, int depth, int step) {
+        int octaves = ValueBlockOctaves();
+        int[] xc = new int[octaves * width], zc = new int[octaves * depth];
+        float[] xw = new float[octaves * width], zw = new float[octaves * depth];
+        ValueAxis(x0, step, width, octaves, xc, xw);
+        ValueAxis(z0, step, depth, octaves, zc, zw);
+
+        boolean fractal = m_noiseType == NoiseType.ValueFractal;
+        if (!fractal && !AllZero(xw)) {
+            for (int z = 0; z < depth; z++) {
+                FillValueRow2D(out, z * width, x0, step, width, (z0 + z * step) * m_frequency);
+            }
+            return;
+        }
+
+        float[] amps = m_octaveAmps;
+        int index = 0;
+        for (int z = 0; z < depth; z++) {
+            for (int x = 0; x < width; x++) {
+                if (!fractal) {
+                    out[index++] = SingleValueLattice(m_seed, xc[x], zc[z], xw[x], zw[z]);
+                    continue;
+                }
+
+                int seed = m_seed;
+                float sum = 0;
+                for (int octave = 0; octave < octaves; octave++, seed++) {
+                    int xi = octave * width + x, zi = octave * depth + z;
+                    sum = AccumulateOctave(sum, SingleValueLattice(seed, xc[xi], zc[zi], xw[xi], zw[zi]), octave, amps);
+                }
+                out[index++] = m_fractalType == FractalType.RigidMulti ? sum : sum * m_fractalBounding;
+            }
+        }
+    }
+
+    private static boolean AllZero(float[] values) {
+        for (float value : values) {
+            if (value != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Adds one octave's value to the running fractal sum, matching the arithmetic of the Single*Fractal* functions
+    private float AccumulateOctave(float sum, float value, int octave, float[] amps) {
+        switch (m_fractalType) {
+            case FBM:
+                return octave == 0 ? value : sum + value * amps[octave];
+            case Billow:
+                return octave == 0 ? Math.abs(value) * 2 - 1 : sum + (Math.abs(value) * 2 - 1) * amps[octave];
+            case RigidMulti:
+                return octave == 0 ? 1 - Math.abs(value) : sum - (1 - Math.abs(value)) * amps[octave];
+            default:
+                return 0;
+        }
+    }
+
+    // Same as SingleValue(...) given the lattice cell and interpolation weights of the sample
+    // A sample exactly on a lattice point has all weights 0, which makes every Lerp(...) return its first corner
+    private float SingleValueLattice(int seed, int x0, int y0, int z0, float xs, float ys, float zs) {
+        if (xs == 0 && ys == 0 && zs == 0) {
+            return ValCoord3D(seed, x0, y0, z0);
+        }
+
+        int x1 = x0 + 1;
+        int y1 = y0 + 1;
+        int z1 = z0 + 1;
+
+        float xf00 = Lerp(ValCoord3D(seed, x0, y0, z0), ValCoord3D(seed, x1, y0, z0), xs);
+        float xf10 = Lerp(ValCoord3D(seed, x0, y1, z0), ValCoord3D(seed, x1, y1, z0), xs);
+        float xf01 = Lerp(ValCoord3D(seed, x0, y0, z1), ValCoord3D(seed, x1, y0, z1), xs);
+        float xf11 = Lerp(ValCoord3D(seed, x0, y1, z1), ValCoord3D(seed, x1, y1, z1), xs);
+
+        float yf0 = Lerp(xf00, xf10, ys);
+        float yf1 = Lerp(xf01, xf11, ys);
+
+        return Lerp(yf0, yf1, zs);
+    }
+
+    private float SingleValueLattice(int seed, int x0, int y0, float xs, float ys) {
+        if (xs == 0 && ys == 0) {
+            return ValCoord2D(seed, x0, y0);
+        }
+
+        int x1 = x0 + 1;
+        int y1 = y0 + 1;
+
+        float xf0 = Lerp(ValCoord2D(seed, x0, y0), ValCoord2D(seed, x1, y0), xs);
+        float xf1 = Lerp(ValCoord2D(seed, x0, y1), ValCoord2D(seed, x1, y1), xs);
+
+        return Lerp(xf0, xf1, ys);
+    }
+
+    // Threshold Queries
+    // IsAbove(...) and IsInRange(...) answer the same as comparing GetNoise(...) directly, but fractal noise types stop
+    // evaluating octaves once the remaining octaves can no longer change the answer.
+    // The remaining octaves are bounded by their amplitudes times the magnitude bound of the base noise type below,
+    // taking the sign of each amplitude (and of the fractal bounding) into account, so negative gains are handled too.
+    // These bounds are the measured maxima of each type with a safety margin, so early answers match the full evaluation.
+
+    private final static float VALUE_BOUND = 1;     // Exact: value noise interpolates lattice values in [-1, 1]
+    private final static float PERLIN_BOUND = 1.5f; // Measured max ~1.03
+    private final static float SIMPLEX_BOUND = 1.25f; // Measured max ~0.98
+    private final static float CUBIC_BOUND = 1;     // Measured max ~0.82
+
+    // Slack for float rounding differences between the bound arithmetic and the full evaluation,
+    // relative to the magnitude of the values involved
+    private final static float FRACTAL_BOUND_EPSILON = (float) 1e-4;
+
+    private interface OctaveKernel3D {
+        float Sample(FastNoise noise, int seed, float x, float y, float z);
+    }
+
+    @Override
+    public boolean IsAbove(float x, float y, float z, float threshold) {
+        if (m_settings != null) {
+            return Current().IsAbove(x, y, z, threshold);
+        }
+
+        return !IsInRange(x, y, z, Float.NEGATIVE_INFINITY, threshold);
+    }
+
+    @Override
+    public boolean IsInRange(float x, float y, float z, float min, float max) {
+        if (m_settings != null) {
+            return Current().IsInRange(x, y, z, min, max);
+        }
+
+        switch (m_noiseType) {
+            case ValueFractal:
+                return FractalInRange(FastNoise::SingleValue, VALUE_BOUND, x, y, z, min, max);
+            case PerlinFractal:
+                return FractalInRange(FastNoise::SinglePerlin, PERLIN_BOUND, x, y, z, min, max);
+            case SimplexFractal:
+                return FractalInRange(FastNoise::SingleSimplex, SIMPLEX_BOUND, x, y, z, min, max);
+            case CubicFractal:
+                return FractalInRange(FastNoise::SingleCubic, CUBIC_BOUND, x, y, z, min, max);
+            default:
+                float value = GetNoise(x, y, z);
+                return value >= min && value <= max;
+        }
+    }
+
+    // Evaluates octaves exactly as the Single*Fractal* functions do, checking after each one whether
+    // the final value's possible range already lies entirely inside or outside [min, max]
+    private boolean FractalInRange(OctaveKernel3D kernel, float bound, float x, float y, float z, float min, float max) {
+        x *= m_frequency;
+        y *= m_frequency;
+        z *= m_frequency;
+
+        // Range of a single octave's contribution per unit of amplitude
+        float termMin, termMax, scale;
+        switch (m_fractalType) {
+            case FBM:
+                termMin = -bound;
+                termMax = bound;
+                scale = m_fractalBounding;
+                break;
+            case Billow:
+                termMin = -1;
+                termMax = 2 * bound - 1;
+                scale = m_fractalBounding;
+                break;
+            case RigidMulti:
+                termMin = -1;
+                termMax = bound - 1;
+                scale = 1;
+                break;
+            default:
+                return 0 >= min && 0 <= max;
+        }
+
+        // Remaining positive and negative amplitudes are tracked separately, since a negative amplitude flips the term's range
+        int seed = m_seed;
+        float[] amps = m_octaveAmps;
+        float remainingPositive = 0;
+        float remainingNegative = 0;
+        for (int i = 1; i < amps.length; i++) {
+            if (amps[i] >= 0) {
+                remainingPositive += amps[i];
+            } else {
+                remainingNegative += amps[i];
+            }
+        }
+        float termMagnitude = Math.max(-termMin, termMax);
+
+        float noise = kernel.Sample(this, seed, x, y, z);
+        float sum;
+        switch (m_fractalType) {
+            case FBM:
+                sum = noise;
+                break;
+            case Billow:
+                sum = Math.abs(noise) * 2 - 1;
+                break;
+            default:
+                sum = 1 - Math.abs(noise);
+                break;
+        }
+
+        for (int i = 1; i < amps.length; i++) {
+            float sumLower = sum + remainingPositive * termMin + remainingNegative * termMax;
+            float sumUpper = sum + remainingPositive * termMax + remainingNegative * termMin;
+            float slack = FRACTAL_BOUND_EPSILON * (1 + (Math.abs(sum) + (remainingPositive - remainingNegative) * termMagnitude) * Math.abs(scale));
+            float lower = Math.min(sumLower * scale, sumUpper * scale) - slack;
+            float upper = Math.max(sumLower * scale, sumUpper * scale) + slack;
+            if (upper < min || lower > max) return false;
+            if (lower >= min && upper <= max) return true;
+
+            x *= m_lacunarity;
+            y *= m_lacunarity;
+            z *= m_lacunarity;
+
+            noise = kernel.Sample(this, ++seed, x, y, z);
+            switch (m_fractalType) {
+                case FBM:
+                    sum += noise * amps[i];
+                    break;
+                case Billow:
+                    sum += (Math.abs(noise) * 2 - 1) * amps[i];
+                    break;
+                default:
+                    sum -= (1 - Math.abs(noise)) * amps[i];
+                    break;
+            }
+            if (amps[i] >= 0) {
+                remainingPositive -= amps[i];
+            } else {
+                remainingNegative -= amps[i];
+            }
+        }
+
+        float value = m_fractalType == FractalType.RigidMulti ? sum : sum * m_fractalBounding;
+        return value >= min && value <= max;
+    }
+
+    // Analytical Derivatives
+    // GetNoiseWithDerivative(...) writes the noise value and its partial derivatives with respect to the input coordinates
+    // to out[offset] (value), out[offset + 1] (d/dx), out[offset + 2] (d/dy) and out[offset + 3] (d/dz),
+    // from a single evaluation instead of several finite difference samples.
+    // The value is identical to GetNoise(...). Derivatives are analytical for Simplex, SimplexFractal, Perlin and PerlinFractal
+    // noise (see SupportsDerivative()); every other noise type estimates them with central differences, at the cost of six
+    // extra GetNoise(...) samples per point. Estimates are meaningless where the noise is not continuous: WhiteNoise
+    // everywhere, and Cellular at cell edges.
+    // Derivatives of Billow and RigidMulti fractals are undefined where an octave crosses zero; 0 is used for that octave.
+
+    private interface DerivativeKernel3D {
+        float Sample(FastNoise noise, int seed, float x, float y, float z, float[] out, int offset);
+    }
+
+    // Step of the central differences in noise space, as a fraction of a cell of the finest octave
+    private final static float DERIVATIVE_STEP = 1.0f / 1024;
+
+    // Returns true if GetNoiseWithDerivative(...) computes exact derivatives for this object's noise type,
+    // false if it estimates them with central differences
+    public boolean SupportsDerivative() {
+        if (m_settings != null) {
+            return Current().SupportsDerivative();
+        }
+
+        switch (m_noiseType) {
+            case Simplex:
+            case SimplexFractal:
+            case Perlin:
+            case PerlinFractal:
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    public void GetNoiseWithDerivative(float x, float y, float z, float[] out, int offset) {
+        if (m_settings != null) {
+            Current().GetNoiseWithDerivative(x, y, z, out, offset);
+            return;
+        }
+
+        switch (m_noiseType) {
+            case Simplex:
+                SingleWithDerivative(FastNoise::SingleSimplexDerivative, x, y, z, out, offset);
+                return;
+            case SimplexFractal:
+                FractalWithDerivative(FastNoise::SingleSimplexDerivative, x, y, z, out, offset);
+                return;
+            case Perlin:
+                SingleWithDerivative(FastNoise::SinglePerlinDerivative, x, y, z, out, offset);
+                return;
+            case PerlinFractal:
+                FractalWithDerivative(FastNoise::SinglePerlinDerivative, x, y, z, out, offset);
+                return;
+            default:
+                DifferenceDerivative(x, y, z, out, offset);
+        }
+    }
+
+    // Batch version of GetNoiseWithDerivative(...) over the points (xs[i], ys[i], zs[i]) for each i < count
+    // Results are written to out[i * 4] through out[i * 4 + 3]
+    public void GetNoiseWithDerivative(float[] xs, float[] ys, float[] zs, float[] out, int count) {
+        if (m_settings != null) {
+            Current().GetNoiseWithDerivative(xs, ys, zs, out, count);
+            return;
+        }
+
+        for (int i = 0; i < count; i++) {
+            GetNoiseWithDerivative(xs[i], ys[i], zs[i], out, i << 2);
+        }
+    }
+
+    private void DifferenceDerivative(float x, float y, float z, float[] out, int offset) {
+        // The step has to resolve the finest octave of fractal noise
+        float frequency = Math.abs(m_frequency);
+        float finest = frequency;
+        switch (m_noiseType) {
+            case ValueFractal:
+            case CubicFractal:
+                for (int i = 1; i < m_octaveAmps.length; i++) {
+                    frequency *= Math.abs(m_lacunarity);
+                    finest = Math.max(finest, frequency);
+                }
+                break;
+        }
+
+        out[offset] = GetNoise(x, y, z);
+        if (finest == 0) {
+            out[offset + 1] = 0;
+            out[offset + 2] = 0;
+            out[offset + 3] = 0;
+            return;
+        }
+
+        // At least a few ulps of the coordinates, so that each pair of samples stays distinct
+        float magnitude = Math.max(Math.abs(x), Math.max(Math.abs(y), Math.abs(z)));
+        float h = Math.max(DERIVATIVE_STEP / finest, 4 * Math.ulp(magnitude));
+        out[offset + 1] = (GetNoise(x + h, y, z) - GetNoise(x - h, y, z)) / ((x + h) - (x - h));
+        out[offset + 2] = (GetNoise(x, y + h, z) - GetNoise(x, y - h, z)) / ((y + h) - (y - h));
+        out[offset + 3] = (GetNoise(x, y, z + h) - GetNoise(x, y, z - h)) / ((z + h) - (z - h));
+    }
+
+    private void SingleWithDerivative(DerivativeKernel3D kernel, float x, float y, float z, float[] out, int offset) {
+        out[offset] = kernel.Sample(this, m_seed, x * m_frequency, y * m_frequency, z * m_frequency, out, offset);
+        out[offset + 1] *= m_frequency;
+        out[offset + 2] *= m_frequency;
+        out[offset + 3] *= m_frequency;
+    }
+
+    // Accumulates octaves exactly as the Single*Fractal* functions do, along with their scaled derivatives
+    private void FractalWithDerivative(DerivativeKernel3D kernel, float x, float y, float z, float[] out, int offset) {
+        x *= m_frequency;
+        y *= m_frequency;
+        z *= m_frequency;
+
+        int seed = m_seed;
+        float[] amps = m_octaveAmps;
+        float scale = m_frequency;
+        float sum = 0, dx = 0, dy = 0, dz = 0;
+
+        for (int i = 0; i < amps.length; i++) {
+            if (i > 0) {
+                x *= m_lacunarity;
+                y *= m_lacunarity;
+                z *= m_lacunarity;
+                scale *= m_lacunarity;
+                seed++;
+            }
+
+            float noise = kernel.Sample(this, seed, x, y, z, out, offset);
+            float term, slope;
+            switch (m_fractalType) {
+                case FBM:
+                    term = noise;
+                    slope = 1;
+                    break;
+                case Billow:
+                    term = Math.abs(noise) * 2 - 1;
+                    slope = Math.signum(noise) * 2;
+                    break;
+                case RigidMulti:
+                    term = 1 - Math.abs(noise);
+                    slope = -Math.signum(noise);
+                    break;
+                default:
+                    term = 0;
+                    slope = 0;
+                    break;
+            }
+
+            if (i == 0) {
+                sum = term;
+            } else if (m_fractalType == FractalType.RigidMulti) {
+                sum -= term * amps[i];
+            } else {
+                sum += term * amps[i];
+            }
+
+            // Rigid octaves after the first are subtracted
+            float weight = slope * scale * (i > 0 && m_fractalType == FractalType.RigidMulti ? -amps[i] : amps[i]);
+            dx += out[offset + 1] * weight;
+            dy += out[offset + 2] * weight;
+            dz += out[offset + 3] * weight;
+        }
+
+        float bounding = m_fractalType == FractalType.RigidMulti ? 1 : m_fractalBounding;
+        out[offset] = m_fractalType == FractalType.RigidMulti ? sum : sum * m_fractalBounding;
+        out[offset + 1] = dx * bounding;
+        out[offset + 2] = dy * bounding;
+        out[offset + 3] = dz * bounding;
+    }
+
+    private static int GradIndex3D(int seed, int x, int y, int z) {
+        int hash = seed;
+        hash ^= X_PRIME * x;
+        hash ^= Y_PRIME * y;
+        hash ^= Z_PRIME * z;
+
+        hash = hash * hash * hash * 60493;
+        hash = (hash >> 13) ^ hash;
+
+        return (hash & 15) << 2;
+    }
+
+    // Same as SingleSimplex(...), also writing the derivatives to out[offset + 1 .. offset + 3]
+    private float SingleSimplexDerivative(int seed, float x, float y, float z, float[] out, int offset) {
+        float t = (x + y + z) * F3;
+        int i = FastFloor(x + t);
+        int j = FastFloor(y + t);
+        int k = FastFloor(z + t);
+
+        t = (i + j + k) * G3;
+        float x0 = x - (i - t);
+        float y0 = y - (j - t);
+        float z0 = z - (k - t);
+
+        int i1, j1, k1;
+        int i2, j2, k2;
+
+        if (x0 >= y0) {
+            if (y0 >= z0) {
+                i1 = 1; j1 = 0; k1 = 0; i2 = 1; j2 = 1; k2 = 0;
+            } else if (x0 >= z0) {
+                i1 = 1; j1 = 0; k1 = 0; i2 = 1; j2 = 0; k2 = 1;
+            } else {
+                i1 = 0; j1 = 0; k1 = 1; i2 = 1; j2 = 0; k2 = 1;
+            }
+        } else {
+            if (y0 < z0) {
+                i1 = 0; j1 = 0; k1 = 1; i2 = 0; j2 = 1; k2 = 1;
+            } else if (x0 < z0) {
+                i1 = 0; j1 = 1; k1 = 0; i2 = 0; j2 = 1; k2 = 1;
+            } else {
+                i1 = 0; j1 = 1; k1 = 0; i2 = 1; j2 = 1; k2 = 0;
+            }
+        }
+
+        out[offset + 1] = 0;
+        out[offset + 2] = 0;
+        out[offset + 3] = 0;
+
+        float n0 = SimplexCornerDerivative(seed, i, j, k, x0, y0, z0, out, offset);
+        float n1 = SimplexCornerDerivative(seed, i + i1, j + j1, k + k1, x0 - i1 + G3, y0 - j1 + G3, z0 - k1 + G3, out, offset);
+        float n2 = SimplexCornerDerivative(seed, i + i2, j + j2, k + k2, x0 - i2 + F3, y0 - j2 + F3, z0 - k2 + F3, out, offset);
+        float n3 = SimplexCornerDerivative(seed, i + 1, j + 1, k + 1, x0 + G33, y0 + G33, z0 + G33, out, offset);
+
+        out[offset + 1] *= 32;
+        out[offset + 2] *= 32;
+        out[offset + 3] *= 32;
+        return 32 * (n0 + n1 + n2 + n3);
+    }
+
+    // Returns the contribution t^4 * (g . d) of one simplex corner, adding its derivative to out[offset + 1 .. offset + 3]
+    private static float SimplexCornerDerivative(int seed, int x, int y, int z, float xd, float yd, float zd, float[] out, int offset) {
+        float t = (float) 0.6 - xd * xd - yd * yd - zd * zd;
+        if (t < 0) return 0;
+
+        int g = GradIndex3D(seed, x, y, z);
+        float gx = GRAD_3D[g], gy = GRAD_3D[g | 1], gz = GRAD_3D[g | 2];
+        float dot = xd * gx + yd * gy + zd * gz;
+
+        float t2 = t * t;
+        float t4 = t2 * t2;
+        float falloff = -8 * t2 * t * dot;
+        out[offset + 1] += t4 * gx + falloff * xd;
+        out[offset + 2] += t4 * gy + falloff * yd;
+        out[offset + 3] += t4 * gz + falloff * zd;
+        return t4 * dot;
+    }
+
+    // Same as SinglePerlin(...), also writing the derivatives to out[offset + 1 .. offset + 3]
+    private float SinglePerlinDerivative(int seed, float x, float y, float z, float[] out, int offset) {
+        int x0 = FastFloor(x);
+        int y0 = FastFloor(y);
+        int z0 = FastFloor(z);
+        int x1 = x0 + 1;
+        int y1 = y0 + 1;
+        int z1 = z0 + 1;
+
+        float xd0 = x - x0;
+        float yd0 = y - y0;
+        float zd0 = z - z0;
+        float xd1 = xd0 - 1;
+        float yd1 = yd0 - 1;
+        float zd1 = zd0 - 1;
+
+        // Interpolation weights and their derivatives
+        float xs, ys, zs, dxs, dys, dzs;
+        switch (m_interp) {
+            default:
+            case Linear:
+                xs = xd0;
+                ys = yd0;
+                zs = zd0;
+                dxs = dys = dzs = 1;
+                break;
+            case Hermite:
+                xs = InterpHermiteFunc(xd0);
+                ys = InterpHermiteFunc(yd0);
+                zs = InterpHermiteFunc(zd0);
+                dxs = InterpHermiteDerivative(xd0);
+                dys = InterpHermiteDerivative(yd0);
+                dzs = InterpHermiteDerivative(zd0);
+                break;
+            case Quintic:
+                xs = InterpQuinticFunc(xd0);
+                ys = InterpQuinticFunc(yd0);
+                zs = InterpQuinticFunc(zd0);
+                dxs = InterpQuinticDerivative(xd0);
+                dys = InterpQuinticDerivative(yd0);
+                dzs = InterpQuinticDerivative(zd0);
+                break;
         }
+
+        int g000 = GradIndex3D(seed, x0, y0, z0);
+        int g100 = GradIndex3D(seed, x1, y0, z0);
+        int g010 = GradIndex3D(seed, x0, y1, z0);
+        int g110 = GradIndex3D(seed, x1, y1, z0);
+        int g001 = GradIndex3D(seed, x0, y0, z1);
+        int g101 = GradIndex3D(seed, x1, y0, z1);
+        int g011 = GradIndex3D(seed, x0, y1, z1);
+        int g111 = GradIndex3D(seed, x1, y1, z1);
+
+        float a000 = xd0 * GRAD_3D[g000] + yd0 * GRAD_3D[g000 | 1] + zd0 * GRAD_3D[g000 | 2];
+        float a100 = xd1 * GRAD_3D[g100] + yd0 * GRAD_3D[g100 | 1] + zd0 * GRAD_3D[g100 | 2];
+        float a010 = xd0 * GRAD_3D[g010] + yd1 * GRAD_3D[g010 | 1] + zd0 * GRAD_3D[g010 | 2];
+        float a110 = xd1 * GRAD_3D[g110] + yd1 * GRAD_3D[g110 | 1] + zd0 * GRAD_3D[g110 | 2];
+        float a001 = xd0 * GRAD_3D[g001] + yd0 * GRAD_3D[g001 | 1] + zd1 * GRAD_3D[g001 | 2];
+        float a101 = xd1 * GRAD_3D[g101] + yd0 * GRAD_3D[g101 | 1] + zd1 * GRAD_3D[g101 | 2];
+        float a011 = xd0 * GRAD_3D[g011] + yd1 * GRAD_3D[g011 | 1] + zd1 * GRAD_3D[g011 | 2];
+        float a111 = xd1 * GRAD_3D[g111] + yd1 * GRAD_3D[g111 | 1] + zd1 * GRAD_3D[g111 | 2];
+
+        float xf00 = Lerp(a000, a100, xs);
+        float xf10 = Lerp(a010, a110, xs);
+        float xf01 = Lerp(a001, a101, xs);
+        float xf11 = Lerp(a011, a111, xs);
+
+        float yf0 = Lerp(xf00, xf10, ys);
+        float yf1 = Lerp(xf01, xf11, ys);
+
+        // Each derivative is the interpolated gradient plus the change in interpolation weight along that axis
+        out[offset + 1] = TriLerpGradient(g000, g100, g010, g110, g001, g101, g011, g111, 0, xs, ys, zs)
+            + dxs * Lerp(Lerp(a100 - a000, a110 - a010, ys), Lerp(a101 - a001, a111 - a011, ys), zs);
+        out[offset + 2] = TriLerpGradient(g000, g100, g010, g110, g001, g101, g011, g111, 1, xs, ys, zs)
+            + dys * Lerp(xf10 - xf00, xf11 - xf01, zs);
+        out[offset + 3] = TriLerpGradient(g000, g100, g010, g110, g001, g101, g011, g111, 2, xs, ys, zs)
+            + dzs * (yf1 - yf0);
+
+        return Lerp(yf0, yf1, zs);
+    }
+
+    // Trilinearly interpolates one component of the gradients at the 8 corners of a lattice cell
+    private static float TriLerpGradient(int g000, int g100, int g010, int g110, int g001, int g101, int g011, int g111,
+                                         int component, float xs, float ys, float zs) {
+        return Lerp(
+            Lerp(Lerp(GRAD_3D[g000 | component], GRAD_3D[g100 | component], xs), Lerp(GRAD_3D[g010 | component], GRAD_3D[g110 | component], xs), ys),
+            Lerp(Lerp(GRAD_3D[g001 | component], GRAD_3D[g101 | component], xs), Lerp(GRAD_3D[g011 | component], GRAD_3D[g111 | component], xs), ys),
+            zs);
     }
 
     // White Noise
@@ -584,6 +2434,10 @@ public class FastNoise implements INoiseLibrary {
     }
 
     public float GetWhiteNoise(float x, float y, float z, float w) {
+        if (m_settings != null) {
+            return Current().GetWhiteNoise(x, y, z, w);
+        }
+
         int xi = FloatCast2Int(x);
         int yi = FloatCast2Int(y);
         int zi = FloatCast2Int(z);
@@ -593,6 +2447,10 @@ public class FastNoise implements INoiseLibrary {
     }
 
     public float GetWhiteNoise(float x, float y, float z) {
+        if (m_settings != null) {
+            return Current().GetWhiteNoise(x, y, z);
+        }
+
         int xi = FloatCast2Int(x);
         int yi = FloatCast2Int(y);
         int zi = FloatCast2Int(z);
@@ -601,6 +2459,10 @@ public class FastNoise implements INoiseLibrary {
     }
 
     public float GetWhiteNoise(float x, float y) {
+        if (m_settings != null) {
+            return Current().GetWhiteNoise(x, y);
+        }
+
         int xi = FloatCast2Int(x);
         int yi = FloatCast2Int(y);
 
@@ -608,19 +2470,35 @@ public class FastNoise implements INoiseLibrary {
     }
 
     public float GetWhiteNoiseInt(int x, int y, int z, int w) {
+        if (m_settings != null) {
+            return Current().GetWhiteNoiseInt(x, y, z, w);
+        }
+
         return ValCoord4D(m_seed, x, y, z, w);
     }
 
     public float GetWhiteNoiseInt(int x, int y, int z) {
+        if (m_settings != null) {
+            return Current().GetWhiteNoiseInt(x, y, z);
+        }
+
         return ValCoord3D(m_seed, x, y, z);
     }
 
     public float GetWhiteNoiseInt(int x, int y) {
+        if (m_settings != null) {
+            return Current().GetWhiteNoiseInt(x, y);
+        }
+
         return ValCoord2D(m_seed, x, y);
     }
 
     // Value Noise
     public float GetValueFractal(float x, float y, float z) {
+        if (m_settings != null) {
+            return Current().GetValueFractal(x, y, z);
+        }
+
         x *= m_frequency;
         y *= m_frequency;
         z *= m_frequency;
@@ -640,15 +2518,14 @@ public class FastNoise implements INoiseLibrary {
     private float SingleValueFractalFBM(float x, float y, float z) {
         int seed = m_seed;
         float sum = SingleValue(seed, x, y, z);
-        float amp = 1;
+        float[] amps = m_octaveAmps;
 
-        for (int i = 1; i < m_octaves; i++) {
+        for (int i = 1; i < amps.length; i++) {
             x *= m_lacunarity;
             y *= m_lacunarity;
             z *= m_lacunarity;
 
-            amp *= m_gain;
-            sum += SingleValue(++seed, x, y, z) * amp;
+            sum += SingleValue(++seed, x, y, z) * amps[i];
         }
 
         return sum * m_fractalBounding;
@@ -657,15 +2534,14 @@ public class FastNoise implements INoiseLibrary {
     private float SingleValueFractalBillow(float x, float y, float z) {
         int seed = m_seed;
         float sum = Math.abs(SingleValue(seed, x, y, z)) * 2 - 1;
-        float amp = 1;
+        float[] amps = m_octaveAmps;
 
-        for (int i = 1; i < m_octaves; i++) {
+        for (int i = 1; i < amps.length; i++) {
             x *= m_lacunarity;
             y *= m_lacunarity;
             z *= m_lacunarity;
 
-            amp *= m_gain;
-            sum += (Math.abs(SingleValue(++seed, x, y, z)) * 2 - 1) * amp;
+            sum += (Math.abs(SingleValue(++seed, x, y, z)) * 2 - 1) * amps[i];
         }
 
         return sum * m_fractalBounding;
@@ -674,21 +2550,24 @@ public class FastNoise implements INoiseLibrary {
     private float SingleValueFractalRigidMulti(float x, float y, float z) {
         int seed = m_seed;
         float sum = 1 - Math.abs(SingleValue(seed, x, y, z));
-        float amp = 1;
+        float[] amps = m_octaveAmps;
 
-        for (int i = 1; i < m_octaves; i++) {
+        for (int i = 1; i < amps.length; i++) {
             x *= m_lacunarity;
             y *= m_lacunarity;
             z *= m_lacunarity;
 
-            amp *= m_gain;
-            sum -= (1 - Math.abs(SingleValue(++seed, x, y, z))) * amp;
+            sum -= (1 - Math.abs(SingleValue(++seed, x, y, z))) * amps[i];
         }
 
         return sum;
     }
 
     public float GetValue(float x, float y, float z) {
+        if (m_settings != null) {
+            return Current().GetValue(x, y, z);
+        }
+
         return SingleValue(m_seed, x * m_frequency, y * m_frequency, z * m_frequency);
     }
 
@@ -732,6 +2611,10 @@ public class FastNoise implements INoiseLibrary {
     }
 
     public float GetValueFractal(float x, float y) {
+        if (m_settings != null) {
+            return Current().GetValueFractal(x, y);
+        }
+
         x *= m_frequency;
         y *= m_frequency;
 
@@ -750,14 +2633,13 @@ public class FastNoise implements INoiseLibrary {
     private float SingleValueFractalFBM(float x, float y) {
         int seed = m_seed;
         float sum = SingleValue(seed, x, y);
-        float amp = 1;
+        float[] amps = m_octaveAmps;
 
-        for (int i = 1; i < m_octaves; i++) {
+        for (int i = 1; i < amps.length; i++) {
             x *= m_lacunarity;
             y *= m_lacunarity;
 
-            amp *= m_gain;
-            sum += SingleValue(++seed, x, y) * amp;
+            sum += SingleValue(++seed, x, y) * amps[i];
         }
 
         return sum * m_fractalBounding;
@@ -766,13 +2648,12 @@ public class FastNoise implements INoiseLibrary {
     private float SingleValueFractalBillow(float x, float y) {
         int seed = m_seed;
         float sum = Math.abs(SingleValue(seed, x, y)) * 2 - 1;
-        float amp = 1;
+        float[] amps = m_octaveAmps;
 
-        for (int i = 1; i < m_octaves; i++) {
+        for (int i = 1; i < amps.length; i++) {
             x *= m_lacunarity;
             y *= m_lacunarity;
-            amp *= m_gain;
-            sum += (Math.abs(SingleValue(++seed, x, y)) * 2 - 1) * amp;
+            sum += (Math.abs(SingleValue(++seed, x, y)) * 2 - 1) * amps[i];
         }
 
         return sum * m_fractalBounding;
@@ -781,20 +2662,23 @@ public class FastNoise implements INoiseLibrary {
     private float SingleValueFractalRigidMulti(float x, float y) {
         int seed = m_seed;
         float sum = 1 - Math.abs(SingleValue(seed, x, y));
-        float amp = 1;
+        float[] amps = m_octaveAmps;
 
-        for (int i = 1; i < m_octaves; i++) {
+        for (int i = 1; i < amps.length; i++) {
             x *= m_lacunarity;
             y *= m_lacunarity;
 
-            amp *= m_gain;
-            sum -= (1 - Math.abs(SingleValue(++seed, x, y))) * amp;
+            sum -= (1 - Math.abs(SingleValue(++seed, x, y))) * amps[i];
         }
 
         return sum;
     }
 
     public float GetValue(float x, float y) {
+        if (m_settings != null) {
+            return Current().GetValue(x, y);
+        }
+
         return SingleValue(m_seed, x * m_frequency, y * m_frequency);
     }
 
@@ -829,6 +2713,10 @@ public class FastNoise implements INoiseLibrary {
 
     // Gradient Noise
     public float GetPerlinFractal(float x, float y, float z) {
+        if (m_settings != null) {
+            return Current().GetPerlinFractal(x, y, z);
+        }
+
         x *= m_frequency;
         y *= m_frequency;
         z *= m_frequency;
@@ -848,15 +2736,14 @@ public class FastNoise implements INoiseLibrary {
     private float SinglePerlinFractalFBM(float x, float y, float z) {
         int seed = m_seed;
         float sum = SinglePerlin(seed, x, y, z);
-        float amp = 1;
+        float[] amps = m_octaveAmps;
 
-        for (int i = 1; i < m_octaves; i++) {
+        for (int i = 1; i < amps.length; i++) {
             x *= m_lacunarity;
             y *= m_lacunarity;
             z *= m_lacunarity;
 
-            amp *= m_gain;
-            sum += SinglePerlin(++seed, x, y, z) * amp;
+            sum += SinglePerlin(++seed, x, y, z) * amps[i];
         }
 
         return sum * m_fractalBounding;
@@ -865,15 +2752,14 @@ public class FastNoise implements INoiseLibrary {
     private float SinglePerlinFractalBillow(float x, float y, float z) {
         int seed = m_seed;
         float sum = Math.abs(SinglePerlin(seed, x, y, z)) * 2 - 1;
-        float amp = 1;
+        float[] amps = m_octaveAmps;
 
-        for (int i = 1; i < m_octaves; i++) {
+        for (int i = 1; i < amps.length; i++) {
             x *= m_lacunarity;
             y *= m_lacunarity;
             z *= m_lacunarity;
 
-            amp *= m_gain;
-            sum += (Math.abs(SinglePerlin(++seed, x, y, z)) * 2 - 1) * amp;
+            sum += (Math.abs(SinglePerlin(++seed, x, y, z)) * 2 - 1) * amps[i];
         }
 
         return sum * m_fractalBounding;
@@ -882,21 +2768,24 @@ public class FastNoise implements INoiseLibrary {
     private float SinglePerlinFractalRigidMulti(float x, float y, float z) {
         int seed = m_seed;
         float sum = 1 - Math.abs(SinglePerlin(seed, x, y, z));
-        float amp = 1;
+        float[] amps = m_octaveAmps;
 
-        for (int i = 1; i < m_octaves; i++) {
+        for (int i = 1; i < amps.length; i++) {
             x *= m_lacunarity;
             y *= m_lacunarity;
             z *= m_lacunarity;
 
-            amp *= m_gain;
-            sum -= (1 - Math.abs(SinglePerlin(++seed, x, y, z))) * amp;
+            sum -= (1 - Math.abs(SinglePerlin(++seed, x, y, z))) * amps[i];
         }
 
         return sum;
     }
 
     public float GetPerlin(float x, float y, float z) {
+        if (m_settings != null) {
+            return Current().GetPerlin(x, y, z);
+        }
+
         return SinglePerlin(m_seed, x * m_frequency, y * m_frequency, z * m_frequency);
     }
 
@@ -947,6 +2836,10 @@ public class FastNoise implements INoiseLibrary {
     }
 
     public float GetPerlinFractal(float x, float y) {
+        if (m_settings != null) {
+            return Current().GetPerlinFractal(x, y);
+        }
+
         x *= m_frequency;
         y *= m_frequency;
 
@@ -965,14 +2858,13 @@ public class FastNoise implements INoiseLibrary {
     private float SinglePerlinFractalFBM(float x, float y) {
         int seed = m_seed;
         float sum = SinglePerlin(seed, x, y);
-        float amp = 1;
+        float[] amps = m_octaveAmps;
 
-        for (int i = 1; i < m_octaves; i++) {
+        for (int i = 1; i < amps.length; i++) {
             x *= m_lacunarity;
             y *= m_lacunarity;
 
-            amp *= m_gain;
-            sum += SinglePerlin(++seed, x, y) * amp;
+            sum += SinglePerlin(++seed, x, y) * amps[i];
         }
 
         return sum * m_fractalBounding;
@@ -981,14 +2873,13 @@ public class FastNoise implements INoiseLibrary {
     private float SinglePerlinFractalBillow(float x, float y) {
         int seed = m_seed;
         float sum = Math.abs(SinglePerlin(seed, x, y)) * 2 - 1;
-        float amp = 1;
+        float[] amps = m_octaveAmps;
 
-        for (int i = 1; i < m_octaves; i++) {
+        for (int i = 1; i < amps.length; i++) {
             x *= m_lacunarity;
             y *= m_lacunarity;
 
-            amp *= m_gain;
-            sum += (Math.abs(SinglePerlin(++seed, x, y)) * 2 - 1) * amp;
+            sum += (Math.abs(SinglePerlin(++seed, x, y)) * 2 - 1) * amps[i];
         }
 
         return sum * m_fractalBounding;
@@ -997,20 +2888,23 @@ public class FastNoise implements INoiseLibrary {
     private float SinglePerlinFractalRigidMulti(float x, float y) {
         int seed = m_seed;
         float sum = 1 - Math.abs(SinglePerlin(seed, x, y));
-        float amp = 1;
+        float[] amps = m_octaveAmps;
 
-        for (int i = 1; i < m_octaves; i++) {
+        for (int i = 1; i < amps.length; i++) {
             x *= m_lacunarity;
             y *= m_lacunarity;
 
-            amp *= m_gain;
-            sum -= (1 - Math.abs(SinglePerlin(++seed, x, y))) * amp;
+            sum -= (1 - Math.abs(SinglePerlin(++seed, x, y))) * amps[i];
         }
 
         return sum;
     }
 
     public float GetPerlin(float x, float y) {
+        if (m_settings != null) {
+            return Current().GetPerlin(x, y);
+        }
+
         return SinglePerlin(m_seed, x * m_frequency, y * m_frequency);
     }
 
@@ -1050,6 +2944,10 @@ public class FastNoise implements INoiseLibrary {
 
     // Simplex Noise
     public float GetSimplexFractal(float x, float y, float z) {
+        if (m_settings != null) {
+            return Current().GetSimplexFractal(x, y, z);
+        }
+
         x *= m_frequency;
         y *= m_frequency;
         z *= m_frequency;
@@ -1069,15 +2967,14 @@ public class FastNoise implements INoiseLibrary {
     private float SingleSimplexFractalFBM(float x, float y, float z) {
         int seed = m_seed;
         float sum = SingleSimplex(seed, x, y, z);
-        float amp = 1;
+        float[] amps = m_octaveAmps;
 
-        for (int i = 1; i < m_octaves; i++) {
+        for (int i = 1; i < amps.length; i++) {
             x *= m_lacunarity;
             y *= m_lacunarity;
             z *= m_lacunarity;
 
-            amp *= m_gain;
-            sum += SingleSimplex(++seed, x, y, z) * amp;
+            sum += SingleSimplex(++seed, x, y, z) * amps[i];
         }
 
         return sum * m_fractalBounding;
@@ -1086,15 +2983,14 @@ public class FastNoise implements INoiseLibrary {
     private float SingleSimplexFractalBillow(float x, float y, float z) {
         int seed = m_seed;
         float sum = Math.abs(SingleSimplex(seed, x, y, z)) * 2 - 1;
-        float amp = 1;
+        float[] amps = m_octaveAmps;
 
-        for (int i = 1; i < m_octaves; i++) {
+        for (int i = 1; i < amps.length; i++) {
             x *= m_lacunarity;
             y *= m_lacunarity;
             z *= m_lacunarity;
 
-            amp *= m_gain;
-            sum += (Math.abs(SingleSimplex(++seed, x, y, z)) * 2 - 1) * amp;
+            sum += (Math.abs(SingleSimplex(++seed, x, y, z)) * 2 - 1) * amps[i];
         }
 
         return sum * m_fractalBounding;
@@ -1103,21 +2999,24 @@ public class FastNoise implements INoiseLibrary {
     private float SingleSimplexFractalRigidMulti(float x, float y, float z) {
         int seed = m_seed;
         float sum = 1 - Math.abs(SingleSimplex(seed, x, y, z));
-        float amp = 1;
+        float[] amps = m_octaveAmps;
 
-        for (int i = 1; i < m_octaves; i++) {
+        for (int i = 1; i < amps.length; i++) {
             x *= m_lacunarity;
             y *= m_lacunarity;
             z *= m_lacunarity;
 
-            amp *= m_gain;
-            sum -= (1 - Math.abs(SingleSimplex(++seed, x, y, z))) * amp;
+            sum -= (1 - Math.abs(SingleSimplex(++seed, x, y, z))) * amps[i];
         }
 
         return sum;
     }
 
     public float GetSimplex(float x, float y, float z) {
+        if (m_settings != null) {
+            return Current().GetSimplex(x, y, z);
+        }
+
         return SingleSimplex(m_seed, x * m_frequency, y * m_frequency, z * m_frequency);
     }
 
@@ -1230,81 +3129,284 @@ public class FastNoise implements INoiseLibrary {
             n3 = t * t * GradCoord3D(seed, i + 1, j + 1, k + 1, x3, y3, z3);
         }
 
-        return 32 * (n0 + n1 + n2 + n3);
-    }
+        return 32 * (n0 + n1 + n2 + n3);
+    }
+
+    public float GetSimplexFractal(float x, float y) {
+        if (m_settings != null) {
+            return Current().GetSimplexFractal(x, y);
+        }
+
+        x *= m_frequency;
+        y *= m_frequency;
+
+        switch (m_fractalType) {
+            case FBM:
+                return SingleSimplexFractalFBM(x, y);
+            case Billow:
+                return SingleSimplexFractalBillow(x, y);
+            case RigidMulti:
+                return SingleSimplexFractalRigidMulti(x, y);
+            default:
+                return 0;
+        }
+    }
+
+    private float SingleSimplexFractalFBM(float x, float y) {
+        int seed = m_seed;
+        float sum = SingleSimplex(seed, x, y);
+        float[] amps = m_octaveAmps;
+
+        for (int i = 1; i < amps.length; i++) {
+            x *= m_lacunarity;
+            y *= m_lacunarity;
+
+            sum += SingleSimplex(++seed, x, y) * amps[i];
+        }
+
+        return sum * m_fractalBounding;
+    }
+
+    private float SingleSimplexFractalBillow(float x, float y) {
+        int seed = m_seed;
+        float sum = Math.abs(SingleSimplex(seed, x, y)) * 2 - 1;
+        float[] amps = m_octaveAmps;
+
+        for (int i = 1; i < amps.length; i++) {
+            x *= m_lacunarity;
+            y *= m_lacunarity;
+
+            sum += (Math.abs(SingleSimplex(++seed, x, y)) * 2 - 1) * amps[i];
+        }
+
+        return sum * m_fractalBounding;
+    }
+
+    private float SingleSimplexFractalRigidMulti(float x, float y) {
+        int seed = m_seed;
+        float sum = 1 - Math.abs(SingleSimplex(seed, x, y));
+        float[] amps = m_octaveAmps;
+
+        for (int i = 1; i < amps.length; i++) {
+            x *= m_lacunarity;
+            y *= m_lacunarity;
+
+            sum -= (1 - Math.abs(SingleSimplex(++seed, x, y))) * amps[i];
+        }
+
+        return sum;
+    }
+
+    public float GetSimplex(float x, float y) {
+        if (m_settings != null) {
+            return Current().GetSimplex(x, y);
+        }
+
+        return SingleSimplex(m_seed, x * m_frequency, y * m_frequency);
+    }
+
+    private final static float F2 = (float) (1.0 / 2.0);
+    private final static float G2 = (float) (1.0 / 4.0);
+
+    private float SingleSimplex(int seed, float x, float y) {
+        float t = (x + y) * F2;
+        int i = FastFloor(x + t);
+        int j = FastFloor(y + t);
+
+        t = (i + j) * G2;
+        float X0 = i - t;
+        float Y0 = j - t;
+
+        float x0 = x - X0;
+        float y0 = y - Y0;
+
+        int i1, j1;
+        if (x0 > y0) {
+            i1 = 1;
+            j1 = 0;
+        } else {
+            i1 = 0;
+            j1 = 1;
+        }
+
+        float x1 = x0 - i1 + G2;
+        float y1 = y0 - j1 + G2;
+        float x2 = x0 - 1 + F2;
+        float y2 = y0 - 1 + F2;
+
+        float n0, n1, n2;
+
+        t = (float) 0.5 - x0 * x0 - y0 * y0;
+        if (t < 0) n0 = 0;
+        else {
+            t *= t;
+            n0 = t * t * GradCoord2D(seed, i, j, x0, y0);
+        }
+
+        t = (float) 0.5 - x1 * x1 - y1 * y1;
+        if (t < 0) n1 = 0;
+        else {
+            t *= t;
+            n1 = t * t * GradCoord2D(seed, i + i1, j + j1, x1, y1);
+        }
+
+        t = (float) 0.5 - x2 * x2 - y2 * y2;
+        if (t < 0) n2 = 0;
+        else {
+            t *= t;
+            n2 = t * t * GradCoord2D(seed, i + 1, j + 1, x2, y2);
+        }
+
+        return 50 * (n0 + n1 + n2);
+    }
+
+    // Branch-free variants of the simplex kernels, used by the batch GetNoise(...) overloads
+    // The simplex traversal order is derived from comparison results rather than nested branches,
+    // and every corner's contribution is computed with its falloff clamped to 0.
+    private float SingleSimplexBranchlessFractalFBM(float x, float y, float z) {
+        int seed = m_seed;
+        float sum = SingleSimplexBranchless(seed, x, y, z);
+        float[] amps = m_octaveAmps;
+
+        for (int i = 1; i < amps.length; i++) {
+            x *= m_lacunarity;
+            y *= m_lacunarity;
+            z *= m_lacunarity;
+
+            sum += SingleSimplexBranchless(++seed, x, y, z) * amps[i];
+        }
+
+        return sum * m_fractalBounding;
+    }
+
+    private float SingleSimplexBranchlessFractalBillow(float x, float y, float z) {
+        int seed = m_seed;
+        float sum = Math.abs(SingleSimplexBranchless(seed, x, y, z)) * 2 - 1;
+        float[] amps = m_octaveAmps;
+
+        for (int i = 1; i < amps.length; i++) {
+            x *= m_lacunarity;
+            y *= m_lacunarity;
+            z *= m_lacunarity;
+
+            sum += (Math.abs(SingleSimplexBranchless(++seed, x, y, z)) * 2 - 1) * amps[i];
+        }
+
+        return sum * m_fractalBounding;
+    }
+
+    private float SingleSimplexBranchlessFractalRigidMulti(float x, float y, float z) {
+        int seed = m_seed;
+        float sum = 1 - Math.abs(SingleSimplexBranchless(seed, x, y, z));
+        float[] amps = m_octaveAmps;
+
+        for (int i = 1; i < amps.length; i++) {
+            x *= m_lacunarity;
+            y *= m_lacunarity;
+            z *= m_lacunarity;
+
+            sum -= (1 - Math.abs(SingleSimplexBranchless(++seed, x, y, z))) * amps[i];
+        }
+
+        return sum;
+    }
+
+    private float SingleSimplexBranchless(int seed, float x, float y, float z) {
+        float t = (x + y + z) * F3;
+        int i = FastFloor(x + t);
+        int j = FastFloor(y + t);
+        int k = FastFloor(z + t);
+
+        t = (i + j + k) * G3;
+        float x0 = x - (i - t);
+        float y0 = y - (j - t);
+        float z0 = z - (k - t);
+
+        // Same comparisons as SingleSimplex(...), combined into the corner offsets directly
+        int xy = x0 >= y0 ? 1 : 0;
+        int yz = y0 >= z0 ? 1 : 0;
+        int xz = x0 >= z0 ? 1 : 0;
+
+        int i1 = xy & xz;
+        int j1 = (xy ^ 1) & yz;
+        int k1 = (xz ^ 1) & (yz ^ 1);
+        int i2 = xy | xz;
+        int j2 = (xy ^ 1) | yz;
+        int k2 = (xz & yz) ^ 1;
+
+        float x1 = x0 - i1 + G3;
+        float y1 = y0 - j1 + G3;
+        float z1 = z0 - k1 + G3;
+        float x2 = x0 - i2 + F3;
+        float y2 = y0 - j2 + F3;
+        float z2 = z0 - k2 + F3;
+        float x3 = x0 + G33;
+        float y3 = y0 + G33;
+        float z3 = z0 + G33;
+
+        float t0 = Math.max(0, (float) 0.6 - x0 * x0 - y0 * y0 - z0 * z0);
+        float t1 = Math.max(0, (float) 0.6 - x1 * x1 - y1 * y1 - z1 * z1);
+        float t2 = Math.max(0, (float) 0.6 - x2 * x2 - y2 * y2 - z2 * z2);
+        float t3 = Math.max(0, (float) 0.6 - x3 * x3 - y3 * y3 - z3 * z3);
+        t0 *= t0;
+        t1 *= t1;
+        t2 *= t2;
+        t3 *= t3;
 
-    public float GetSimplexFractal(float x, float y) {
-        x *= m_frequency;
-        y *= m_frequency;
+        float n0 = t0 * t0 * GradCoord3D(seed, i, j, k, x0, y0, z0);
+        float n1 = t1 * t1 * GradCoord3D(seed, i + i1, j + j1, k + k1, x1, y1, z1);
+        float n2 = t2 * t2 * GradCoord3D(seed, i + i2, j + j2, k + k2, x2, y2, z2);
+        float n3 = t3 * t3 * GradCoord3D(seed, i + 1, j + 1, k + 1, x3, y3, z3);
 
-        switch (m_fractalType) {
-            case FBM:
-                return SingleSimplexFractalFBM(x, y);
-            case Billow:
-                return SingleSimplexFractalBillow(x, y);
-            case RigidMulti:
-                return SingleSimplexFractalRigidMulti(x, y);
-            default:
-                return 0;
-        }
+        return 32 * (n0 + n1 + n2 + n3);
     }
 
-    private float SingleSimplexFractalFBM(float x, float y) {
+    private float SingleSimplexBranchlessFractalFBM(float x, float y) {
         int seed = m_seed;
-        float sum = SingleSimplex(seed, x, y);
-        float amp = 1;
+        float sum = SingleSimplexBranchless(seed, x, y);
+        float[] amps = m_octaveAmps;
 
-        for (int i = 1; i < m_octaves; i++) {
+        for (int i = 1; i < amps.length; i++) {
             x *= m_lacunarity;
             y *= m_lacunarity;
 
-            amp *= m_gain;
-            sum += SingleSimplex(++seed, x, y) * amp;
+            sum += SingleSimplexBranchless(++seed, x, y) * amps[i];
         }
 
         return sum * m_fractalBounding;
     }
 
-    private float SingleSimplexFractalBillow(float x, float y) {
+    private float SingleSimplexBranchlessFractalBillow(float x, float y) {
         int seed = m_seed;
-        float sum = Math.abs(SingleSimplex(seed, x, y)) * 2 - 1;
-        float amp = 1;
+        float sum = Math.abs(SingleSimplexBranchless(seed, x, y)) * 2 - 1;
+        float[] amps = m_octaveAmps;
 
-        for (int i = 1; i < m_octaves; i++) {
+        for (int i = 1; i < amps.length; i++) {
             x *= m_lacunarity;
             y *= m_lacunarity;
 
-            amp *= m_gain;
-            sum += (Math.abs(SingleSimplex(++seed, x, y)) * 2 - 1) * amp;
+            sum += (Math.abs(SingleSimplexBranchless(++seed, x, y)) * 2 - 1) * amps[i];
         }
 
         return sum * m_fractalBounding;
     }
 
-    private float SingleSimplexFractalRigidMulti(float x, float y) {
+    private float SingleSimplexBranchlessFractalRigidMulti(float x, float y) {
         int seed = m_seed;
-        float sum = 1 - Math.abs(SingleSimplex(seed, x, y));
-        float amp = 1;
+        float sum = 1 - Math.abs(SingleSimplexBranchless(seed, x, y));
+        float[] amps = m_octaveAmps;
 
-        for (int i = 1; i < m_octaves; i++) {
+        for (int i = 1; i < amps.length; i++) {
             x *= m_lacunarity;
             y *= m_lacunarity;
 
-            amp *= m_gain;
-            sum -= (1 - Math.abs(SingleSimplex(++seed, x, y))) * amp;
+            sum -= (1 - Math.abs(SingleSimplexBranchless(++seed, x, y))) * amps[i];
         }
 
         return sum;
     }
 
-    public float GetSimplex(float x, float y) {
-        return SingleSimplex(m_seed, x * m_frequency, y * m_frequency);
-    }
-
-    private final static float F2 = (float) (1.0 / 2.0);
-    private final static float G2 = (float) (1.0 / 4.0);
-
-    private float SingleSimplex(int seed, float x, float y) {
+    private float SingleSimplexBranchless(int seed, float x, float y) {
         float t = (x + y) * F2;
         int i = FastFloor(x + t);
         int j = FastFloor(y + t);
@@ -1316,47 +3418,33 @@ public class FastNoise implements INoiseLibrary {
         float x0 = x - X0;
         float y0 = y - Y0;
 
-        int i1, j1;
-        if (x0 > y0) {
-            i1 = 1;
-            j1 = 0;
-        } else {
-            i1 = 0;
-            j1 = 1;
-        }
+        int i1 = x0 > y0 ? 1 : 0;
+        int j1 = i1 ^ 1;
 
         float x1 = x0 - i1 + G2;
         float y1 = y0 - j1 + G2;
         float x2 = x0 - 1 + F2;
         float y2 = y0 - 1 + F2;
 
-        float n0, n1, n2;
-
-        t = (float) 0.5 - x0 * x0 - y0 * y0;
-        if (t < 0) n0 = 0;
-        else {
-            t *= t;
-            n0 = t * t * GradCoord2D(seed, i, j, x0, y0);
-        }
-
-        t = (float) 0.5 - x1 * x1 - y1 * y1;
-        if (t < 0) n1 = 0;
-        else {
-            t *= t;
-            n1 = t * t * GradCoord2D(seed, i + i1, j + j1, x1, y1);
-        }
+        float t0 = Math.max(0, (float) 0.5 - x0 * x0 - y0 * y0);
+        float t1 = Math.max(0, (float) 0.5 - x1 * x1 - y1 * y1);
+        float t2 = Math.max(0, (float) 0.5 - x2 * x2 - y2 * y2);
+        t0 *= t0;
+        t1 *= t1;
+        t2 *= t2;
 
-        t = (float) 0.5 - x2 * x2 - y2 * y2;
-        if (t < 0) n2 = 0;
-        else {
-            t *= t;
-            n2 = t * t * GradCoord2D(seed, i + 1, j + 1, x2, y2);
-        }
+        float n0 = t0 * t0 * GradCoord2D(seed, i, j, x0, y0);
+        float n1 = t1 * t1 * GradCoord2D(seed, i + i1, j + j1, x1, y1);
+        float n2 = t2 * t2 * GradCoord2D(seed, i + 1, j + 1, x2, y2);
 
         return 50 * (n0 + n1 + n2);
     }
 
     public float GetSimplex(float x, float y, float z, float w) {
+        if (m_settings != null) {
+            return Current().GetSimplex(x, y, z, w);
+        }
+
         return SingleSimplex(m_seed, x * m_frequency, y * m_frequency, z * m_frequency, w * m_frequency);
     }
 
@@ -1466,6 +3554,10 @@ public class FastNoise implements INoiseLibrary {
 
     // Cubic Noise
     public float GetCubicFractal(float x, float y, float z) {
+        if (m_settings != null) {
+            return Current().GetCubicFractal(x, y, z);
+        }
+
         x *= m_frequency;
         y *= m_frequency;
         z *= m_frequency;
@@ -1485,16 +3577,15 @@ public class FastNoise implements INoiseLibrary {
     private float SingleCubicFractalFBM(float x, float y, float z) {
         int seed = m_seed;
         float sum = SingleCubic(seed, x, y, z);
-        float amp = 1;
+        float[] amps = m_octaveAmps;
         int i = 0;
 
-        while (++i < m_octaves) {
+        while (++i < amps.length) {
             x *= m_lacunarity;
             y *= m_lacunarity;
             z *= m_lacunarity;
 
-            amp *= m_gain;
-            sum += SingleCubic(++seed, x, y, z) * amp;
+            sum += SingleCubic(++seed, x, y, z) * amps[i];
         }
 
         return sum * m_fractalBounding;
@@ -1503,16 +3594,15 @@ public class FastNoise implements INoiseLibrary {
     private float SingleCubicFractalBillow(float x, float y, float z) {
         int seed = m_seed;
         float sum = Math.abs(SingleCubic(seed, x, y, z)) * 2 - 1;
-        float amp = 1;
+        float[] amps = m_octaveAmps;
         int i = 0;
 
-        while (++i < m_octaves) {
+        while (++i < amps.length) {
             x *= m_lacunarity;
             y *= m_lacunarity;
             z *= m_lacunarity;
 
-            amp *= m_gain;
-            sum += (Math.abs(SingleCubic(++seed, x, y, z)) * 2 - 1) * amp;
+            sum += (Math.abs(SingleCubic(++seed, x, y, z)) * 2 - 1) * amps[i];
         }
 
         return sum * m_fractalBounding;
@@ -1521,22 +3611,25 @@ public class FastNoise implements INoiseLibrary {
     private float SingleCubicFractalRigidMulti(float x, float y, float z) {
         int seed = m_seed;
         float sum = 1 - Math.abs(SingleCubic(seed, x, y, z));
-        float amp = 1;
+        float[] amps = m_octaveAmps;
         int i = 0;
 
-        while (++i < m_octaves) {
+        while (++i < amps.length) {
             x *= m_lacunarity;
             y *= m_lacunarity;
             z *= m_lacunarity;
 
-            amp *= m_gain;
-            sum -= (1 - Math.abs(SingleCubic(++seed, x, y, z))) * amp;
+            sum -= (1 - Math.abs(SingleCubic(++seed, x, y, z))) * amps[i];
         }
 
         return sum;
     }
 
     public float GetCubic(float x, float y, float z) {
+        if (m_settings != null) {
+            return Current().GetCubic(x, y, z);
+        }
+
         return SingleCubic(m_seed, x * m_frequency, y * m_frequency, z * m_frequency);
     }
 
@@ -1591,6 +3684,10 @@ public class FastNoise implements INoiseLibrary {
 
 
     public float GetCubicFractal(float x, float y) {
+        if (m_settings != null) {
+            return Current().GetCubicFractal(x, y);
+        }
+
         x *= m_frequency;
         y *= m_frequency;
 
@@ -1609,15 +3706,14 @@ public class FastNoise implements INoiseLibrary {
     private float SingleCubicFractalFBM(float x, float y) {
         int seed = m_seed;
         float sum = SingleCubic(seed, x, y);
-        float amp = 1;
+        float[] amps = m_octaveAmps;
         int i = 0;
 
-        while (++i < m_octaves) {
+        while (++i < amps.length) {
             x *= m_lacunarity;
             y *= m_lacunarity;
 
-            amp *= m_gain;
-            sum += SingleCubic(++seed, x, y) * amp;
+            sum += SingleCubic(++seed, x, y) * amps[i];
         }
 
         return sum * m_fractalBounding;
@@ -1626,15 +3722,14 @@ public class FastNoise implements INoiseLibrary {
     private float SingleCubicFractalBillow(float x, float y) {
         int seed = m_seed;
         float sum = Math.abs(SingleCubic(seed, x, y)) * 2 - 1;
-        float amp = 1;
+        float[] amps = m_octaveAmps;
         int i = 0;
 
-        while (++i < m_octaves) {
+        while (++i < amps.length) {
             x *= m_lacunarity;
             y *= m_lacunarity;
 
-            amp *= m_gain;
-            sum += (Math.abs(SingleCubic(++seed, x, y)) * 2 - 1) * amp;
+            sum += (Math.abs(SingleCubic(++seed, x, y)) * 2 - 1) * amps[i];
         }
 
         return sum * m_fractalBounding;
@@ -1643,21 +3738,24 @@ public class FastNoise implements INoiseLibrary {
     private float SingleCubicFractalRigidMulti(float x, float y) {
         int seed = m_seed;
         float sum = 1 - Math.abs(SingleCubic(seed, x, y));
-        float amp = 1;
+        float[] amps = m_octaveAmps;
         int i = 0;
 
-        while (++i < m_octaves) {
+        while (++i < amps.length) {
             x *= m_lacunarity;
             y *= m_lacunarity;
 
-            amp *= m_gain;
-            sum -= (1 - Math.abs(SingleCubic(++seed, x, y))) * amp;
+            sum -= (1 - Math.abs(SingleCubic(++seed, x, y))) * amps[i];
         }
 
         return sum;
     }
 
     public float GetCubic(float x, float y) {
+        if (m_settings != null) {
+            return Current().GetCubic(x, y);
+        }
+
         x *= m_frequency;
         y *= m_frequency;
 
@@ -1694,6 +3792,10 @@ public class FastNoise implements INoiseLibrary {
 
     // Cellular Noise
     public float GetCellular(float x, float y, float z) {
+        if (m_settings != null) {
+            return Current().GetCellular(x, y, z);
+        }
+
         x *= m_frequency;
         y *= m_frequency;
         z *= m_frequency;
@@ -1721,11 +3823,11 @@ public class FastNoise implements INoiseLibrary {
                 for (int xi = xr - 1; xi <= xr + 1; xi++) {
                     for (int yi = yr - 1; yi <= yr + 1; yi++) {
                         for (int zi = zr - 1; zi <= zr + 1; zi++) {
-                            Float3 vec = CELL_3D[Hash3D(m_seed, xi, yi, zi) & 255];
+                            int vec = (Hash3D(m_seed, xi, yi, zi) & 255) << 2;
 
-                            float vecX = xi - x + vec.x;
-                            float vecY = yi - y + vec.y;
-                            float vecZ = zi - z + vec.z;
+                            float vecX = xi - x + CELL_3D[vec];
+                            float vecY = yi - y + CELL_3D[vec | 1];
+                            float vecZ = zi - z + CELL_3D[vec | 2];
 
                             float newDistance = vecX * vecX + vecY * vecY + vecZ * vecZ;
 
@@ -1743,11 +3845,11 @@ public class FastNoise implements INoiseLibrary {
                 for (int xi = xr - 1; xi <= xr + 1; xi++) {
                     for (int yi = yr - 1; yi <= yr + 1; yi++) {
                         for (int zi = zr - 1; zi <= zr + 1; zi++) {
-                            Float3 vec = CELL_3D[Hash3D(m_seed, xi, yi, zi) & 255];
+                            int vec = (Hash3D(m_seed, xi, yi, zi) & 255) << 2;
 
-                            float vecX = xi - x + vec.x;
-                            float vecY = yi - y + vec.y;
-                            float vecZ = zi - z + vec.z;
+                            float vecX = xi - x + CELL_3D[vec];
+                            float vecY = yi - y + CELL_3D[vec | 1];
+                            float vecZ = zi - z + CELL_3D[vec | 2];
 
                             float newDistance = Math.abs(vecX) + Math.abs(vecY) + Math.abs(vecZ);
 
@@ -1765,11 +3867,11 @@ public class FastNoise implements INoiseLibrary {
                 for (int xi = xr - 1; xi <= xr + 1; xi++) {
                     for (int yi = yr - 1; yi <= yr + 1; yi++) {
                         for (int zi = zr - 1; zi <= zr + 1; zi++) {
-                            Float3 vec = CELL_3D[Hash3D(m_seed, xi, yi, zi) & 255];
+                            int vec = (Hash3D(m_seed, xi, yi, zi) & 255) << 2;
 
-                            float vecX = xi - x + vec.x;
-                            float vecY = yi - y + vec.y;
-                            float vecZ = zi - z + vec.z;
+                            float vecX = xi - x + CELL_3D[vec];
+                            float vecY = yi - y + CELL_3D[vec | 1];
+                            float vecZ = zi - z + CELL_3D[vec | 2];
 
                             float newDistance = (Math.abs(vecX) + Math.abs(vecY) + Math.abs(vecZ)) + (vecX * vecX + vecY * vecY + vecZ * vecZ);
 
@@ -1790,8 +3892,8 @@ public class FastNoise implements INoiseLibrary {
                 return ValCoord3D(0, xc, yc, zc);
 
             case NoiseLookup:
-                Float3 vec = CELL_3D[Hash3D(m_seed, xc, yc, zc) & 255];
-                return m_cellularNoiseLookup.GetNoise(xc + vec.x, yc + vec.y, zc + vec.z);
+                int vec = (Hash3D(m_seed, xc, yc, zc) & 255) << 2;
+                return m_cellularNoiseLookup.GetNoise(xc + CELL_3D[vec], yc + CELL_3D[vec | 1], zc + CELL_3D[vec | 2]);
 
             case Distance:
                 return distance - 1;
@@ -1813,11 +3915,11 @@ public class FastNoise implements INoiseLibrary {
                 for (int xi = xr - 1; xi <= xr + 1; xi++) {
                     for (int yi = yr - 1; yi <= yr + 1; yi++) {
                         for (int zi = zr - 1; zi <= zr + 1; zi++) {
-                            Float3 vec = CELL_3D[Hash3D(m_seed, xi, yi, zi) & 255];
+                            int vec = (Hash3D(m_seed, xi, yi, zi) & 255) << 2;
 
-                            float vecX = xi - x + vec.x;
-                            float vecY = yi - y + vec.y;
-                            float vecZ = zi - z + vec.z;
+                            float vecX = xi - x + CELL_3D[vec];
+                            float vecY = yi - y + CELL_3D[vec | 1];
+                            float vecZ = zi - z + CELL_3D[vec | 2];
 
                             float newDistance = vecX * vecX + vecY * vecY + vecZ * vecZ;
 
@@ -1831,11 +3933,11 @@ public class FastNoise implements INoiseLibrary {
                 for (int xi = xr - 1; xi <= xr + 1; xi++) {
                     for (int yi = yr - 1; yi <= yr + 1; yi++) {
                         for (int zi = zr - 1; zi <= zr + 1; zi++) {
-                            Float3 vec = CELL_3D[Hash3D(m_seed, xi, yi, zi) & 255];
+                            int vec = (Hash3D(m_seed, xi, yi, zi) & 255) << 2;
 
-                            float vecX = xi - x + vec.x;
-                            float vecY = yi - y + vec.y;
-                            float vecZ = zi - z + vec.z;
+                            float vecX = xi - x + CELL_3D[vec];
+                            float vecY = yi - y + CELL_3D[vec | 1];
+                            float vecZ = zi - z + CELL_3D[vec | 2];
 
                             float newDistance = Math.abs(vecX) + Math.abs(vecY) + Math.abs(vecZ);
 
@@ -1849,11 +3951,11 @@ public class FastNoise implements INoiseLibrary {
                 for (int xi = xr - 1; xi <= xr + 1; xi++) {
                     for (int yi = yr - 1; yi <= yr + 1; yi++) {
                         for (int zi = zr - 1; zi <= zr + 1; zi++) {
-                            Float3 vec = CELL_3D[Hash3D(m_seed, xi, yi, zi) & 255];
+                            int vec = (Hash3D(m_seed, xi, yi, zi) & 255) << 2;
 
-                            float vecX = xi - x + vec.x;
-                            float vecY = yi - y + vec.y;
-                            float vecZ = zi - z + vec.z;
+                            float vecX = xi - x + CELL_3D[vec];
+                            float vecY = yi - y + CELL_3D[vec | 1];
+                            float vecZ = zi - z + CELL_3D[vec | 2];
 
                             float newDistance = (Math.abs(vecX) + Math.abs(vecY) + Math.abs(vecZ)) + (vecX * vecX + vecY * vecY + vecZ * vecZ);
 
@@ -1884,6 +3986,10 @@ public class FastNoise implements INoiseLibrary {
     }
 
     public float GetCellular(float x, float y) {
+        if (m_settings != null) {
+            return Current().GetCellular(x, y);
+        }
+
         x *= m_frequency;
         y *= m_frequency;
 
@@ -1909,10 +4015,10 @@ public class FastNoise implements INoiseLibrary {
             case Euclidean:
                 for (int xi = xr - 1; xi <= xr + 1; xi++) {
                     for (int yi = yr - 1; yi <= yr + 1; yi++) {
-                        Float2 vec = CELL_2D[Hash2D(m_seed, xi, yi) & 255];
+                        int vec = (Hash2D(m_seed, xi, yi) & 255) << 1;
 
-                        float vecX = xi - x + vec.x;
-                        float vecY = yi - y + vec.y;
+                        float vecX = xi - x + CELL_2D[vec];
+                        float vecY = yi - y + CELL_2D[vec | 1];
 
                         float newDistance = vecX * vecX + vecY * vecY;
 
@@ -1927,10 +4033,10 @@ public class FastNoise implements INoiseLibrary {
             case Manhattan:
                 for (int xi = xr - 1; xi <= xr + 1; xi++) {
                     for (int yi = yr - 1; yi <= yr + 1; yi++) {
-                        Float2 vec = CELL_2D[Hash2D(m_seed, xi, yi) & 255];
+                        int vec = (Hash2D(m_seed, xi, yi) & 255) << 1;
 
-                        float vecX = xi - x + vec.x;
-                        float vecY = yi - y + vec.y;
+                        float vecX = xi - x + CELL_2D[vec];
+                        float vecY = yi - y + CELL_2D[vec | 1];
 
                         float newDistance = (Math.abs(vecX) + Math.abs(vecY));
 
@@ -1945,10 +4051,10 @@ public class FastNoise implements INoiseLibrary {
             case Natural:
                 for (int xi = xr - 1; xi <= xr + 1; xi++) {
                     for (int yi = yr - 1; yi <= yr + 1; yi++) {
-                        Float2 vec = CELL_2D[Hash2D(m_seed, xi, yi) & 255];
+                        int vec = (Hash2D(m_seed, xi, yi) & 255) << 1;
 
-                        float vecX = xi - x + vec.x;
-                        float vecY = yi - y + vec.y;
+                        float vecX = xi - x + CELL_2D[vec];
+                        float vecY = yi - y + CELL_2D[vec | 1];
 
                         float newDistance = (Math.abs(vecX) + Math.abs(vecY)) + (vecX * vecX + vecY * vecY);
 
@@ -1967,8 +4073,8 @@ public class FastNoise implements INoiseLibrary {
                 return ValCoord2D(0, xc, yc);
 
             case NoiseLookup:
-                Float2 vec = CELL_2D[Hash2D(m_seed, xc, yc) & 255];
-                return m_cellularNoiseLookup.GetNoise(xc + vec.x, yc + vec.y);
+                int vec = (Hash2D(m_seed, xc, yc) & 255) << 1;
+                return m_cellularNoiseLookup.GetNoise(xc + CELL_2D[vec], yc + CELL_2D[vec | 1]);
 
             case Distance:
                 return distance - 1;
@@ -1989,10 +4095,10 @@ public class FastNoise implements INoiseLibrary {
             case Euclidean:
                 for (int xi = xr - 1; xi <= xr + 1; xi++) {
                     for (int yi = yr - 1; yi <= yr + 1; yi++) {
-                        Float2 vec = CELL_2D[Hash2D(m_seed, xi, yi) & 255];
+                        int vec = (Hash2D(m_seed, xi, yi) & 255) << 1;
 
-                        float vecX = xi - x + vec.x;
-                        float vecY = yi - y + vec.y;
+                        float vecX = xi - x + CELL_2D[vec];
+                        float vecY = yi - y + CELL_2D[vec | 1];
 
                         float newDistance = vecX * vecX + vecY * vecY;
 
@@ -2004,10 +4110,10 @@ public class FastNoise implements INoiseLibrary {
             case Manhattan:
                 for (int xi = xr - 1; xi <= xr + 1; xi++) {
                     for (int yi = yr - 1; yi <= yr + 1; yi++) {
-                        Float2 vec = CELL_2D[Hash2D(m_seed, xi, yi) & 255];
+                        int vec = (Hash2D(m_seed, xi, yi) & 255) << 1;
 
-                        float vecX = xi - x + vec.x;
-                        float vecY = yi - y + vec.y;
+                        float vecX = xi - x + CELL_2D[vec];
+                        float vecY = yi - y + CELL_2D[vec | 1];
 
                         float newDistance = Math.abs(vecX) + Math.abs(vecY);
 
@@ -2019,10 +4125,10 @@ public class FastNoise implements INoiseLibrary {
             case Natural:
                 for (int xi = xr - 1; xi <= xr + 1; xi++) {
                     for (int yi = yr - 1; yi <= yr + 1; yi++) {
-                        Float2 vec = CELL_2D[Hash2D(m_seed, xi, yi) & 255];
+                        int vec = (Hash2D(m_seed, xi, yi) & 255) << 1;
 
-                        float vecX = xi - x + vec.x;
-                        float vecY = yi - y + vec.y;
+                        float vecX = xi - x + CELL_2D[vec];
+                        float vecY = yi - y + CELL_2D[vec | 1];
 
                         float newDistance = (Math.abs(vecX) + Math.abs(vecY)) + (vecX * vecX + vecY * vecY);
 
@@ -2049,11 +4155,244 @@ public class FastNoise implements INoiseLibrary {
         }
     }
 
+    // Multi-output Cellular Noise
+    // A single neighbourhood scan yields every cellular output at once, so callers needing e.g. both the cell value
+    // and the F2 - F1 edge distance don't pay for the scan once per CellularReturnType.
+    // The result is written into a caller-owned CellularResult, which can be reused between calls.
+    public static final class CellularResult {
+        // Closest (F1) and second closest (F2) distances, in the units of the current CellularDistanceFunction
+        // (squared for Euclidean). These are the raw values the Distance* return types are derived from.
+        public float distance;
+        public float distance2;
+
+        // Value of the closest cell, as returned by CellularReturnType.CellValue
+        public float cellValue;
+
+        // Value of the cellular noise lookup at the closest feature point,
+        // or 0 if no noise lookup has been set with SetCellularNoiseLookup()
+        public float noiseLookup;
+
+        // Lattice coordinates of the closest cell. cellZ is 0 for 2D noise.
+        public int cellX, cellY, cellZ;
+
+        // Position of the closest feature point, in frequency-scaled noise space. featureZ is 0 for 2D noise.
+        public float featureX, featureY, featureZ;
+
+        // Returns the value GetCellular(...) would return for the given return type
+        public float Get(CellularReturnType returnType) {
+            switch (returnType) {
+                case CellValue:
+                    return cellValue;
+                case NoiseLookup:
+                    return noiseLookup;
+                case Distance:
+                    return distance - 1;
+                case Distance2:
+                    return distance2 - 1;
+                case Distance2Add:
+                    return distance2 + distance - 1;
+                case Distance2Sub:
+                    return distance2 - distance - 1;
+                case Distance2Mul:
+                    return distance2 * distance - 1;
+                case Distance2Div:
+                    return distance / distance2 - 1;
+                default:
+                    return 0;
+            }
+        }
+
+        // Returns the F2 - F1 edge distance
+        public float GetEdgeDistance() {
+            return distance2 - distance;
+        }
+    }
+
+    public void GetCellular(float x, float y, float z, CellularResult result) {
+        if (m_settings != null) {
+            Current().GetCellular(x, y, z, result);
+            return;
+        }
+
+        SingleCellularAll(x * m_frequency, y * m_frequency, z * m_frequency, result);
+        result.noiseLookup = m_cellularNoiseLookup == null ? 0
+            : m_cellularNoiseLookup.GetNoise(result.featureX, result.featureY, result.featureZ);
+    }
+
+    public void GetCellular(float x, float y, CellularResult result) {
+        if (m_settings != null) {
+            Current().GetCellular(x, y, result);
+            return;
+        }
+
+        SingleCellularAll(x * m_frequency, y * m_frequency, result);
+        result.noiseLookup = m_cellularNoiseLookup == null ? 0
+            : m_cellularNoiseLookup.GetNoise(result.featureX, result.featureY);
+    }
+
+    // Fills a grid of cellular outputs in the same layout as FillNoise3D(...): out[(y * depth + z) * width + x]
+    // Any of the output arrays may be null if that output isn't needed. The neighbourhood is only scanned once per point,
+    // and the cellular noise lookup isn't evaluated.
+    public void FillCellular3D(float[] distance, float[] distance2, float[] cellValue,
+                               float x0, float y0, float z0, int width, int height, int depth, float step) {
+        if (m_settings != null) {
+            Current().FillCellular3D(distance, distance2, cellValue, x0, y0, z0, width, height, depth, step);
+            return;
+        }
+
+        CellularResult result = new CellularResult();
+        int index = 0;
+        for (int y = 0; y < height; y++) {
+            float yf = (y0 + y * step) * m_frequency;
+            for (int z = 0; z < depth; z++) {
+                float zf = (z0 + z * step) * m_frequency;
+                for (int x = 0; x < width; x++, index++) {
+                    SingleCellularAll((x0 + x * step) * m_frequency, yf, zf, result);
+                    if (distance != null) distance[index] = result.distance;
+                    if (distance2 != null) distance2[index] = result.distance2;
+                    if (cellValue != null) cellValue[index] = result.cellValue;
+                }
+            }
+        }
+    }
+
+    // Fills a grid of cellular outputs in the same layout as FillNoise2D(...): out[z * width + x]
+    // Any of the output arrays may be null if that output isn't needed. The neighbourhood is only scanned once per point,
+    // and the cellular noise lookup isn't evaluated.
+    public void FillCellular2D(float[] distance, float[] distance2, float[] cellValue,
+                               float x0, float z0, int width, int depth, float step) {
+        if (m_settings != null) {
+            Current().FillCellular2D(distance, distance2, cellValue, x0, z0, width, depth, step);
+            return;
+        }
+
+        CellularResult result = new CellularResult();
+        int index = 0;
+        for (int z = 0; z < depth; z++) {
+            float zf = (z0 + z * step) * m_frequency;
+            for (int x = 0; x < width; x++, index++) {
+                SingleCellularAll((x0 + x * step) * m_frequency, zf, result);
+                if (distance != null) distance[index] = result.distance;
+                if (distance2 != null) distance2[index] = result.distance2;
+                if (cellValue != null) cellValue[index] = result.cellValue;
+            }
+        }
+    }
+
+    private float CellularDistance(float vecX, float vecY, float vecZ) {
+        switch (m_cellularDistanceFunction) {
+            default:
+            case Euclidean:
+                return vecX * vecX + vecY * vecY + vecZ * vecZ;
+            case Manhattan:
+                return Math.abs(vecX) + Math.abs(vecY) + Math.abs(vecZ);
+            case Natural:
+                return (Math.abs(vecX) + Math.abs(vecY) + Math.abs(vecZ)) + (vecX * vecX + vecY * vecY + vecZ * vecZ);
+        }
+    }
+
+    private float CellularDistance(float vecX, float vecY) {
+        switch (m_cellularDistanceFunction) {
+            default:
+            case Euclidean:
+                return vecX * vecX + vecY * vecY;
+            case Manhattan:
+                return Math.abs(vecX) + Math.abs(vecY);
+            case Natural:
+                return (Math.abs(vecX) + Math.abs(vecY)) + (vecX * vecX + vecY * vecY);
+        }
+    }
+
+    // Tracks F1 the same way as SingleCellular and F2 the same way as SingleCellular2Edge, in one scan
+    private void SingleCellularAll(float x, float y, float z, CellularResult result) {
+        int xr = FastRound(x);
+        int yr = FastRound(y);
+        int zr = FastRound(z);
+
+        float distance = 999999;
+        float distance2 = 999999;
+        int xc = 0, yc = 0, zc = 0;
+
+        for (int xi = xr - 1; xi <= xr + 1; xi++) {
+            for (int yi = yr - 1; yi <= yr + 1; yi++) {
+                for (int zi = zr - 1; zi <= zr + 1; zi++) {
+                    int vec = (Hash3D(m_seed, xi, yi, zi) & 255) << 2;
+
+                    float newDistance = CellularDistance(xi - x + CELL_3D[vec], yi - y + CELL_3D[vec | 1], zi - z + CELL_3D[vec | 2]);
+
+                    distance2 = Math.max(Math.min(distance2, newDistance), distance);
+                    if (newDistance < distance) {
+                        distance = newDistance;
+                        xc = xi;
+                        yc = yi;
+                        zc = zi;
+                    }
+                }
+            }
+        }
+
+        int vec = (Hash3D(m_seed, xc, yc, zc) & 255) << 2;
+        result.distance = distance;
+        result.distance2 = distance2;
+        result.cellValue = ValCoord3D(0, xc, yc, zc);
+        result.cellX = xc;
+        result.cellY = yc;
+        result.cellZ = zc;
+        result.featureX = xc + CELL_3D[vec];
+        result.featureY = yc + CELL_3D[vec | 1];
+        result.featureZ = zc + CELL_3D[vec | 2];
+    }
+
+    private void SingleCellularAll(float x, float y, CellularResult result) {
+        int xr = FastRound(x);
+        int yr = FastRound(y);
+
+        float distance = 999999;
+        float distance2 = 999999;
+        int xc = 0, yc = 0;
+
+        for (int xi = xr - 1; xi <= xr + 1; xi++) {
+            for (int yi = yr - 1; yi <= yr + 1; yi++) {
+                int vec = (Hash2D(m_seed, xi, yi) & 255) << 1;
+
+                float newDistance = CellularDistance(xi - x + CELL_2D[vec], yi - y + CELL_2D[vec | 1]);
+
+                distance2 = Math.max(Math.min(distance2, newDistance), distance);
+                if (newDistance < distance) {
+                    distance = newDistance;
+                    xc = xi;
+                    yc = yi;
+                }
+            }
+        }
+
+        int vec = (Hash2D(m_seed, xc, yc) & 255) << 1;
+        result.distance = distance;
+        result.distance2 = distance2;
+        result.cellValue = ValCoord2D(0, xc, yc);
+        result.cellX = xc;
+        result.cellY = yc;
+        result.cellZ = 0;
+        result.featureX = xc + CELL_2D[vec];
+        result.featureY = yc + CELL_2D[vec | 1];
+        result.featureZ = 0;
+    }
+
     public void GradientPerturb(Vector3f v3) {
+        if (m_settings != null) {
+            Current().GradientPerturb(v3);
+            return;
+        }
+
         SingleGradientPerturb(m_seed, m_gradientPerturbAmp, m_frequency, v3);
     }
 
     public void GradientPerturbFractal(Vector3f v3) {
+        if (m_settings != null) {
+            Current().GradientPerturbFractal(v3);
+            return;
+        }
+
         int seed = m_seed;
         float amp = m_gradientPerturbAmp * m_fractalBounding;
         float freq = m_frequency;
@@ -2067,6 +4406,203 @@ public class FastNoise implements INoiseLibrary {
         }
     }
 
+    public void GradientPerturb(Vector2f v2) {
+        if (m_settings != null) {
+            Current().GradientPerturb(v2);
+            return;
+        }
+
+        SingleGradientPerturb(m_seed, m_gradientPerturbAmp, m_frequency, v2);
+    }
+
+    public void GradientPerturbFractal(Vector2f v2) {
+        if (m_settings != null) {
+            Current().GradientPerturbFractal(v2);
+            return;
+        }
+
+        int seed = m_seed;
+        float amp = m_gradientPerturbAmp * m_fractalBounding;
+        float freq = m_frequency;
+
+        SingleGradientPerturb(seed, amp, m_frequency, v2);
+
+        for (int i = 1; i < m_octaves; i++) {
+            freq *= m_lacunarity;
+            amp *= m_gain;
+            SingleGradientPerturb(++seed, amp, freq, v2);
+        }
+    }
+
+    // Batch Gradient Perturbation
+    // Same as GradientPerturb(...)/GradientPerturbFractal(...), applied in place to the points (xs[i], ys[i], zs[i])
+    // for each i < count, without needing a vector object per point.
+    public void GradientPerturb(float[] xs, float[] ys, float[] zs, int count) {
+        if (m_settings != null) {
+            Current().GradientPerturb(xs, ys, zs, count);
+            return;
+        }
+
+        Vector3f v3 = new Vector3f(0, 0, 0);
+        for (int i = 0; i < count; i++) {
+            v3.x = xs[i];
+            v3.y = ys[i];
+            v3.z = zs[i];
+            SingleGradientPerturb(m_seed, m_gradientPerturbAmp, m_frequency, v3);
+            xs[i] = v3.x;
+            ys[i] = v3.y;
+            zs[i] = v3.z;
+        }
+    }
+
+    public void GradientPerturbFractal(float[] xs, float[] ys, float[] zs, int count) {
+        if (m_settings != null) {
+            Current().GradientPerturbFractal(xs, ys, zs, count);
+            return;
+        }
+
+        Vector3f v3 = new Vector3f(0, 0, 0);
+        for (int i = 0; i < count; i++) {
+            v3.x = xs[i];
+            v3.y = ys[i];
+            v3.z = zs[i];
+            GradientPerturbFractal(v3);
+            xs[i] = v3.x;
+            ys[i] = v3.y;
+            zs[i] = v3.z;
+        }
+    }
+
+    public void GradientPerturb(float[] xs, float[] ys, int count) {
+        if (m_settings != null) {
+            Current().GradientPerturb(xs, ys, count);
+            return;
+        }
+
+        Vector2f v2 = new Vector2f(0, 0);
+        for (int i = 0; i < count; i++) {
+            v2.x = xs[i];
+            v2.y = ys[i];
+            SingleGradientPerturb(m_seed, m_gradientPerturbAmp, m_frequency, v2);
+            xs[i] = v2.x;
+            ys[i] = v2.y;
+        }
+    }
+
+    public void GradientPerturbFractal(float[] xs, float[] ys, int count) {
+        if (m_settings != null) {
+            Current().GradientPerturbFractal(xs, ys, count);
+            return;
+        }
+
+        Vector2f v2 = new Vector2f(0, 0);
+        for (int i = 0; i < count; i++) {
+            v2.x = xs[i];
+            v2.y = ys[i];
+            GradientPerturbFractal(v2);
+            xs[i] = v2.x;
+            ys[i] = v2.y;
+        }
+    }
+
+    // Fused warp and noise evaluation
+    // Writes this.GetNoise(...) at each point after warping it with warp.GradientPerturb(...), or with
+    // warp.GradientPerturbFractal(...) if fractalWarp is set. The input coordinates are left unchanged;
+    // warped coordinates are only held in one scratch vector per call and never written back.
+    public void GetWarpedNoise(FastNoise warp, boolean fractalWarp, float[] xs, float[] ys, float[] zs, float[] out, int count) {
+        if (m_settings != null) {
+            Current().GetWarpedNoise(warp, fractalWarp, xs, ys, zs, out, count);
+            return;
+        }
+
+        Kernel3D kernel = GetKernel3D();
+        Vector3f v3 = new Vector3f(0, 0, 0);
+        for (int i = 0; i < count; i++) {
+            v3.x = xs[i];
+            v3.y = ys[i];
+            v3.z = zs[i];
+            if (fractalWarp) {
+                warp.GradientPerturbFractal(v3);
+            } else {
+                warp.GradientPerturb(v3);
+            }
+            out[i] = kernel.Sample(this, v3.x * m_frequency, v3.y * m_frequency, v3.z * m_frequency);
+        }
+    }
+
+    public void GetWarpedNoise(FastNoise warp, boolean fractalWarp, float[] xs, float[] ys, float[] out, int count) {
+        if (m_settings != null) {
+            Current().GetWarpedNoise(warp, fractalWarp, xs, ys, out, count);
+            return;
+        }
+
+        Kernel2D kernel = GetKernel2D();
+        Vector2f v2 = new Vector2f(0, 0);
+        for (int i = 0; i < count; i++) {
+            v2.x = xs[i];
+            v2.y = ys[i];
+            if (fractalWarp) {
+                warp.GradientPerturbFractal(v2);
+            } else {
+                warp.GradientPerturb(v2);
+            }
+            out[i] = kernel.Sample(this, v2.x * m_frequency, v2.y * m_frequency);
+        }
+    }
+
+    // Grid version of GetWarpedNoise(...), in the same layout as FillNoise3D(...): out[(y * depth + z) * width + x]
+    public void FillWarpedNoise3D(FastNoise warp, boolean fractalWarp, float[] out,
+                                  float x0, float y0, float z0, int width, int height, int depth, float step) {
+        if (m_settings != null) {
+            Current().FillWarpedNoise3D(warp, fractalWarp, out, x0, y0, z0, width, height, depth, step);
+            return;
+        }
+
+        Kernel3D kernel = GetKernel3D();
+        Vector3f v3 = new Vector3f(0, 0, 0);
+        int index = 0;
+        for (int y = 0; y < height; y++) {
+            for (int z = 0; z < depth; z++) {
+                for (int x = 0; x < width; x++) {
+                    v3.x = x0 + x * step;
+                    v3.y = y0 + y * step;
+                    v3.z = z0 + z * step;
+                    if (fractalWarp) {
+                        warp.GradientPerturbFractal(v3);
+                    } else {
+                        warp.GradientPerturb(v3);
+                    }
+                    out[index++] = kernel.Sample(this, v3.x * m_frequency, v3.y * m_frequency, v3.z * m_frequency);
+                }
+            }
+        }
+    }
+
+    // Grid version of GetWarpedNoise(...), in the same layout as FillNoise2D(...): out[z * width + x]
+    public void FillWarpedNoise2D(FastNoise warp, boolean fractalWarp, float[] out,
+                                  float x0, float z0, int width, int depth, float step) {
+        if (m_settings != null) {
+            Current().FillWarpedNoise2D(warp, fractalWarp, out, x0, z0, width, depth, step);
+            return;
+        }
+
+        Kernel2D kernel = GetKernel2D();
+        Vector2f v2 = new Vector2f(0, 0);
+        int index = 0;
+        for (int z = 0; z < depth; z++) {
+            for (int x = 0; x < width; x++) {
+                v2.x = x0 + x * step;
+                v2.y = z0 + z * step;
+                if (fractalWarp) {
+                    warp.GradientPerturbFractal(v2);
+                } else {
+                    warp.GradientPerturb(v2);
+                }
+                out[index++] = kernel.Sample(this, v2.x * m_frequency, v2.y * m_frequency);
+            }
+        }
+    }
+
     private void SingleGradientPerturb(int seed, float perturbAmp, float frequency, Vector3f v3) {
         float xf = v3.x * frequency;
         float yf = v3.y * frequency;
@@ -2099,61 +4635,43 @@ public class FastNoise implements INoiseLibrary {
                 break;
         }
 
-        Float3 vec0 = CELL_3D[Hash3D(seed, x0, y0, z0) & 255];
-        Float3 vec1 = CELL_3D[Hash3D(seed, x1, y0, z0) & 255];
+        int vec0 = (Hash3D(seed, x0, y0, z0) & 255) << 2;
+        int vec1 = (Hash3D(seed, x1, y0, z0) & 255) << 2;
 
-        float lx0x = Lerp(vec0.x, vec1.x, xs);
-        float ly0x = Lerp(vec0.y, vec1.y, xs);
-        float lz0x = Lerp(vec0.z, vec1.z, xs);
+        float lx0x = Lerp(CELL_3D[vec0], CELL_3D[vec1], xs);
+        float ly0x = Lerp(CELL_3D[vec0 | 1], CELL_3D[vec1 | 1], xs);
+        float lz0x = Lerp(CELL_3D[vec0 | 2], CELL_3D[vec1 | 2], xs);
 
-        vec0 = CELL_3D[Hash3D(seed, x0, y1, z0) & 255];
-        vec1 = CELL_3D[Hash3D(seed, x1, y1, z0) & 255];
+        vec0 = (Hash3D(seed, x0, y1, z0) & 255) << 2;
+        vec1 = (Hash3D(seed, x1, y1, z0) & 255) << 2;
 
-        float lx1x = Lerp(vec0.x, vec1.x, xs);
-        float ly1x = Lerp(vec0.y, vec1.y, xs);
-        float lz1x = Lerp(vec0.z, vec1.z, xs);
+        float lx1x = Lerp(CELL_3D[vec0], CELL_3D[vec1], xs);
+        float ly1x = Lerp(CELL_3D[vec0 | 1], CELL_3D[vec1 | 1], xs);
+        float lz1x = Lerp(CELL_3D[vec0 | 2], CELL_3D[vec1 | 2], xs);
 
         float lx0y = Lerp(lx0x, lx1x, ys);
         float ly0y = Lerp(ly0x, ly1x, ys);
         float lz0y = Lerp(lz0x, lz1x, ys);
 
-        vec0 = CELL_3D[Hash3D(seed, x0, y0, z1) & 255];
-        vec1 = CELL_3D[Hash3D(seed, x1, y0, z1) & 255];
+        vec0 = (Hash3D(seed, x0, y0, z1) & 255) << 2;
+        vec1 = (Hash3D(seed, x1, y0, z1) & 255) << 2;
 
-        lx0x = Lerp(vec0.x, vec1.x, xs);
-        ly0x = Lerp(vec0.y, vec1.y, xs);
-        lz0x = Lerp(vec0.z, vec1.z, xs);
+        lx0x = Lerp(CELL_3D[vec0], CELL_3D[vec1], xs);
+        ly0x = Lerp(CELL_3D[vec0 | 1], CELL_3D[vec1 | 1], xs);
+        lz0x = Lerp(CELL_3D[vec0 | 2], CELL_3D[vec1 | 2], xs);
 
-        vec0 = CELL_3D[Hash3D(seed, x0, y1, z1) & 255];
-        vec1 = CELL_3D[Hash3D(seed, x1, y1, z1) & 255];
+        vec0 = (Hash3D(seed, x0, y1, z1) & 255) << 2;
+        vec1 = (Hash3D(seed, x1, y1, z1) & 255) << 2;
 
-        lx1x = Lerp(vec0.x, vec1.x, xs);
-        ly1x = Lerp(vec0.y, vec1.y, xs);
-        lz1x = Lerp(vec0.z, vec1.z, xs);
+        lx1x = Lerp(CELL_3D[vec0], CELL_3D[vec1], xs);
+        ly1x = Lerp(CELL_3D[vec0 | 1], CELL_3D[vec1 | 1], xs);
+        lz1x = Lerp(CELL_3D[vec0 | 2], CELL_3D[vec1 | 2], xs);
 
         v3.x += Lerp(lx0y, Lerp(lx0x, lx1x, ys), zs) * perturbAmp;
         v3.y += Lerp(ly0y, Lerp(ly0x, ly1x, ys), zs) * perturbAmp;
         v3.z += Lerp(lz0y, Lerp(lz0x, lz1x, ys), zs) * perturbAmp;
     }
 
-    public void GradientPerturb(Vector2f v2) {
-        SingleGradientPerturb(m_seed, m_gradientPerturbAmp, m_frequency, v2);
-    }
-
-    public void GradientPerturbFractal(Vector2f v2) {
-        int seed = m_seed;
-        float amp = m_gradientPerturbAmp * m_fractalBounding;
-        float freq = m_frequency;
-
-        SingleGradientPerturb(seed, amp, m_frequency, v2);
-
-        for (int i = 1; i < m_octaves; i++) {
-            freq *= m_lacunarity;
-            amp *= m_gain;
-            SingleGradientPerturb(++seed, amp, freq, v2);
-        }
-    }
-
     private void SingleGradientPerturb(int seed, float perturbAmp, float frequency, Vector2f v2) {
         float xf = v2.x * frequency;
         float yf = v2.y * frequency;
@@ -2180,17 +4698,17 @@ public class FastNoise implements INoiseLibrary {
                 break;
         }
 
-        Float2 vec0 = CELL_2D[Hash2D(seed, x0, y0) & 255];
-        Float2 vec1 = CELL_2D[Hash2D(seed, x1, y0) & 255];
+        int vec0 = (Hash2D(seed, x0, y0) & 255) << 1;
+        int vec1 = (Hash2D(seed, x1, y0) & 255) << 1;
 
-        float lx0x = Lerp(vec0.x, vec1.x, xs);
-        float ly0x = Lerp(vec0.y, vec1.y, xs);
+        float lx0x = Lerp(CELL_2D[vec0], CELL_2D[vec1], xs);
+        float ly0x = Lerp(CELL_2D[vec0 | 1], CELL_2D[vec1 | 1], xs);
 
-        vec0 = CELL_2D[Hash2D(seed, x0, y1) & 255];
-        vec1 = CELL_2D[Hash2D(seed, x1, y1) & 255];
+        vec0 = (Hash2D(seed, x0, y1) & 255) << 1;
+        vec1 = (Hash2D(seed, x1, y1) & 255) << 1;
 
-        float lx1x = Lerp(vec0.x, vec1.x, xs);
-        float ly1x = Lerp(vec0.y, vec1.y, xs);
+        float lx1x = Lerp(CELL_2D[vec0], CELL_2D[vec1], xs);
+        float ly1x = Lerp(CELL_2D[vec0 | 1], CELL_2D[vec1 | 1], xs);
 
         v2.x += Lerp(lx0x, lx1x, ys) * perturbAmp;
         v2.y += Lerp(ly0x, ly1x, ys) * perturbAmp;
@@ -1,8 +1,102 @@
 package com.yungnickyoung.minecraft.yungsapi.noise;
 
 /**
- * Tagging interface for noise libraries (FastNoise, OpenSimplex2S)
+ * Common interface for noise libraries (FastNoise, OpenSimplex2S).
+ * <p>
+ * Only {@link #GetNoise(float, float, float)} is required. The 2D, batch and double precision methods
+ * have generic default implementations, which libraries override with their own specialised paths,
+ * so library-agnostic callers get the fast path automatically.
+ * </p>
  */
 public interface INoiseLibrary {
     float GetNoise(float x, float y, float z);
+
+    /**
+     * 2D noise. Libraries with dedicated 2D noise return that, which is generally cheaper but not equal to
+     * any slice of their 3D noise. The default implementation samples the 3D noise on the y = 0 plane.
+     */
+    default float GetNoise(float x, float y) {
+        return GetNoise(x, 0, y);
+    }
+
+    /**
+     * Double precision variant of {@link #GetNoise(float, float, float)}.
+     * Libraries may use it to avoid losing precision at large coordinates, so results can differ slightly
+     * from the float variant. The default implementation narrows the coordinates to float.
+     */
+    default double GetNoise(double x, double y, double z) {
+        return GetNoise((float) x, (float) y, (float) z);
+    }
+
+    /**
+     * Double precision variant of {@link #GetNoise(float, float)}. See {@link #GetNoise(double, double, double)}.
+     */
+    default double GetNoise(double x, double y) {
+        return GetNoise((float) x, (float) y);
+    }
+
+    /**
+     * Fills out[z * width + x] with GetNoise(x0 + x * step, z0 + z * step) for each x < width, z < depth.
+     */
+    default void FillNoise2D(float[] out, float x0, float z0, int width, int depth, float step) {
+        int index = 0;
+        for (int z = 0; z < depth; z++) {
+            float zf = z0 + z * step;
+            for (int x = 0; x < width; x++) {
+                out[index++] = GetNoise(x0 + x * step, zf);
+            }
+        }
+    }
+
+    /**
+     * Fills out[(y * depth + z) * width + x] with GetNoise(x0 + x * step, y0 + y * step, z0 + z * step)
+     * for each x < width, y < height, z < depth.
+     */
+    default void FillNoise3D(float[] out, float x0, float y0, float z0, int width, int height, int depth, float step) {
+        int index = 0;
+        for (int y = 0; y < height; y++) {
+            float yf = y0 + y * step;
+            for (int z = 0; z < depth; z++) {
+                float zf = z0 + z * step;
+                for (int x = 0; x < width; x++) {
+                    out[index++] = GetNoise(x0 + x * step, yf, zf);
+                }
+            }
+        }
+    }
+
+    /**
+     * Writes GetNoise(xs[i], ys[i], zs[i]) to out[i] for each i < count.
+     */
+    default void GetNoise(float[] xs, float[] ys, float[] zs, float[] out, int count) {
+        for (int i = 0; i < count; i++) {
+            out[i] = GetNoise(xs[i], ys[i], zs[i]);
+        }
+    }
+
+    /**
+     * Writes GetNoise(xs[i], ys[i]) to out[i] for each i < count.
+     */
+    default void GetNoise(float[] xs, float[] ys, float[] out, int count) {
+        for (int i = 0; i < count; i++) {
+            out[i] = GetNoise(xs[i], ys[i]);
+        }
+    }
+
+    /**
+     * @return Whether the noise value at the given position is greater than the threshold.
+     * Implementations may skip work (e.g. remaining fractal octaves) once the answer is known.
+     */
+    default boolean IsAbove(float x, float y, float z, float threshold) {
+        return GetNoise(x, y, z) > threshold;
+    }
+
+    /**
+     * @return Whether the noise value at the given position is within [min, max], inclusive.
+     * Implementations may skip work (e.g. remaining fractal octaves) once the answer is known.
+     */
+    default boolean IsInRange(float x, float y, float z, float min, float max) {
+        float value = GetNoise(x, y, z);
+        return value >= min && value <= max;
+    }
 }
@@ -0,0 +1,177 @@
+package com.yungnickyoung.minecraft.yungsapi.noise;
+
+/**
+ * Samples an {@link INoiseLibrary} on a coarse lattice and fills block-resolution regions by trilinear interpolation,
+ * similar to vanilla's NoiseChunk. Intended for smooth, low-frequency fields where evaluating every block is wasteful.
+ * <p>
+ * The lattice is aligned to the world grid, so adjacent regions agree exactly along their shared boundaries.
+ * </p>
+ * <p>
+ * An optional error bound can be set. For each lattice cell, the interpolated value at the cell's center is
+ * compared against the true noise value there. If they differ by more than the bound, every block in that cell
+ * is evaluated directly instead. The check costs one extra evaluation per cell.
+ * Since the bound is only checked at cell centers, other blocks in an accepted cell may slightly exceed it.
+ * </p>
+ * Instances are immutable and can be shared between threads, provided the noise library can be sampled concurrently.
+ */
+public class InterpolatedNoiseSampler {
+    private final INoiseLibrary noise;
+    private final int cellWidth;
+    private final int cellHeight;
+    private final float maxError;
+
+    /**
+     * Creates a sampler without an error bound.
+     * @param cellWidth Horizontal lattice spacing, in blocks
+     * @param cellHeight Vertical lattice spacing, in blocks
+     */
+    public InterpolatedNoiseSampler(INoiseLibrary noise, int cellWidth, int cellHeight) {
+        this(noise, cellWidth, cellHeight, Float.POSITIVE_INFINITY);
+    }
+
+    /**
+     * @param cellWidth Horizontal lattice spacing, in blocks
+     * @param cellHeight Vertical lattice spacing, in blocks
+     * @param maxError The maximum allowed difference between interpolated and true noise at cell centers.
+     *                 Cells exceeding it are evaluated at full resolution.
+     *                 {@link Float#POSITIVE_INFINITY} disables the check.
+     */
+    public InterpolatedNoiseSampler(INoiseLibrary noise, int cellWidth, int cellHeight, float maxError) {
+        if (cellWidth < 1 || cellHeight < 1) {
+            throw new IllegalArgumentException("Cell dimensions must be positive");
+        }
+        if (!(maxError >= 0)) {
+            throw new IllegalArgumentException("Max error must be non-negative");
+        }
+        this.noise = noise;
+        this.cellWidth = cellWidth;
+        this.cellHeight = cellHeight;
+        this.maxError = maxError;
+    }
+
+    /**
+     * Creates a sampler using vanilla's NoiseChunk cell size of 4 blocks horizontally and 8 blocks vertically.
+     */
+    public static InterpolatedNoiseSampler vanillaCells(INoiseLibrary noise, float maxError) {
+        return new InterpolatedNoiseSampler(noise, 4, 8, maxError);
+    }
+
+    /**
+     * Fills {@code out[(y * depth + z) * width + x]} with the (interpolated) noise value at block
+     * {@code (startX + x, startY + y, startZ + z)}, for each x < width, y < height, z < depth.
+     * @return The number of noise evaluations performed
+     */
+    public int fill(float[] out, int startX, int startY, int startZ, int width, int height, int depth) {
+        if (out.length < width * height * depth) {
+            throw new IllegalArgumentException("Output array too small for region");
+        }
+
+        // Lattice covering the region, aligned to the world grid
+        int cellX0 = Math.floorDiv(startX, cellWidth);
+        int cellY0 = Math.floorDiv(startY, cellHeight);
+        int cellZ0 = Math.floorDiv(startZ, cellWidth);
+        int cellsX = Math.floorDiv(startX + width - 1, cellWidth) - cellX0 + 1;
+        int cellsY = Math.floorDiv(startY + height - 1, cellHeight) - cellY0 + 1;
+        int cellsZ = Math.floorDiv(startZ + depth - 1, cellWidth) - cellZ0 + 1;
+        int pointsX = cellsX + 1;
+        int pointsZ = cellsZ + 1;
+
+        float[] lattice = new float[pointsX * (cellsY + 1) * pointsZ];
+        int evaluations = 0;
+        // Each lattice layer is a single-layer 3D fill, since x and z share the same cell width
+        float[] layer = new float[pointsX * pointsZ];
+        for (int ly = 0; ly <= cellsY; ly++) {
+            noise.FillNoise3D(layer, cellX0 * cellWidth, (cellY0 + ly) * cellHeight, cellZ0 * cellWidth, pointsX, 1, pointsZ, cellWidth);
+            System.arraycopy(layer, 0, lattice, ly * layer.length, layer.length);
+        }
+        evaluations += lattice.length;
+
+        boolean checkError = maxError != Float.POSITIVE_INFINITY;
+
+        for (int cy = 0; cy < cellsY; cy++) {
+            int cellMinY = (cellY0 + cy) * cellHeight;
+            int yFrom = Math.max(cellMinY, startY), yTo = Math.min(cellMinY + cellHeight, startY + height);
+
+            for (int cz = 0; cz < cellsZ; cz++) {
+                int cellMinZ = (cellZ0 + cz) * cellWidth;
+                int zFrom = Math.max(cellMinZ, startZ), zTo = Math.min(cellMinZ + cellWidth, startZ + depth);
+
+                for (int cx = 0; cx < cellsX; cx++) {
+                    int cellMinX = (cellX0 + cx) * cellWidth;
+                    int xFrom = Math.max(cellMinX, startX), xTo = Math.min(cellMinX + cellWidth, startX + width);
+
+                    int i000 = (cy * pointsZ + cz) * pointsX + cx;
+                    int i001 = i000 + pointsX;
+                    int i010 = i000 + pointsX * pointsZ;
+                    int i011 = i010 + pointsX;
+                    float v000 = lattice[i000], v100 = lattice[i000 + 1];
+                    float v001 = lattice[i001], v101 = lattice[i001 + 1];
+                    float v010 = lattice[i010], v110 = lattice[i010 + 1];
+                    float v011 = lattice[i011], v111 = lattice[i011 + 1];
+
+                    if (checkError) {
+                        float centerX = cellMinX + cellWidth * 0.5f;
+                        float centerY = cellMinY + cellHeight * 0.5f;
+                        float centerZ = cellMinZ + cellWidth * 0.5f;
+                        float interpolated = trilerp(v000, v100, v001, v101, v010, v110, v011, v111, 0.5f, 0.5f, 0.5f);
+                        evaluations++;
+                        if (Math.abs(noise.GetNoise(centerX, centerY, centerZ) - interpolated) > maxError) {
+                            // Refine: evaluate every requested block in this cell directly
+                            for (int y = yFrom; y < yTo; y++) {
+                                for (int z = zFrom; z < zTo; z++) {
+                                    int index = ((y - startY) * depth + (z - startZ)) * width;
+                                    for (int x = xFrom; x < xTo; x++) {
+                                        out[index + x - startX] = noise.GetNoise(x, y, z);
+                                    }
+                                }
+                            }
+                            evaluations += (yTo - yFrom) * (zTo - zFrom) * (xTo - xFrom);
+                            continue;
+                        }
+                    }
+
+                    for (int y = yFrom; y < yTo; y++) {
+                        float ty = (float) (y - cellMinY) / cellHeight;
+                        for (int z = zFrom; z < zTo; z++) {
+                            float tz = (float) (z - cellMinZ) / cellWidth;
+                            int index = ((y - startY) * depth + (z - startZ)) * width;
+                            for (int x = xFrom; x < xTo; x++) {
+                                float tx = (float) (x - cellMinX) / cellWidth;
+                                out[index + x - startX] = trilerp(v000, v100, v001, v101, v010, v110, v011, v111, tx, ty, tz);
+                            }
+                        }
+                    }
+                }
+            }
+        }
+
+        return evaluations;
+    }
+
+    public int getCellWidth() {
+        return cellWidth;
+    }
+
+    public int getCellHeight() {
+        return cellHeight;
+    }
+
+    public float getMaxError() {
+        return maxError;
+    }
+
+    /**
+     * Trilinear interpolation. Corner values are named vXYZ.
+     */
+    private static float trilerp(float v000, float v100, float v001, float v101,
+                                 float v010, float v110, float v011, float v111,
+                                 float tx, float ty, float tz) {
+        float x00 = v000 + tx * (v100 - v000);
+        float x01 = v001 + tx * (v101 - v001);
+        float x10 = v010 + tx * (v110 - v010);
+        float x11 = v011 + tx * (v111 - v011);
+        float z0 = x00 + tz * (x01 - x00);
+        float z1 = x10 + tz * (x11 - x10);
+        return z0 + ty * (z1 - z0);
+    }
+}
@@ -1,5 +1,11 @@
 package com.yungnickyoung.minecraft.yungsapi.noise;
 
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+
 /**
  * K.jpg's OpenSimplex 2, smooth variant ("SuperSimplex")
  *
@@ -16,30 +22,103 @@ public class OpenSimplex2S implements INoiseLibrary {
     private static final int PSIZE = 2048;
     private static final int PMASK = 2047;
 
-    private short[] perm;
-    private Grad2[] permGrad2;
-    private Grad3[] permGrad3;
+    // Shared with every other instance using the same seed. Never modified.
+    private final Permutations permutations;
+    private final short[] perm;
+
+    // Offsets into GRADIENTS_2D / GRADIENTS_3D of the gradient for each permutation entry
+    private final short[] permGrad2;
+    private final short[] permGrad3;
     private long seed;
     private int octaves;
     private double gain, frequency, lacunarity;
 
+    /**
+     * Instances are lightweight: the permutation tables for a seed are built once and shared
+     * by all live instances using that seed.
+     */
     public OpenSimplex2S(long seed) {
         this.seed = seed;
-        perm = new short[PSIZE];
-        permGrad2 = new Grad2[PSIZE];
-        permGrad3 = new Grad3[PSIZE];
-        short[] source = new short[PSIZE];
-        for (short i = 0; i < PSIZE; i++)
-            source[i] = i;
-        for (int i = PSIZE - 1; i >= 0; i--) {
-            seed = seed * 6364136223846793005L + 1442695040888963407L;
-            int r = (int)((seed + 31) % (i + 1));
-            if (r < 0)
-                r += (i + 1);
-            perm[i] = source[r];
-            permGrad2[i] = GRADIENTS_2D[perm[i]];
-            permGrad3[i] = GRADIENTS_3D[perm[i]];
-            source[r] = source[i];
+        this.permutations = permutationsFor(seed);
+        this.perm = permutations.perm;
+        this.permGrad2 = permutations.permGrad2;
+        this.permGrad3 = permutations.permGrad3;
+    }
+
+    /*
+     * Shared Permutations
+     */
+
+    /**
+     * Permutation tables for a single seed. Immutable once constructed.
+     */
+    private static final class Permutations {
+        final short[] perm = new short[PSIZE];
+        final short[] permGrad2 = new short[PSIZE];
+        final short[] permGrad3 = new short[PSIZE];
+
+        Permutations(long seed) {
+            short[] source = new short[PSIZE];
+            for (short i = 0; i < PSIZE; i++)
+                source[i] = i;
+            for (int i = PSIZE - 1; i >= 0; i--) {
+                seed = seed * 6364136223846793005L + 1442695040888963407L;
+                int r = (int)((seed + 31) % (i + 1));
+                if (r < 0)
+                    r += (i + 1);
+                perm[i] = source[r];
+                permGrad2[i] = (short) ((perm[i] % GRADIENTS_2D_COUNT) << 1);
+                permGrad3[i] = (short) ((perm[i] % GRADIENTS_3D_COUNT) << 2);
+                source[r] = source[i];
+            }
+        }
+    }
+
+    /**
+     * Weak reference to a seed's permutations, remembering the seed so cleared entries can be removed from the cache.
+     */
+    private static final class PermutationsReference extends WeakReference<Permutations> {
+        final long seed;
+
+        PermutationsReference(long seed, Permutations permutations, ReferenceQueue<Permutations> queue) {
+            super(permutations, queue);
+            this.seed = seed;
+        }
+    }
+
+    private static final ConcurrentHashMap<Long, PermutationsReference> PERMUTATIONS = new ConcurrentHashMap<>();
+    private static final ReferenceQueue<Permutations> CLEARED_PERMUTATIONS = new ReferenceQueue<>();
+
+    /**
+     * Returns the shared permutations for the given seed, building them if no live instance is using that seed.
+     * Entries are held weakly, so a seed's tables are released once the last instance using them is collected.
+     */
+    private static Permutations permutationsFor(long seed) {
+        expungeClearedPermutations();
+
+        while (true) {
+            PermutationsReference reference = PERMUTATIONS.get(seed);
+            Permutations permutations = reference == null ? null : reference.get();
+            if (permutations != null) {
+                return permutations;
+            }
+
+            // Another thread may race us to build the same tables. Only one wins; the others retry and use the winner's.
+            permutations = new Permutations(seed);
+            PermutationsReference newReference = new PermutationsReference(seed, permutations, CLEARED_PERMUTATIONS);
+            boolean stored = reference == null
+                    ? PERMUTATIONS.putIfAbsent(seed, newReference) == null
+                    : PERMUTATIONS.replace(seed, reference, newReference);
+            if (stored) {
+                return permutations;
+            }
+        }
+    }
+
+    private static void expungeClearedPermutations() {
+        Reference<? extends Permutations> reference;
+        while ((reference = CLEARED_PERMUTATIONS.poll()) != null) {
+            PERMUTATIONS.remove(((PermutationsReference) reference).seed, reference);
         }
     }
 
@@ -96,15 +175,15 @@ public class OpenSimplex2S implements INoiseLibrary {
 
         // Point contributions
         for (int i = 0; i < 4; i++) {
-            LatticePoint2D c = LOOKUP_2D[index + i];
+            int c = (index + i) << 1;
 
-            double dx = xi + c.dx, dy = yi + c.dy;
+            double dx = xi + LOOKUP_2D_D[c], dy = yi + LOOKUP_2D_D[c | 1];
             double attn = 2.0 / 3.0 - dx * dx - dy * dy;
             if (attn <= 0) continue;
 
-            int pxm = (xsb + c.xsv) & PMASK, pym = (ysb + c.ysv) & PMASK;
-            Grad2 grad = permGrad2[perm[pxm] ^ pym];
-            double extrapolation = grad.dx * dx + grad.dy * dy;
+            int pxm = (xsb + LOOKUP_2D_V[c]) & PMASK, pym = (ysb + LOOKUP_2D_V[c | 1]) & PMASK;
+            int g = permGrad2[perm[pxm] ^ pym];
+            double extrapolation = GRADIENTS_2D[g] * dx + GRADIENTS_2D[g | 1] * dy;
 
             attn *= attn;
             value += attn * attn * extrapolation;
@@ -175,6 +254,171 @@ public class OpenSimplex2S implements INoiseLibrary {
         return noise3_BCC(xr, yr, zr);
     }
 
+    /*
+     * Row and Column Evaluators
+     *
+     * Each evaluates the corresponding single-point function at evenly spaced points along one axis,
+     * writing the result for the i-th point (e.g. x = x0 + i * step) to out[i]. Results are identical to the single-point functions.
+     * Consecutive samples usually fall in the same lattice cell, so the gradients of the cell's lattice points are
+     * looked up once per cell and reused until the walk moves into another cell.
+     */
+
+    /**
+     * {@link #noise2(double, double)} along x, at (x0 + i * step, y).
+     */
+    public void noise2_Row(double x0, double y, double step, double[] out, int count) {
+        CellGradients cell = new CellGradients();
+        for (int i = 0; i < count; i++) {
+            double x = x0 + i * step;
+            double s = 0.366025403784439 * (x + y);
+            out[i] = noise2_Base(x + s, y + s, cell);
+        }
+    }
+
+    /**
+     * {@link #noise2(double, double)} along y, at (x, y0 + i * step).
+     */
+    public void noise2_Column(double x, double y0, double step, double[] out, int count) {
+        CellGradients cell = new CellGradients();
+        for (int i = 0; i < count; i++) {
+            double y = y0 + i * step;
+            double s = 0.366025403784439 * (x + y);
+            out[i] = noise2_Base(x + s, y + s, cell);
+        }
+    }
+
+    /**
+     * {@link #noise3_XZBeforeY(double, double, double)} along x, at (x0 + i * step, y, z).
+     */
+    public void noise3_XZBeforeY_Row(double x0, double y, double z, double step, double[] out, int count) {
+        CellGradients cell = new CellGradients();
+        double yy = y * 0.577350269189626;
+        for (int i = 0; i < count; i++) {
+            double x = x0 + i * step;
+            double xz = x + z;
+            double s2 = xz * -0.211324865405187;
+            out[i] = noise3_BCC(x + s2 - yy, xz * 0.577350269189626 + yy, z + s2 - yy, cell);
+        }
+    }
+
+    /**
+     * {@link #noise3_XZBeforeY(double, double, double)} along y, at (x, y0 + i * step, z).
+     * Useful for filling a full block column at once.
+     */
+    public void noise3_XZBeforeY_Column(double x, double y0, double z, double step, double[] out, int count) {
+        CellGradients cell = new CellGradients();
+        double xz = x + z;
+        double s2 = xz * -0.211324865405187;
+        double xzr = xz * 0.577350269189626;
+        for (int i = 0; i < count; i++) {
+            double yy = (y0 + i * step) * 0.577350269189626;
+            out[i] = noise3_BCC(x + s2 - yy, xzr + yy, z + s2 - yy, cell);
+        }
+    }
+
+    /**
+     * Gradient offsets of the lattice points around the most recently evaluated cell.
+     * A cell is identified by its base lattice coordinates and point list index; gradients are filled in lazily
+     * as the walk reaches each point, and all are discarded when the walk moves to a different cell.
+     */
+    private static final class CellGradients {
+        private int xb = Integer.MIN_VALUE, yb, zb, index;
+        private final int[] gradients = new int[LOOKUP_3D_POINTS];
+
+        /**
+         * Switches to the given cell, discarding the cached gradients if it differs from the current cell.
+         */
+        void moveTo(int xb, int yb, int zb, int index) {
+            if (xb != this.xb || yb != this.yb || zb != this.zb || index != this.index) {
+                this.xb = xb;
+                this.yb = yb;
+                this.zb = zb;
+                this.index = index;
+                Arrays.fill(this.gradients, -1);
+            }
+        }
+    }
+
+    /**
+     * Same as {@link #noise2_Base(double, double)}, reusing gradients from the given cell cache.
+     */
+    private double noise2_Base(double xs, double ys, CellGradients cell) {
+        double value = 0;
+
+        int xsb = fastFloor(xs), ysb = fastFloor(ys);
+        double xsi = xs - xsb, ysi = ys - ysb;
+
+        int a = (int)(xsi + ysi);
+        int index =
+            (a << 2) |
+                (int)(xsi - ysi / 2 + 1 - a / 2.0) << 3 |
+                (int)(ysi - xsi / 2 + 1 - a / 2.0) << 4;
+
+        double ssi = (xsi + ysi) * -0.211324865405187;
+        double xi = xsi + ssi, yi = ysi + ssi;
+
+        cell.moveTo(xsb, ysb, 0, index);
+        int[] gradients = cell.gradients;
+
+        for (int i = 0; i < 4; i++) {
+            int c = (index + i) << 1;
+
+            double dx = xi + LOOKUP_2D_D[c], dy = yi + LOOKUP_2D_D[c | 1];
+            double attn = 2.0 / 3.0 - dx * dx - dy * dy;
+            if (attn <= 0) continue;
+
+            int g = gradients[i];
+            if (g < 0) {
+                int pxm = (xsb + LOOKUP_2D_V[c]) & PMASK, pym = (ysb + LOOKUP_2D_V[c | 1]) & PMASK;
+                g = gradients[i] = permGrad2[perm[pxm] ^ pym];
+            }
+            double extrapolation = GRADIENTS_2D[g] * dx + GRADIENTS_2D[g | 1] * dy;
+
+            attn *= attn;
+            value += attn * attn * extrapolation;
+        }
+
+        return value;
+    }
+
+    /**
+     * Same as {@link #noise3_BCC(double, double, double)}, reusing gradients from the given cell cache.
+     */
+    private double noise3_BCC(double xr, double yr, double zr, CellGradients cell) {
+        int xrb = fastFloor(xr), yrb = fastFloor(yr), zrb = fastFloor(zr);
+        double xri = xr - xrb, yri = yr - yrb, zri = zr - zrb;
+
+        int xht = (int)(xri + 0.5), yht = (int)(yri + 0.5), zht = (int)(zri + 0.5);
+        int index = (xht << 0) | (yht << 1) | (zht << 2);
+
+        cell.moveTo(xrb, yrb, zrb, index);
+        int[] gradients = cell.gradients;
+
+        double value = 0;
+        int first = index * LOOKUP_3D_POINTS;
+        int c = first;
+        while (c >= 0) {
+            int d = c << 2;
+            double dxr = xri + LOOKUP_3D_D[d], dyr = yri + LOOKUP_3D_D[d | 1], dzr = zri + LOOKUP_3D_D[d | 2];
+            double attn = 0.75 - dxr * dxr - dyr * dyr - dzr * dzr;
+            if (attn < 0) {
+                c = LOOKUP_3D_NEXT_ON_FAILURE[c];
+            } else {
+                int g = gradients[c - first];
+                if (g < 0) {
+                    int pxm = (xrb + LOOKUP_3D_V[d]) & PMASK, pym = (yrb + LOOKUP_3D_V[d | 1]) & PMASK, pzm = (zrb + LOOKUP_3D_V[d | 2]) & PMASK;
+                    g = gradients[c - first] = permGrad3[perm[perm[pxm] ^ pym] ^ pzm];
+                }
+                double extrapolation = GRADIENTS_3D[g] * dxr + GRADIENTS_3D[g | 1] * dyr + GRADIENTS_3D[g | 2] * dzr;
+
+                attn *= attn;
+                value += attn * attn * extrapolation;
+                c = LOOKUP_3D_NEXT_ON_SUCCESS[c];
+            }
+        }
+        return value;
+    }
+
     public float GetNoise(float x, float y, float z) {
         x *= frequency;
         y *= frequency;
@@ -195,6 +439,373 @@ public class OpenSimplex2S implements INoiseLibrary {
         return sum;
     }
 
+    /**
+     * 2D counterpart of {@link #GetNoise(float, float, float)}, layering {@link #noise2(double, double)} instead.
+     */
+    @Override
+    public float GetNoise(float x, float y) {
+        x *= frequency;
+        y *= frequency;
+
+        float sum = 1 - (float)Math.abs(noise2(x, y));
+        float amp = 1;
+
+        for (int i = 1; i < octaves; i++) {
+            x *= lacunarity;
+            y *= lacunarity;
+
+            amp *= gain;
+            sum -= (1 -  (float)Math.abs(noise2(x, y))) * amp;
+        }
+
+        return sum;
+    }
+
+    /**
+     * Double precision variant of {@link #GetNoise(float, float, float)}, with all arithmetic in double.
+     */
+    @Override
+    public double GetNoise(double x, double y, double z) {
+        x *= frequency;
+        y *= frequency;
+        z *= frequency;
+
+        double sum = 1 - Math.abs(noise3_XZBeforeY(x, y, z));
+        double amp = 1;
+
+        for (int i = 1; i < octaves; i++) {
+            x *= lacunarity;
+            y *= lacunarity;
+            z *= lacunarity;
+
+            amp *= gain;
+            sum -= (1 - Math.abs(noise3_XZBeforeY(x, y, z))) * amp;
+        }
+
+        return sum;
+    }
+
+    /**
+     * Double precision variant of {@link #GetNoise(float, float)}, with all arithmetic in double.
+     */
+    @Override
+    public double GetNoise(double x, double y) {
+        x *= frequency;
+        y *= frequency;
+
+        double sum = 1 - Math.abs(noise2(x, y));
+        double amp = 1;
+
+        for (int i = 1; i < octaves; i++) {
+            x *= lacunarity;
+            y *= lacunarity;
+
+            amp *= gain;
+            sum -= (1 - Math.abs(noise2(x, y))) * amp;
+        }
+
+        return sum;
+    }
+
+    /**
+     * Same result as calling {@link #GetNoise(float, float, float)} for each sample.
+     * Each octave keeps its own lattice cell cache, so neighbouring samples reuse gradient lookups.
+     */
+    @Override
+    public void FillNoise3D(float[] out, float x0, float y0, float z0, int width, int height, int depth, float step) {
+        CellGradients[] cells = new CellGradients[Math.max(octaves, 1)];
+        for (int i = 0; i < cells.length; i++) {
+            cells[i] = new CellGradients();
+        }
+
+        int index = 0;
+        for (int yi = 0; yi < height; yi++) {
+            for (int zi = 0; zi < depth; zi++) {
+                for (int xi = 0; xi < width; xi++) {
+                    float x = x0 + xi * step, y = y0 + yi * step, z = z0 + zi * step;
+                    x *= frequency;
+                    y *= frequency;
+                    z *= frequency;
+
+                    float sum = 1 - (float)Math.abs(noise3_XZBeforeY(x, y, z, cells[0]));
+                    float amp = 1;
+
+                    for (int i = 1; i < octaves; i++) {
+                        x *= lacunarity;
+                        y *= lacunarity;
+                        z *= lacunarity;
+
+                        amp *= gain;
+                        sum -= (1 -  (float)Math.abs(noise3_XZBeforeY(x, y, z, cells[i]))) * amp;
+                    }
+
+                    out[index++] = sum;
+                }
+            }
+        }
+    }
+
+    /**
+     * Same result as calling {@link #GetNoise(float, float)} for each sample.
+     * Each octave keeps its own lattice cell cache, so neighbouring samples reuse gradient lookups.
+     */
+    @Override
+    public void FillNoise2D(float[] out, float x0, float z0, int width, int depth, float step) {
+        CellGradients[] cells = new CellGradients[Math.max(octaves, 1)];
+        for (int i = 0; i < cells.length; i++) {
+            cells[i] = new CellGradients();
+        }
+
+        int index = 0;
+        for (int zi = 0; zi < depth; zi++) {
+            for (int xi = 0; xi < width; xi++) {
+                float x = x0 + xi * step, y = z0 + zi * step;
+                x *= frequency;
+                y *= frequency;
+
+                double s = 0.366025403784439 * ((double) x + y);
+                float sum = 1 - (float)Math.abs(noise2_Base(x + s, y + s, cells[0]));
+                float amp = 1;
+
+                for (int i = 1; i < octaves; i++) {
+                    x *= lacunarity;
+                    y *= lacunarity;
+
+                    amp *= gain;
+                    s = 0.366025403784439 * ((double) x + y);
+                    sum -= (1 -  (float)Math.abs(noise2_Base(x + s, y + s, cells[i]))) * amp;
+                }
+
+                out[index++] = sum;
+            }
+        }
+    }
+
+    /**
+     * Same as {@link #noise3_XZBeforeY(double, double, double)}, reusing gradients from the given cell cache.
+     */
+    private double noise3_XZBeforeY(double x, double y, double z, CellGradients cell) {
+        double xz = x + z;
+        double s2 = xz * -0.211324865405187;
+        double yy = y * 0.577350269189626;
+        return noise3_BCC(x + s2 - yy, xz * 0.577350269189626 + yy, z + s2 - yy, cell);
+    }
+
+    /**
+     * Magnitude bound used for early-out threshold queries. The measured maximum of noise3 is ~0.998;
+     * the bound leaves a margin so early answers always match a full evaluation.
+     */
+    private static final float NOISE3_BOUND = 1.25f;
+
+    /**
+     * Slack for float rounding differences between the bound arithmetic and the full evaluation,
+     * relative to the magnitude of the values involved.
+     */
+    private static final float FRACTAL_BOUND_EPSILON = 1e-4f;
+
+    @Override
+    public boolean IsAbove(float x, float y, float z, float threshold) {
+        return !IsInRange(x, y, z, Float.NEGATIVE_INFINITY, threshold);
+    }
+
+    /**
+     * Same result as checking {@link #GetNoise(float, float, float)} against [min, max], but stops evaluating octaves
+     * as soon as the remaining octaves can no longer move the value across either bound.
+     * Remaining positive and negative amplitudes are tracked separately, so negative gains are handled too.
+     */
+    @Override
+    public boolean IsInRange(float x, float y, float z, float min, float max) {
+        x *= frequency;
+        y *= frequency;
+        z *= frequency;
+
+        float remainingPositive = 0;
+        float remainingNegative = 0;
+        float amp = 1;
+        for (int i = 1; i < octaves; i++) {
+            amp *= gain;
+            if (amp >= 0) {
+                remainingPositive += amp;
+            } else {
+                remainingNegative += amp;
+            }
+        }
+
+        float sum = 1 - (float)Math.abs(noise3_XZBeforeY(x, y, z));
+        amp = 1;
+
+        for (int i = 1; i < octaves; i++) {
+            // Each remaining octave adds a term in [-1, NOISE3_BOUND - 1] times its amplitude
+            float slack = FRACTAL_BOUND_EPSILON * (1 + Math.abs(sum) + (remainingPositive - remainingNegative) * NOISE3_BOUND);
+            float lower = sum - remainingPositive + remainingNegative * (NOISE3_BOUND - 1) - slack;
+            float upper = sum + remainingPositive * (NOISE3_BOUND - 1) - remainingNegative + slack;
+            if (upper < min || lower > max) return false;
+            if (lower >= min && upper <= max) return true;
+
+            x *= lacunarity;
+            y *= lacunarity;
+            z *= lacunarity;
+
+            amp *= gain;
+            sum -= (1 -  (float)Math.abs(noise3_XZBeforeY(x, y, z))) * amp;
+            if (amp >= 0) {
+                remainingPositive -= amp;
+            } else {
+                remainingNegative -= amp;
+            }
+        }
+
+        return sum >= min && sum <= max;
+    }
+
+    /*
+     * Analytical Derivatives
+     *
+     * Each writes the noise value to out[offset] and its partial derivatives with respect to x, y and z
+     * to out[offset + 1], out[offset + 2] and out[offset + 3], from a single evaluation.
+     * Values are identical to the corresponding noise3 functions.
+     */
+
+    /**
+     * {@link #noise3_Classic(double, double, double)} with derivatives.
+     */
+    public void noise3_ClassicWithDerivative(double x, double y, double z, double[] out, int offset) {
+        double r = (2.0 / 3.0) * (x + y + z);
+        double xr = r - x, yr = r - y, zr = r - z;
+        out[offset] = noise3_BCCWithDerivative(xr, yr, zr, out, offset);
+
+        // Apply the transpose of the rotation to bring the derivatives back to (x, y, z)
+        double dxr = out[offset + 1], dyr = out[offset + 2], dzr = out[offset + 3];
+        double dr = (2.0 / 3.0) * (dxr + dyr + dzr);
+        out[offset + 1] = dr - dxr;
+        out[offset + 2] = dr - dyr;
+        out[offset + 3] = dr - dzr;
+    }
+
+    /**
+     * {@link #noise3_XYBeforeZ(double, double, double)} with derivatives.
+     */
+    public void noise3_XYBeforeZWithDerivative(double x, double y, double z, double[] out, int offset) {
+        double xy = x + y;
+        double s2 = xy * -0.211324865405187;
+        double zz = z * 0.577350269189626;
+        double xr = x + s2 - zz, yr = y + s2 - zz;
+        double zr = xy * 0.577350269189626 + zz;
+        out[offset] = noise3_BCCWithDerivative(xr, yr, zr, out, offset);
+
+        double dxr = out[offset + 1], dyr = out[offset + 2], dzr = out[offset + 3];
+        double ds2 = (dxr + dyr) * -0.211324865405187 + dzr * 0.577350269189626;
+        out[offset + 1] = dxr + ds2;
+        out[offset + 2] = dyr + ds2;
+        out[offset + 3] = (dzr - dxr - dyr) * 0.577350269189626;
+    }
+
+    /**
+     * {@link #noise3_XZBeforeY(double, double, double)} with derivatives.
+     */
+    public void noise3_XZBeforeYWithDerivative(double x, double y, double z, double[] out, int offset) {
+        double xz = x + z;
+        double s2 = xz * -0.211324865405187;
+        double yy = y * 0.577350269189626;
+        double xr = x + s2 - yy; double zr = z + s2 - yy;
+        double yr = xz * 0.577350269189626 + yy;
+        out[offset] = noise3_BCCWithDerivative(xr, yr, zr, out, offset);
+
+        double dxr = out[offset + 1], dyr = out[offset + 2], dzr = out[offset + 3];
+        double ds2 = (dxr + dzr) * -0.211324865405187 + dyr * 0.577350269189626;
+        out[offset + 1] = dxr + ds2;
+        out[offset + 2] = (dyr - dxr - dzr) * 0.577350269189626;
+        out[offset + 3] = dzr + ds2;
+    }
+
+    /**
+     * Batch version of {@link #noise3_ClassicWithDerivative(double, double, double, double[], int)}.
+     * Results for point i are written to out[i * 4] through out[i * 4 + 3].
+     */
+    public void noise3_ClassicWithDerivative(double[] xs, double[] ys, double[] zs, double[] out, int count) {
+        for (int i = 0; i < count; i++) {
+            noise3_ClassicWithDerivative(xs[i], ys[i], zs[i], out, i << 2);
+        }
+    }
+
+    /**
+     * Batch version of {@link #noise3_XYBeforeZWithDerivative(double, double, double, double[], int)}.
+     * Results for point i are written to out[i * 4] through out[i * 4 + 3].
+     */
+    public void noise3_XYBeforeZWithDerivative(double[] xs, double[] ys, double[] zs, double[] out, int count) {
+        for (int i = 0; i < count; i++) {
+            noise3_XYBeforeZWithDerivative(xs[i], ys[i], zs[i], out, i << 2);
+        }
+    }
+
+    /**
+     * Batch version of {@link #noise3_XZBeforeYWithDerivative(double, double, double, double[], int)}.
+     * Results for point i are written to out[i * 4] through out[i * 4 + 3].
+     */
+    public void noise3_XZBeforeYWithDerivative(double[] xs, double[] ys, double[] zs, double[] out, int count) {
+        for (int i = 0; i < count; i++) {
+            noise3_XZBeforeYWithDerivative(xs[i], ys[i], zs[i], out, i << 2);
+        }
+    }
+
+    /**
+     * Per-thread scratch holding one octave's value and derivatives, so derivative sampling doesn't allocate.
+     */
+    private static final ThreadLocal<double[]> OCTAVE_DERIVATIVE = ThreadLocal.withInitial(() -> new double[4]);
+
+    /**
+     * {@link #GetNoise(float, float, float)} with derivatives, written to out in the same layout as above.
+     * Octaves crossing zero have an undefined derivative; 0 is used for those octaves.
+     */
+    public void GetNoiseWithDerivative(float x, float y, float z, float[] out, int offset) {
+        GetNoiseWithDerivative(x, y, z, out, offset, OCTAVE_DERIVATIVE.get());
+    }
+
+    /**
+     * Batch version of {@link #GetNoiseWithDerivative(float, float, float, float[], int)}.
+     * Results for point i are written to out[i * 4] through out[i * 4 + 3].
+     */
+    public void GetNoiseWithDerivative(float[] xs, float[] ys, float[] zs, float[] out, int count) {
+        double[] octave = OCTAVE_DERIVATIVE.get();
+        for (int i = 0; i < count; i++) {
+            GetNoiseWithDerivative(xs[i], ys[i], zs[i], out, i << 2, octave);
+        }
+    }
+
+    private void GetNoiseWithDerivative(float x, float y, float z, float[] out, int offset, double[] octave) {
+        float scale = (float) frequency;
+        x *= frequency;
+        y *= frequency;
+        z *= frequency;
+
+        noise3_XZBeforeYWithDerivative(x, y, z, octave, 0);
+        float sum = 1 - (float)Math.abs(octave[0]);
+        double weight = -Math.signum(octave[0]) * scale;
+        double dx = octave[1] * weight, dy = octave[2] * weight, dz = octave[3] * weight;
+        float amp = 1;
+
+        for (int i = 1; i < octaves; i++) {
+            x *= lacunarity;
+            y *= lacunarity;
+            z *= lacunarity;
+            scale *= lacunarity;
+
+            amp *= gain;
+            noise3_XZBeforeYWithDerivative(x, y, z, octave, 0);
+            sum -= (1 -  (float)Math.abs(octave[0])) * amp;
+
+            weight = Math.signum(octave[0]) * amp * scale;
+            dx += octave[1] * weight;
+            dy += octave[2] * weight;
+            dz += octave[3] * weight;
+        }
+
+        out[offset] = sum;
+        out[offset + 1] = (float) dx;
+        out[offset + 2] = (float) dy;
+        out[offset + 3] = (float) dz;
+    }
+
     public void setOctaves(int octaves) {
         this.octaves = octaves;
     }
@@ -230,25 +841,69 @@ public class OpenSimplex2S implements INoiseLibrary {
 
         // Point contributions
         double value = 0;
-        LatticePoint3D c = LOOKUP_3D[index];
-        while (c != null) {
-            double dxr = xri + c.dxr, dyr = yri + c.dyr, dzr = zri + c.dzr;
+        int c = index * LOOKUP_3D_POINTS;
+        while (c >= 0) {
+            int d = c << 2;
+            double dxr = xri + LOOKUP_3D_D[d], dyr = yri + LOOKUP_3D_D[d | 1], dzr = zri + LOOKUP_3D_D[d | 2];
             double attn = 0.75 - dxr * dxr - dyr * dyr - dzr * dzr;
             if (attn < 0) {
-                c = c.nextOnFailure;
+                c = LOOKUP_3D_NEXT_ON_FAILURE[c];
             } else {
-                int pxm = (xrb + c.xrv) & PMASK, pym = (yrb + c.yrv) & PMASK, pzm = (zrb + c.zrv) & PMASK;
-                Grad3 grad = permGrad3[perm[perm[pxm] ^ pym] ^ pzm];
-                double extrapolation = grad.dx * dxr + grad.dy * dyr + grad.dz * dzr;
+                int pxm = (xrb + LOOKUP_3D_V[d]) & PMASK, pym = (yrb + LOOKUP_3D_V[d | 1]) & PMASK, pzm = (zrb + LOOKUP_3D_V[d | 2]) & PMASK;
+                int g = permGrad3[perm[perm[pxm] ^ pym] ^ pzm];
+                double extrapolation = GRADIENTS_3D[g] * dxr + GRADIENTS_3D[g | 1] * dyr + GRADIENTS_3D[g | 2] * dzr;
 
                 attn *= attn;
                 value += attn * attn * extrapolation;
-                c = c.nextOnSuccess;
+                c = LOOKUP_3D_NEXT_ON_SUCCESS[c];
             }
         }
         return value;
     }
 
+    /**
+     * Same as {@link #noise3_BCC(double, double, double)}, also writing the derivatives
+     * with respect to (xr, yr, zr) to out[offset + 1] through out[offset + 3].
+     */
+    private double noise3_BCCWithDerivative(double xr, double yr, double zr, double[] out, int offset) {
+        int xrb = fastFloor(xr), yrb = fastFloor(yr), zrb = fastFloor(zr);
+        double xri = xr - xrb, yri = yr - yrb, zri = zr - zrb;
+
+        int xht = (int)(xri + 0.5), yht = (int)(yri + 0.5), zht = (int)(zri + 0.5);
+        int index = (xht << 0) | (yht << 1) | (zht << 2);
+
+        double value = 0, dx = 0, dy = 0, dz = 0;
+        int c = index * LOOKUP_3D_POINTS;
+        while (c >= 0) {
+            int d = c << 2;
+            double dxr = xri + LOOKUP_3D_D[d], dyr = yri + LOOKUP_3D_D[d | 1], dzr = zri + LOOKUP_3D_D[d | 2];
+            double attn = 0.75 - dxr * dxr - dyr * dyr - dzr * dzr;
+            if (attn < 0) {
+                c = LOOKUP_3D_NEXT_ON_FAILURE[c];
+            } else {
+                int pxm = (xrb + LOOKUP_3D_V[d]) & PMASK, pym = (yrb + LOOKUP_3D_V[d | 1]) & PMASK, pzm = (zrb + LOOKUP_3D_V[d | 2]) & PMASK;
+                int g = permGrad3[perm[perm[pxm] ^ pym] ^ pzm];
+                double gx = GRADIENTS_3D[g], gy = GRADIENTS_3D[g | 1], gz = GRADIENTS_3D[g | 2];
+                double extrapolation = gx * dxr + gy * dyr + gz * dzr;
+
+                // d/dx of attn^4 * extrapolation = attn^4 * gx - 8 * attn^3 * extrapolation * dxr
+                double attn2 = attn * attn;
+                double attn4 = attn2 * attn2;
+                double falloff = -8 * attn2 * attn * extrapolation;
+                dx += attn4 * gx + falloff * dxr;
+                dy += attn4 * gy + falloff * dyr;
+                dz += attn4 * gz + falloff * dzr;
+
+                value += attn4 * extrapolation;
+                c = LOOKUP_3D_NEXT_ON_SUCCESS[c];
+            }
+        }
+        out[offset + 1] = dx;
+        out[offset + 2] = dy;
+        out[offset + 3] = dz;
+        return value;
+    }
+
     /*
      * Utility
      */
@@ -262,11 +917,22 @@ public class OpenSimplex2S implements INoiseLibrary {
      * Definitions
      */
 
-    private static final LatticePoint2D[] LOOKUP_2D;
-    private static final LatticePoint3D[] LOOKUP_3D;
+    /*
+     * Lattice point lookups are stored as flat, interleaved arrays.
+     * 2D points are (dx, dy) / (xsv, ysv) pairs, 4 points per index.
+     * 3D points are (dxr, dyr, dzr, 0) / (xrv, yrv, zrv, 0) quads, 14 points per octant,
+     * with the pruned traversal order given by the next-point index arrays (-1 ends the traversal).
+     */
+    private static final int LOOKUP_3D_POINTS = 14;
+    private static final double[] LOOKUP_2D_D;
+    private static final int[] LOOKUP_2D_V;
+    private static final double[] LOOKUP_3D_D;
+    private static final int[] LOOKUP_3D_V;
+    private static final int[] LOOKUP_3D_NEXT_ON_FAILURE;
+    private static final int[] LOOKUP_3D_NEXT_ON_SUCCESS;
     static {
-        LOOKUP_2D = new LatticePoint2D[8 * 4];
-        LOOKUP_3D = new LatticePoint3D[8];
+        LatticePoint2D[] lookup2D = new LatticePoint2D[8 * 4];
+        LatticePoint3D[] lookup3D = new LatticePoint3D[8];
 
         for (int i = 0; i < 8; i++) {
             int i1, j1, i2, j2;
@@ -277,10 +943,10 @@ public class OpenSimplex2S implements INoiseLibrary {
                 if ((i & 2) != 0) { i1 = 2; j1 = 1; } else { i1 = 0; j1 = 1; }
                 if ((i & 4) != 0) { i2 = 1; j2 = 2; } else { i2 = 1; j2 = 0; }
             }
-            LOOKUP_2D[i * 4 + 0] = new LatticePoint2D(0, 0);
-            LOOKUP_2D[i * 4 + 1] = new LatticePoint2D(1, 1);
-            LOOKUP_2D[i * 4 + 2] = new LatticePoint2D(i1, j1);
-            LOOKUP_2D[i * 4 + 3] = new LatticePoint2D(i2, j2);
+            lookup2D[i * 4 + 0] = new LatticePoint2D(0, 0);
+            lookup2D[i * 4 + 1] = new LatticePoint2D(1, 1);
+            lookup2D[i * 4 + 2] = new LatticePoint2D(i1, j1);
+            lookup2D[i * 4 + 3] = new LatticePoint2D(i2, j2);
         }
 
         for (int i = 0; i < 8; i++) {
@@ -344,8 +1010,38 @@ public class OpenSimplex2S implements INoiseLibrary {
             cC.nextOnFailure = cD; cC.nextOnSuccess = null;
             cD.nextOnFailure = cD.nextOnSuccess = null;
 
-            LOOKUP_3D[i] = c0;
+            lookup3D[i] = c0;
+
+        }
+
+        LOOKUP_2D_D = new double[lookup2D.length * 2];
+        LOOKUP_2D_V = new int[lookup2D.length * 2];
+        for (int i = 0; i < lookup2D.length; i++) {
+            LatticePoint2D c = lookup2D[i];
+            LOOKUP_2D_D[i * 2] = c.dx; LOOKUP_2D_D[i * 2 + 1] = c.dy;
+            LOOKUP_2D_V[i * 2] = c.xsv; LOOKUP_2D_V[i * 2 + 1] = c.ysv;
+        }
 
+        // Number each octant's points in list order. Following nextOnFailure from the first point visits every point.
+        for (int i = 0; i < 8; i++) {
+            int n = i * LOOKUP_3D_POINTS;
+            for (LatticePoint3D c = lookup3D[i]; c != null; c = c.nextOnFailure) {
+                c.index = n++;
+            }
+        }
+
+        LOOKUP_3D_D = new double[8 * LOOKUP_3D_POINTS * 4];
+        LOOKUP_3D_V = new int[8 * LOOKUP_3D_POINTS * 4];
+        LOOKUP_3D_NEXT_ON_FAILURE = new int[8 * LOOKUP_3D_POINTS];
+        LOOKUP_3D_NEXT_ON_SUCCESS = new int[8 * LOOKUP_3D_POINTS];
+        for (int i = 0; i < 8; i++) {
+            for (LatticePoint3D c = lookup3D[i]; c != null; c = c.nextOnFailure) {
+                int d = c.index * 4;
+                LOOKUP_3D_D[d] = c.dxr; LOOKUP_3D_D[d + 1] = c.dyr; LOOKUP_3D_D[d + 2] = c.dzr;
+                LOOKUP_3D_V[d] = c.xrv; LOOKUP_3D_V[d + 1] = c.yrv; LOOKUP_3D_V[d + 2] = c.zrv;
+                LOOKUP_3D_NEXT_ON_FAILURE[c.index] = c.nextOnFailure == null ? -1 : c.nextOnFailure.index;
+                LOOKUP_3D_NEXT_ON_SUCCESS[c.index] = c.nextOnSuccess == null ? -1 : c.nextOnSuccess.index;
+            }
         }
     }
 
@@ -363,6 +1059,7 @@ public class OpenSimplex2S implements INoiseLibrary {
     private static class LatticePoint3D {
         public double dxr, dyr, dzr;
         public int xrv, yrv, zrv;
+        int index;
         LatticePoint3D nextOnFailure, nextOnSuccess;
         public LatticePoint3D(int xrv, int yrv, int zrv, int lattice) {
             this.dxr = -xrv + lattice * 0.5; this.dyr = -yrv + lattice * 0.5; this.dzr = -zrv + lattice * 0.5;
@@ -374,6 +1071,10 @@ public class OpenSimplex2S implements INoiseLibrary {
      * Gradients
      */
 
+    /**
+     * @deprecated Gradients are now stored in flat arrays. No longer used internally.
+     */
+    @Deprecated
     public static class Grad2 {
         double dx, dy;
         public Grad2(double dx, double dy) {
@@ -381,6 +1082,10 @@ public class OpenSimplex2S implements INoiseLibrary {
         }
     }
 
+    /**
+     * @deprecated Gradients are now stored in flat arrays. No longer used internally.
+     */
+    @Deprecated
     public static class Grad3 {
         double dx, dy, dz;
         public Grad3(double dx, double dy, double dz) {
@@ -390,101 +1095,99 @@ public class OpenSimplex2S implements INoiseLibrary {
 
     public static final double N2 = 0.05481866495625118;
     public static final double N3 = 0.2781926117527186;
-    private static final Grad2[] GRADIENTS_2D;
-    private static final Grad3[] GRADIENTS_3D;
+
+    /*
+     * Gradient vectors, stored interleaved: (dx, dy) for 2D, and (dx, dy, dz, 0) for 3D.
+     * 3D gradients are padded to four components so a gradient's offset is a shift away from its index.
+     */
+    private static final int GRADIENTS_2D_COUNT = 24;
+    private static final int GRADIENTS_3D_COUNT = 48;
+    private static final double[] GRADIENTS_2D;
+    private static final double[] GRADIENTS_3D;
     static {
 
-        GRADIENTS_2D = new Grad2[PSIZE];
-        Grad2[] grad2 = {
-            new Grad2( 0.130526192220052,  0.99144486137381),
-            new Grad2( 0.38268343236509,   0.923879532511287),
-            new Grad2( 0.608761429008721,  0.793353340291235),
-            new Grad2( 0.793353340291235,  0.608761429008721),
-            new Grad2( 0.923879532511287,  0.38268343236509),
-            new Grad2( 0.99144486137381,   0.130526192220051),
-            new Grad2( 0.99144486137381,  -0.130526192220051),
-            new Grad2( 0.923879532511287, -0.38268343236509),
-            new Grad2( 0.793353340291235, -0.60876142900872),
-            new Grad2( 0.608761429008721, -0.793353340291235),
-            new Grad2( 0.38268343236509,  -0.923879532511287),
-            new Grad2( 0.130526192220052, -0.99144486137381),
-            new Grad2(-0.130526192220052, -0.99144486137381),
-            new Grad2(-0.38268343236509,  -0.923879532511287),
-            new Grad2(-0.608761429008721, -0.793353340291235),
-            new Grad2(-0.793353340291235, -0.608761429008721),
-            new Grad2(-0.923879532511287, -0.38268343236509),
-            new Grad2(-0.99144486137381,  -0.130526192220052),
-            new Grad2(-0.99144486137381,   0.130526192220051),
-            new Grad2(-0.923879532511287,  0.38268343236509),
-            new Grad2(-0.793353340291235,  0.608761429008721),
-            new Grad2(-0.608761429008721,  0.793353340291235),
-            new Grad2(-0.38268343236509,   0.923879532511287),
-            new Grad2(-0.130526192220052,  0.99144486137381)
-        };
-        Grad2[] grad2XBeforeY = new Grad2[grad2.length];
-        for (int i = 0; i < grad2.length; i++) {
-            grad2[i].dx /= N2; grad2[i].dy /= N2;
-        }
-        for (int i = 0; i < PSIZE; i++) {
-            GRADIENTS_2D[i] = grad2[i % grad2.length];
-        }
-
-        GRADIENTS_3D = new Grad3[PSIZE];
-        Grad3[] grad3 = {
-            new Grad3(-2.22474487139,      -2.22474487139,      -1.0),
-            new Grad3(-2.22474487139,      -2.22474487139,       1.0),
-            new Grad3(-3.0862664687972017, -1.1721513422464978,  0.0),
-            new Grad3(-1.1721513422464978, -3.0862664687972017,  0.0),
-            new Grad3(-2.22474487139,      -1.0,                -2.22474487139),
-            new Grad3(-2.22474487139,       1.0,                -2.22474487139),
-            new Grad3(-1.1721513422464978,  0.0,                -3.0862664687972017),
-            new Grad3(-3.0862664687972017,  0.0,                -1.1721513422464978),
-            new Grad3(-2.22474487139,      -1.0,                 2.22474487139),
-            new Grad3(-2.22474487139,       1.0,                 2.22474487139),
-            new Grad3(-3.0862664687972017,  0.0,                 1.1721513422464978),
-            new Grad3(-1.1721513422464978,  0.0,                 3.0862664687972017),
-            new Grad3(-2.22474487139,       2.22474487139,      -1.0),
-            new Grad3(-2.22474487139,       2.22474487139,       1.0),
-            new Grad3(-1.1721513422464978,  3.0862664687972017,  0.0),
-            new Grad3(-3.0862664687972017,  1.1721513422464978,  0.0),
-            new Grad3(-1.0,                -2.22474487139,      -2.22474487139),
-            new Grad3( 1.0,                -2.22474487139,      -2.22474487139),
-            new Grad3( 0.0,                -3.0862664687972017, -1.1721513422464978),
-            new Grad3( 0.0,                -1.1721513422464978, -3.0862664687972017),
-            new Grad3(-1.0,                -2.22474487139,       2.22474487139),
-            new Grad3( 1.0,                -2.22474487139,       2.22474487139),
-            new Grad3( 0.0,                -1.1721513422464978,  3.0862664687972017),
-            new Grad3( 0.0,                -3.0862664687972017,  1.1721513422464978),
-            new Grad3(-1.0,                 2.22474487139,      -2.22474487139),
-            new Grad3( 1.0,                 2.22474487139,      -2.22474487139),
-            new Grad3( 0.0,                 1.1721513422464978, -3.0862664687972017),
-            new Grad3( 0.0,                 3.0862664687972017, -1.1721513422464978),
-            new Grad3(-1.0,                 2.22474487139,       2.22474487139),
-            new Grad3( 1.0,                 2.22474487139,       2.22474487139),
-            new Grad3( 0.0,                 3.0862664687972017,  1.1721513422464978),
-            new Grad3( 0.0,                 1.1721513422464978,  3.0862664687972017),
-            new Grad3( 2.22474487139,      -2.22474487139,      -1.0),
-            new Grad3( 2.22474487139,      -2.22474487139,       1.0),
-            new Grad3( 1.1721513422464978, -3.0862664687972017,  0.0),
-            new Grad3( 3.0862664687972017, -1.1721513422464978,  0.0),
-            new Grad3( 2.22474487139,      -1.0,                -2.22474487139),
-            new Grad3( 2.22474487139,       1.0,                -2.22474487139),
-            new Grad3( 3.0862664687972017,  0.0,                -1.1721513422464978),
-            new Grad3( 1.1721513422464978,  0.0,                -3.0862664687972017),
-            new Grad3( 2.22474487139,      -1.0,                 2.22474487139),
-            new Grad3( 2.22474487139,       1.0,                 2.22474487139),
-            new Grad3( 1.1721513422464978,  0.0,                 3.0862664687972017),
-            new Grad3( 3.0862664687972017,  0.0,                 1.1721513422464978),
-            new Grad3( 2.22474487139,       2.22474487139,      -1.0),
-            new Grad3( 2.22474487139,       2.22474487139,       1.0),
-            new Grad3( 3.0862664687972017,  1.1721513422464978,  0.0),
-            new Grad3( 1.1721513422464978,  3.0862664687972017,  0.0)
+        GRADIENTS_2D = new double[] {
+             0.130526192220052, 0.99144486137381,
+             0.38268343236509, 0.923879532511287,
+             0.608761429008721, 0.793353340291235,
+             0.793353340291235, 0.608761429008721,
+             0.923879532511287, 0.38268343236509,
+             0.99144486137381, 0.130526192220051,
+             0.99144486137381, -0.130526192220051,
+             0.923879532511287, -0.38268343236509,
+             0.793353340291235, -0.60876142900872,
+             0.608761429008721, -0.793353340291235,
+             0.38268343236509, -0.923879532511287,
+             0.130526192220052, -0.99144486137381,
+            -0.130526192220052, -0.99144486137381,
+            -0.38268343236509, -0.923879532511287,
+            -0.608761429008721, -0.793353340291235,
+            -0.793353340291235, -0.608761429008721,
+            -0.923879532511287, -0.38268343236509,
+            -0.99144486137381, -0.130526192220052,
+            -0.99144486137381, 0.130526192220051,
+            -0.923879532511287, 0.38268343236509,
+            -0.793353340291235, 0.608761429008721,
+            -0.608761429008721, 0.793353340291235,
+            -0.38268343236509, 0.923879532511287,
+            -0.130526192220052, 0.99144486137381
         };
-        for (int i = 0; i < grad3.length; i++) {
-            grad3[i].dx /= N3; grad3[i].dy /= N3; grad3[i].dz /= N3;
+        for (int i = 0; i < GRADIENTS_2D.length; i++) {
+            GRADIENTS_2D[i] /= N2;
         }
-        for (int i = 0; i < PSIZE; i++) {
-            GRADIENTS_3D[i] = grad3[i % grad3.length];
+
+        GRADIENTS_3D = new double[] {
+            -2.22474487139, -2.22474487139, -1.0, 0,
+            -2.22474487139, -2.22474487139, 1.0, 0,
+            -3.0862664687972017, -1.1721513422464978, 0.0, 0,
+            -1.1721513422464978, -3.0862664687972017, 0.0, 0,
+            -2.22474487139, -1.0, -2.22474487139, 0,
+            -2.22474487139, 1.0, -2.22474487139, 0,
+            -1.1721513422464978, 0.0, -3.0862664687972017, 0,
+            -3.0862664687972017, 0.0, -1.1721513422464978, 0,
+            -2.22474487139, -1.0, 2.22474487139, 0,
+            -2.22474487139, 1.0, 2.22474487139, 0,
+            -3.0862664687972017, 0.0, 1.1721513422464978, 0,
+            -1.1721513422464978, 0.0, 3.0862664687972017, 0,
+            -2.22474487139, 2.22474487139, -1.0, 0,
+            -2.22474487139, 2.22474487139, 1.0, 0,
+            -1.1721513422464978, 3.0862664687972017, 0.0, 0,
+            -3.0862664687972017, 1.1721513422464978, 0.0, 0,
+            -1.0, -2.22474487139, -2.22474487139, 0,
+             1.0, -2.22474487139, -2.22474487139, 0,
+             0.0, -3.0862664687972017, -1.1721513422464978, 0,
+             0.0, -1.1721513422464978, -3.0862664687972017, 0,
+            -1.0, -2.22474487139, 2.22474487139, 0,
+             1.0, -2.22474487139, 2.22474487139, 0,
+             0.0, -1.1721513422464978, 3.0862664687972017, 0,
+             0.0, -3.0862664687972017, 1.1721513422464978, 0,
+            -1.0, 2.22474487139, -2.22474487139, 0,
+             1.0, 2.22474487139, -2.22474487139, 0,
+             0.0, 1.1721513422464978, -3.0862664687972017, 0,
+             0.0, 3.0862664687972017, -1.1721513422464978, 0,
+            -1.0, 2.22474487139, 2.22474487139, 0,
+             1.0, 2.22474487139, 2.22474487139, 0,
+             0.0, 3.0862664687972017, 1.1721513422464978, 0,
+             0.0, 1.1721513422464978, 3.0862664687972017, 0,
+             2.22474487139, -2.22474487139, -1.0, 0,
+             2.22474487139, -2.22474487139, 1.0, 0,
+             1.1721513422464978, -3.0862664687972017, 0.0, 0,
+             3.0862664687972017, -1.1721513422464978, 0.0, 0,
+             2.22474487139, -1.0, -2.22474487139, 0,
+             2.22474487139, 1.0, -2.22474487139, 0,
+             3.0862664687972017, 0.0, -1.1721513422464978, 0,
+             1.1721513422464978, 0.0, -3.0862664687972017, 0,
+             2.22474487139, -1.0, 2.22474487139, 0,
+             2.22474487139, 1.0, 2.22474487139, 0,
+             1.1721513422464978, 0.0, 3.0862664687972017, 0,
+             3.0862664687972017, 0.0, 1.1721513422464978, 0,
+             2.22474487139, 2.22474487139, -1.0, 0,
+             2.22474487139, 2.22474487139, 1.0, 0,
+             3.0862664687972017, 1.1721513422464978, 0.0, 0,
+             1.1721513422464978, 3.0862664687972017, 0.0, 0
+        };
+        for (int i = 0; i < GRADIENTS_3D.length; i++) {
+            GRADIENTS_3D[i] /= N3;
         }
     }
 }
\ No newline at end of file
@@ -0,0 +1,105 @@
+package com.yungnickyoung.minecraft.yungsapi.noise;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Fills large 2D or 3D noise regions in parallel, e.g. for map previews and pre-generation tooling.
+ * <p>
+ * The region is split into bands of whole rows of about {@link #LEAF_SAMPLES} samples, small enough to stay in cache,
+ * which are filled on a {@link ForkJoinPool}. Each band is filled through the noise's own {@link INoiseLibrary#FillNoise3D}
+ * and no sample depends on how the region was split, so the output is deterministic and identical to the serial result.
+ * </p>
+ * The noise must be safe to sample from multiple threads at once and must not be modified during the fill -
+ * e.g. a {@link FastNoise} created through {@link FastNoise#builder()}.
+ */
+public class RegionNoiseEvaluator {
+    private RegionNoiseEvaluator() {} // Private constructor prevents instantiation
+
+    /**
+     * Target number of samples filled by a single task (64 KiB of floats).
+     */
+    private static final int LEAF_SAMPLES = 16384;
+
+    /**
+     * Fills out[(y * depth + z) * width + x] with noise.GetNoise(x0 + x * step, y0 + y * step, z0 + z * step)
+     * for each x < width, y < height, z < depth, using the common pool.
+     */
+    public static void fill3D(INoiseLibrary noise, float[] out, float x0, float y0, float z0, int width, int height, int depth, float step) {
+        fill3D(ForkJoinPool.commonPool(), noise, out, x0, y0, z0, width, height, depth, step);
+    }
+
+    public static void fill3D(ForkJoinPool pool, INoiseLibrary noise, float[] out, float x0, float y0, float z0, int width, int height, int depth, float step) {
+        checkSize(out, (long) width * height * depth);
+        pool.invoke(new FillTask(noise, out, x0, y0, z0, width, depth, step, 0, height * depth, false));
+    }
+
+    /**
+     * Fills out[z * width + x] with noise.GetNoise(x0 + x * step, z0 + z * step)
+     * for each x < width, z < depth, using the common pool.
+     */
+    public static void fill2D(INoiseLibrary noise, float[] out, float x0, float z0, int width, int depth, float step) {
+        fill2D(ForkJoinPool.commonPool(), noise, out, x0, z0, width, depth, step);
+    }
+
+    public static void fill2D(ForkJoinPool pool, INoiseLibrary noise, float[] out, float x0, float z0, int width, int depth, float step) {
+        checkSize(out, (long) width * depth);
+        pool.invoke(new FillTask(noise, out, x0, 0, z0, width, depth, step, 0, depth, true));
+    }
+
+    private static void checkSize(float[] out, long samples) {
+        if (out.length < samples) {
+            throw new IllegalArgumentException("Output buffer holds " + out.length + " samples, but the region has " + samples);
+        }
+    }
+
+    /**
+     * Fills the rows [fromRow, toRow) of the region, splitting in half until reaching the leaf size.
+     * A row is a run of width samples along x. In 3D, row r covers y = r / depth, z = r % depth; in 2D, row r is z = r.
+     */
+    private static class FillTask extends RecursiveAction {
+        private final INoiseLibrary noise;
+        private final float[] out;
+        private final float x0, y0, z0, step;
+        private final int width, depth;
+        private final int fromRow, toRow;
+        private final boolean is2D;
+
+        FillTask(INoiseLibrary noise, float[] out, float x0, float y0, float z0, int width, int depth, float step, int fromRow, int toRow, boolean is2D) {
+            this.noise = noise;
+            this.out = out;
+            this.x0 = x0;
+            this.y0 = y0;
+            this.z0 = z0;
+            this.width = width;
+            this.depth = depth;
+            this.step = step;
+            this.fromRow = fromRow;
+            this.toRow = toRow;
+            this.is2D = is2D;
+        }
+
+        @Override
+        protected void compute() {
+            int rows = this.toRow - this.fromRow;
+            if (rows > 1 && (long) rows * this.width > LEAF_SAMPLES) {
+                int middle = this.fromRow + rows / 2;
+                invokeAll(
+                    new FillTask(this.noise, this.out, this.x0, this.y0, this.z0, this.width, this.depth, this.step, this.fromRow, middle, this.is2D),
+                    new FillTask(this.noise, this.out, this.x0, this.y0, this.z0, this.width, this.depth, this.step, middle, this.toRow, this.is2D));
+                return;
+            }
+
+            // Rows are filled into a scratch buffer with the same batch calls a serial fill makes, then copied into place
+            float[] row = new float[this.width];
+            for (int r = this.fromRow; r < this.toRow; r++) {
+                if (this.is2D) {
+                    this.noise.FillNoise2D(row, this.x0, this.z0 + r * this.step, this.width, 1, this.step);
+                } else {
+                    this.noise.FillNoise3D(row, this.x0, this.y0 + (r / this.depth) * this.step, this.z0 + (r % this.depth) * this.step, this.width, 1, 1, this.step);
+                }
+                System.arraycopy(row, 0, this.out, r * this.width, this.width);
+            }
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.yungnickyoung.minecraft.yungsapi.noise.graph;
+
+import com.mojang.serialization.Codec;
+import com.mojang.serialization.codecs.RecordCodecBuilder;
+
+/**
+ * Outputs the sum of its two inputs.
+ */
+public class AddNode implements NoiseNode {
+    public static final Codec<AddNode> CODEC = RecordCodecBuilder.create((builder) -> builder
+        .group(
+            NoiseNode.CODEC.fieldOf("a").forGetter(AddNode::getA),
+            NoiseNode.CODEC.fieldOf("b").forGetter(AddNode::getB))
+        .apply(builder, AddNode::new));
+
+    private final NoiseNode a;
+    private final NoiseNode b;
+
+    public AddNode(NoiseNode a, NoiseNode b) {
+        this.a = a;
+        this.b = b;
+    }
+
+    public NoiseNode getA() {
+        return this.a;
+    }
+
+    public NoiseNode getB() {
+        return this.b;
+    }
+
+    @Override
+    public NoiseNodeType getType() {
+        return NoiseNodeType.ADD;
+    }
+
+    @Override
+    public CompiledNoise compile() {
+        CompiledNoise a = this.a.compile();
+        CompiledNoise b = this.b.compile();
+
+        if (a.isConstant() && b.isConstant()) {
+            return CompiledNoise.constant(a.getConstantValue() + b.getConstantValue());
+        }
+        if (a.isConstant() || b.isConstant()) {
+            // Fold the constant side into an offset on the other
+            CompiledNoise.Function3D function = a.isConstant() ? b.getFunction() : a.getFunction();
+            float offset = a.isConstant() ? a.getConstantValue() : b.getConstantValue();
+            if (offset == 0) {
+                return a.isConstant() ? b : a;
+            }
+            return CompiledNoise.of((x, y, z) -> function.apply(x, y, z) + offset);
+        }
+
+        CompiledNoise.Function3D functionA = a.getFunction();
+        CompiledNoise.Function3D functionB = b.getFunction();
+        return CompiledNoise.of((x, y, z) -> functionA.apply(x, y, z) + functionB.apply(x, y, z));
+    }
+}
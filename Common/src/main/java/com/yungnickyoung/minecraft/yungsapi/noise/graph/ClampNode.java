@@ -0,0 +1,57 @@
+package com.yungnickyoung.minecraft.yungsapi.noise.graph;
+
+import com.mojang.serialization.Codec;
+import com.mojang.serialization.codecs.RecordCodecBuilder;
+
+/**
+ * Clamps its input to [min, max].
+ */
+public class ClampNode implements NoiseNode {
+    public static final Codec<ClampNode> CODEC = RecordCodecBuilder.create((builder) -> builder
+        .group(
+            NoiseNode.CODEC.fieldOf("input").forGetter(ClampNode::getInput),
+            Codec.FLOAT.fieldOf("min").forGetter(ClampNode::getMin),
+            Codec.FLOAT.fieldOf("max").forGetter(ClampNode::getMax))
+        .apply(builder, ClampNode::new));
+
+    private final NoiseNode input;
+    private final float min;
+    private final float max;
+
+    public ClampNode(NoiseNode input, float min, float max) {
+        this.input = input;
+        this.min = min;
+        this.max = max;
+    }
+
+    public NoiseNode getInput() {
+        return this.input;
+    }
+
+    public float getMin() {
+        return this.min;
+    }
+
+    public float getMax() {
+        return this.max;
+    }
+
+    @Override
+    public NoiseNodeType getType() {
+        return NoiseNodeType.CLAMP;
+    }
+
+    @Override
+    public CompiledNoise compile() {
+        CompiledNoise input = this.input.compile();
+        float min = this.min;
+        float max = this.max;
+
+        if (input.isConstant()) {
+            return CompiledNoise.constant(Math.max(min, Math.min(max, input.getConstantValue())));
+        }
+
+        CompiledNoise.Function3D function = input.getFunction();
+        return CompiledNoise.of((x, y, z) -> Math.max(min, Math.min(max, function.apply(x, y, z))));
+    }
+}
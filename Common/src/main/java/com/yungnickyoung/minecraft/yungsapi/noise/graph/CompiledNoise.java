@@ -0,0 +1,124 @@
+package com.yungnickyoung.minecraft.yungsapi.noise.graph;
+
+import com.yungnickyoung.minecraft.yungsapi.noise.FastNoise;
+import com.yungnickyoung.minecraft.yungsapi.noise.INoiseLibrary;
+
+import java.util.Arrays;
+
+/**
+ * Evaluator for a compiled noise graph.
+ * <p>
+ * Compilation fuses the whole graph into one chain of closures, each capturing its inputs' functions directly.
+ * Nodes are never consulted again after compilation, and evaluating a point allocates no intermediate arrays
+ * regardless of graph size. Constant subgraphs are folded into a single value.
+ * </p>
+ * Instances are safe to share between threads, as long as the graph's noise sources are
+ * (sources compiled from {@link NoiseNode}s always are).
+ */
+public final class CompiledNoise implements INoiseLibrary {
+    /**
+     * A fused noise function, as produced by compiling a node.
+     */
+    @FunctionalInterface
+    public interface Function3D {
+        float apply(float x, float y, float z);
+    }
+
+    private final Function3D function;
+    private final boolean constant;
+    private final float constantValue;
+
+    /**
+     * Set if the graph is a single FastNoise source, letting grid fills use its batch evaluation directly.
+     */
+    private final FastNoise source;
+
+    private CompiledNoise(Function3D function, boolean constant, float constantValue, FastNoise source) {
+        this.function = function;
+        this.constant = constant;
+        this.constantValue = constantValue;
+        this.source = source;
+    }
+
+    public static CompiledNoise of(Function3D function) {
+        return new CompiledNoise(function, false, 0, null);
+    }
+
+    public static CompiledNoise constant(float value) {
+        return new CompiledNoise((x, y, z) -> value, true, value, null);
+    }
+
+    /**
+     * @param noise The FastNoise to sample. Should not be modified afterwards - e.g. one created through {@link FastNoise#builder()}.
+     */
+    public static CompiledNoise source(FastNoise noise) {
+        return new CompiledNoise(noise::GetNoise, false, 0, noise);
+    }
+
+    public Function3D getFunction() {
+        return this.function;
+    }
+
+    public boolean isConstant() {
+        return this.constant;
+    }
+
+    /**
+     * @return The value of this noise if {@link #isConstant()}, otherwise 0.
+     */
+    public float getConstantValue() {
+        return this.constantValue;
+    }
+
+    @Override
+    public float GetNoise(float x, float y, float z) {
+        return this.function.apply(x, y, z);
+    }
+
+    @Override
+    public boolean IsAbove(float x, float y, float z, float threshold) {
+        return this.source != null ? this.source.IsAbove(x, y, z, threshold) : this.function.apply(x, y, z) > threshold;
+    }
+
+    @Override
+    public boolean IsInRange(float x, float y, float z, float min, float max) {
+        if (this.source != null) {
+            return this.source.IsInRange(x, y, z, min, max);
+        }
+        float value = this.function.apply(x, y, z);
+        return value >= min && value <= max;
+    }
+
+    /**
+     * 2D noise is the y = 0 plane of the graph, as with {@link #GetNoise(float, float)}.
+     */
+    @Override
+    public void FillNoise2D(float[] out, float x0, float z0, int width, int depth, float step) {
+        FillNoise3D(out, x0, 0, z0, width, 1, depth, step);
+    }
+
+    @Override
+    public void FillNoise3D(float[] out, float x0, float y0, float z0, int width, int height, int depth, float step) {
+        int count = width * height * depth;
+        if (this.constant) {
+            Arrays.fill(out, 0, count, this.constantValue);
+            return;
+        }
+        if (this.source != null) {
+            this.source.FillNoise3D(out, x0, y0, z0, width, height, depth, step);
+            return;
+        }
+
+        Function3D function = this.function;
+        int index = 0;
+        for (int y = 0; y < height; y++) {
+            float yf = y0 + y * step;
+            for (int z = 0; z < depth; z++) {
+                float zf = z0 + z * step;
+                for (int x = 0; x < width; x++) {
+                    out[index++] = function.apply(x0 + x * step, yf, zf);
+                }
+            }
+        }
+    }
+}
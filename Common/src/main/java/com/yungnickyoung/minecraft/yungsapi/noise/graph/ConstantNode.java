@@ -0,0 +1,34 @@
+package com.yungnickyoung.minecraft.yungsapi.noise.graph;
+
+import com.mojang.serialization.Codec;
+import com.mojang.serialization.codecs.RecordCodecBuilder;
+
+/**
+ * Outputs the same value everywhere.
+ */
+public class ConstantNode implements NoiseNode {
+    public static final Codec<ConstantNode> CODEC = RecordCodecBuilder.create((builder) -> builder
+        .group(
+            Codec.FLOAT.fieldOf("value").forGetter(ConstantNode::getValue))
+        .apply(builder, ConstantNode::new));
+
+    private final float value;
+
+    public ConstantNode(float value) {
+        this.value = value;
+    }
+
+    public float getValue() {
+        return this.value;
+    }
+
+    @Override
+    public NoiseNodeType getType() {
+        return NoiseNodeType.CONSTANT;
+    }
+
+    @Override
+    public CompiledNoise compile() {
+        return CompiledNoise.constant(this.value);
+    }
+}
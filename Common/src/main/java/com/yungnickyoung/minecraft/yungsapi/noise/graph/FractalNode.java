@@ -0,0 +1,122 @@
+package com.yungnickyoung.minecraft.yungsapi.noise.graph;
+
+import com.mojang.serialization.Codec;
+import com.mojang.serialization.DataResult;
+import com.mojang.serialization.codecs.RecordCodecBuilder;
+import com.yungnickyoung.minecraft.yungsapi.codec.CodecHelper;
+import com.yungnickyoung.minecraft.yungsapi.noise.FastNoise;
+
+/**
+ * Samples fractal {@link FastNoise}.
+ * The noise type is the base type being layered - Value, Perlin, Simplex or Cubic.
+ * Omitted settings use FastNoise's defaults.
+ */
+public class FractalNode implements NoiseNode {
+    private static final Codec<FastNoise.NoiseType> BASE_TYPE_CODEC = CodecHelper.enumCodec(FastNoise.NoiseType.class)
+        .flatXmap(FractalNode::checkBaseType, FractalNode::checkBaseType);
+
+    public static final Codec<FractalNode> CODEC = RecordCodecBuilder.create((builder) -> builder
+        .group(
+            BASE_TYPE_CODEC.fieldOf("noise_type").forGetter(FractalNode::getNoiseType),
+            Codec.INT.optionalFieldOf("seed", 1337).forGetter(FractalNode::getSeed),
+            Codec.FLOAT.optionalFieldOf("frequency", 0.01f).forGetter(FractalNode::getFrequency),
+            CodecHelper.enumCodec(FastNoise.Interp.class).optionalFieldOf("interp", FastNoise.Interp.Quintic).forGetter(FractalNode::getInterp),
+            CodecHelper.enumCodec(FastNoise.FractalType.class).optionalFieldOf("fractal_type", FastNoise.FractalType.FBM).forGetter(FractalNode::getFractalType),
+            Codec.intRange(1, 16).optionalFieldOf("octaves", 3).forGetter(FractalNode::getOctaves),
+            Codec.FLOAT.optionalFieldOf("lacunarity", 2.0f).forGetter(FractalNode::getLacunarity),
+            Codec.FLOAT.optionalFieldOf("gain", 0.5f).forGetter(FractalNode::getGain))
+        .apply(builder, FractalNode::new));
+
+    private final FastNoise.NoiseType noiseType;
+    private final int seed;
+    private final float frequency;
+    private final FastNoise.Interp interp;
+    private final FastNoise.FractalType fractalType;
+    private final int octaves;
+    private final float lacunarity;
+    private final float gain;
+
+    public FractalNode(FastNoise.NoiseType noiseType, int seed, float frequency, FastNoise.Interp interp,
+                       FastNoise.FractalType fractalType, int octaves, float lacunarity, float gain) {
+        this.noiseType = noiseType;
+        this.seed = seed;
+        this.frequency = frequency;
+        this.interp = interp;
+        this.fractalType = fractalType;
+        this.octaves = octaves;
+        this.lacunarity = lacunarity;
+        this.gain = gain;
+    }
+
+    public FastNoise.NoiseType getNoiseType() {
+        return this.noiseType;
+    }
+
+    public int getSeed() {
+        return this.seed;
+    }
+
+    public float getFrequency() {
+        return this.frequency;
+    }
+
+    public FastNoise.Interp getInterp() {
+        return this.interp;
+    }
+
+    public FastNoise.FractalType getFractalType() {
+        return this.fractalType;
+    }
+
+    public int getOctaves() {
+        return this.octaves;
+    }
+
+    public float getLacunarity() {
+        return this.lacunarity;
+    }
+
+    public float getGain() {
+        return this.gain;
+    }
+
+    @Override
+    public NoiseNodeType getType() {
+        return NoiseNodeType.FRACTAL;
+    }
+
+    @Override
+    public CompiledNoise compile() {
+        return CompiledNoise.source(FastNoise.builder()
+            .noiseType(toFractalType(this.noiseType))
+            .seed(this.seed)
+            .frequency(this.frequency)
+            .interp(this.interp)
+            .fractalType(this.fractalType)
+            .fractalOctaves(this.octaves)
+            .fractalLacunarity(this.lacunarity)
+            .fractalGain(this.gain)
+            .build());
+    }
+
+    private static DataResult<FastNoise.NoiseType> checkBaseType(FastNoise.NoiseType noiseType) {
+        return toFractalType(noiseType) != null
+            ? DataResult.success(noiseType)
+            : DataResult.error("Fractal noise requires a Value, Perlin, Simplex or Cubic base type, got " + noiseType);
+    }
+
+    private static FastNoise.NoiseType toFractalType(FastNoise.NoiseType noiseType) {
+        switch (noiseType) {
+            case Value:
+                return FastNoise.NoiseType.ValueFractal;
+            case Perlin:
+                return FastNoise.NoiseType.PerlinFractal;
+            case Simplex:
+                return FastNoise.NoiseType.SimplexFractal;
+            case Cubic:
+                return FastNoise.NoiseType.CubicFractal;
+            default:
+                return null;
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.yungnickyoung.minecraft.yungsapi.noise.graph;
+
+import com.mojang.serialization.Codec;
+import com.mojang.serialization.codecs.RecordCodecBuilder;
+
+/**
+ * Outputs the product of its two inputs.
+ */
+public class MulNode implements NoiseNode {
+    public static final Codec<MulNode> CODEC = RecordCodecBuilder.create((builder) -> builder
+        .group(
+            NoiseNode.CODEC.fieldOf("a").forGetter(MulNode::getA),
+            NoiseNode.CODEC.fieldOf("b").forGetter(MulNode::getB))
+        .apply(builder, MulNode::new));
+
+    private final NoiseNode a;
+    private final NoiseNode b;
+
+    public MulNode(NoiseNode a, NoiseNode b) {
+        this.a = a;
+        this.b = b;
+    }
+
+    public NoiseNode getA() {
+        return this.a;
+    }
+
+    public NoiseNode getB() {
+        return this.b;
+    }
+
+    @Override
+    public NoiseNodeType getType() {
+        return NoiseNodeType.MUL;
+    }
+
+    @Override
+    public CompiledNoise compile() {
+        CompiledNoise a = this.a.compile();
+        CompiledNoise b = this.b.compile();
+
+        if (a.isConstant() && b.isConstant()) {
+            return CompiledNoise.constant(a.getConstantValue() * b.getConstantValue());
+        }
+        if (a.isConstant() || b.isConstant()) {
+            // Fold the constant side into a scale on the other
+            CompiledNoise.Function3D function = a.isConstant() ? b.getFunction() : a.getFunction();
+            float scale = a.isConstant() ? a.getConstantValue() : b.getConstantValue();
+            if (scale == 0) {
+                return CompiledNoise.constant(0);
+            }
+            if (scale == 1) {
+                return a.isConstant() ? b : a;
+            }
+            return CompiledNoise.of((x, y, z) -> function.apply(x, y, z) * scale);
+        }
+
+        CompiledNoise.Function3D functionA = a.getFunction();
+        CompiledNoise.Function3D functionB = b.getFunction();
+        return CompiledNoise.of((x, y, z) -> functionA.apply(x, y, z) * functionB.apply(x, y, z));
+    }
+}
@@ -0,0 +1,30 @@
+package com.yungnickyoung.minecraft.yungsapi.noise.graph;
+
+import com.mojang.serialization.Codec;
+
+/**
+ * A node in a noise graph definition.
+ * <p>
+ * Graphs are plain data, loadable through {@link #CODEC}. Each node is serialized as an object
+ * whose {@code "type"} field selects the {@link NoiseNodeType}, e.g.
+ * </p>
+ * <pre>
+ * {
+ *   "type": "add",
+ *   "a": { "type": "fractal", "noise_type": "Simplex", "seed": 42, "frequency": 0.005 },
+ *   "b": { "type": "constant", "value": 0.25 }
+ * }
+ * </pre>
+ * A graph is evaluated by compiling its root node once with {@link #compile()}.
+ */
+public interface NoiseNode {
+    Codec<NoiseNode> CODEC = NoiseNodeType.CODEC.dispatch("type", NoiseNode::getType, NoiseNodeType::getCodec);
+
+    NoiseNodeType getType();
+
+    /**
+     * Compiles this node and all of its inputs into a single evaluator.
+     * Constant subgraphs are folded during compilation.
+     */
+    CompiledNoise compile();
+}
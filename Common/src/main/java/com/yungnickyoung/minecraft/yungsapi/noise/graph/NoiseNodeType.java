@@ -0,0 +1,48 @@
+package com.yungnickyoung.minecraft.yungsapi.noise.graph;
+
+import com.mojang.serialization.Codec;
+import com.mojang.serialization.DataResult;
+
+import java.util.function.Supplier;
+
+/**
+ * All available noise graph node types, keyed by the name used in the {@code "type"} field.
+ * Node codecs are resolved lazily, since most node codecs refer back to {@link NoiseNode#CODEC} for their inputs.
+ */
+public enum NoiseNodeType {
+    CONSTANT("constant", () -> ConstantNode.CODEC),
+    SOURCE("source", () -> SourceNode.CODEC),
+    FRACTAL("fractal", () -> FractalNode.CODEC),
+    WARP("warp", () -> WarpNode.CODEC),
+    ADD("add", () -> AddNode.CODEC),
+    MUL("mul", () -> MulNode.CODEC),
+    CLAMP("clamp", () -> ClampNode.CODEC),
+    SELECT("select", () -> SelectNode.CODEC);
+
+    public static final Codec<NoiseNodeType> CODEC = Codec.STRING.comapFlatMap(NoiseNodeType::byName, NoiseNodeType::getName);
+
+    private final String name;
+    private final Supplier<Codec<? extends NoiseNode>> codec;
+
+    NoiseNodeType(String name, Supplier<Codec<? extends NoiseNode>> codec) {
+        this.name = name;
+        this.codec = codec;
+    }
+
+    public String getName() {
+        return this.name;
+    }
+
+    public Codec<? extends NoiseNode> getCodec() {
+        return this.codec.get();
+    }
+
+    private static DataResult<NoiseNodeType> byName(String name) {
+        for (NoiseNodeType type : values()) {
+            if (type.name.equals(name)) {
+                return DataResult.success(type);
+            }
+        }
+        return DataResult.error("Unknown noise node type: " + name);
+    }
+}
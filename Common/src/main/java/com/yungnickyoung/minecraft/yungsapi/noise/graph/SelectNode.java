@@ -0,0 +1,70 @@
+package com.yungnickyoung.minecraft.yungsapi.noise.graph;
+
+import com.mojang.serialization.Codec;
+import com.mojang.serialization.codecs.RecordCodecBuilder;
+
+/**
+ * Outputs the "high" input wherever the selector is above the threshold, and the "low" input elsewhere.
+ * Only the chosen input is evaluated.
+ */
+public class SelectNode implements NoiseNode {
+    public static final Codec<SelectNode> CODEC = RecordCodecBuilder.create((builder) -> builder
+        .group(
+            NoiseNode.CODEC.fieldOf("selector").forGetter(SelectNode::getSelector),
+            Codec.FLOAT.optionalFieldOf("threshold", 0.0f).forGetter(SelectNode::getThreshold),
+            NoiseNode.CODEC.fieldOf("low").forGetter(SelectNode::getLow),
+            NoiseNode.CODEC.fieldOf("high").forGetter(SelectNode::getHigh))
+        .apply(builder, SelectNode::new));
+
+    private final NoiseNode selector;
+    private final float threshold;
+    private final NoiseNode low;
+    private final NoiseNode high;
+
+    public SelectNode(NoiseNode selector, float threshold, NoiseNode low, NoiseNode high) {
+        this.selector = selector;
+        this.threshold = threshold;
+        this.low = low;
+        this.high = high;
+    }
+
+    public NoiseNode getSelector() {
+        return this.selector;
+    }
+
+    public float getThreshold() {
+        return this.threshold;
+    }
+
+    public NoiseNode getLow() {
+        return this.low;
+    }
+
+    public NoiseNode getHigh() {
+        return this.high;
+    }
+
+    @Override
+    public NoiseNodeType getType() {
+        return NoiseNodeType.SELECT;
+    }
+
+    @Override
+    public CompiledNoise compile() {
+        CompiledNoise selector = this.selector.compile();
+        float threshold = this.threshold;
+
+        // A constant selector always picks the same branch
+        if (selector.isConstant()) {
+            return selector.getConstantValue() > threshold ? this.high.compile() : this.low.compile();
+        }
+
+        CompiledNoise.Function3D lowFunction = this.low.compile().getFunction();
+        CompiledNoise.Function3D highFunction = this.high.compile().getFunction();
+
+        // Goes through IsAbove so FastNoise selectors can stop evaluating octaves once the side of the threshold is known
+        return CompiledNoise.of((x, y, z) -> selector.IsAbove(x, y, z, threshold)
+            ? highFunction.apply(x, y, z)
+            : lowFunction.apply(x, y, z));
+    }
+}
@@ -0,0 +1,80 @@
+package com.yungnickyoung.minecraft.yungsapi.noise.graph;
+
+import com.mojang.serialization.Codec;
+import com.mojang.serialization.codecs.RecordCodecBuilder;
+import com.yungnickyoung.minecraft.yungsapi.codec.CodecHelper;
+import com.yungnickyoung.minecraft.yungsapi.noise.FastNoise;
+
+/**
+ * Samples a single {@link FastNoise} source.
+ * Omitted settings use FastNoise's defaults.
+ */
+public class SourceNode implements NoiseNode {
+    public static final Codec<SourceNode> CODEC = RecordCodecBuilder.create((builder) -> builder
+        .group(
+            CodecHelper.enumCodec(FastNoise.NoiseType.class).fieldOf("noise_type").forGetter(SourceNode::getNoiseType),
+            Codec.INT.optionalFieldOf("seed", 1337).forGetter(SourceNode::getSeed),
+            Codec.FLOAT.optionalFieldOf("frequency", 0.01f).forGetter(SourceNode::getFrequency),
+            CodecHelper.enumCodec(FastNoise.Interp.class).optionalFieldOf("interp", FastNoise.Interp.Quintic).forGetter(SourceNode::getInterp),
+            CodecHelper.enumCodec(FastNoise.CellularDistanceFunction.class).optionalFieldOf("cellular_distance_function", FastNoise.CellularDistanceFunction.Euclidean).forGetter(SourceNode::getCellularDistanceFunction),
+            CodecHelper.enumCodec(FastNoise.CellularReturnType.class).optionalFieldOf("cellular_return_type", FastNoise.CellularReturnType.CellValue).forGetter(SourceNode::getCellularReturnType))
+        .apply(builder, SourceNode::new));
+
+    private final FastNoise.NoiseType noiseType;
+    private final int seed;
+    private final float frequency;
+    private final FastNoise.Interp interp;
+    private final FastNoise.CellularDistanceFunction cellularDistanceFunction;
+    private final FastNoise.CellularReturnType cellularReturnType;
+
+    public SourceNode(FastNoise.NoiseType noiseType, int seed, float frequency, FastNoise.Interp interp,
+                      FastNoise.CellularDistanceFunction cellularDistanceFunction, FastNoise.CellularReturnType cellularReturnType) {
+        this.noiseType = noiseType;
+        this.seed = seed;
+        this.frequency = frequency;
+        this.interp = interp;
+        this.cellularDistanceFunction = cellularDistanceFunction;
+        this.cellularReturnType = cellularReturnType;
+    }
+
+    public FastNoise.NoiseType getNoiseType() {
+        return this.noiseType;
+    }
+
+    public int getSeed() {
+        return this.seed;
+    }
+
+    public float getFrequency() {
+        return this.frequency;
+    }
+
+    public FastNoise.Interp getInterp() {
+        return this.interp;
+    }
+
+    public FastNoise.CellularDistanceFunction getCellularDistanceFunction() {
+        return this.cellularDistanceFunction;
+    }
+
+    public FastNoise.CellularReturnType getCellularReturnType() {
+        return this.cellularReturnType;
+    }
+
+    @Override
+    public NoiseNodeType getType() {
+        return NoiseNodeType.SOURCE;
+    }
+
+    @Override
+    public CompiledNoise compile() {
+        return CompiledNoise.source(FastNoise.builder()
+            .noiseType(this.noiseType)
+            .seed(this.seed)
+            .frequency(this.frequency)
+            .interp(this.interp)
+            .cellularDistanceFunction(this.cellularDistanceFunction)
+            .cellularReturnType(this.cellularReturnType)
+            .build());
+    }
+}
@@ -0,0 +1,112 @@
+package com.yungnickyoung.minecraft.yungsapi.noise.graph;
+
+import com.mojang.serialization.Codec;
+import com.mojang.serialization.codecs.RecordCodecBuilder;
+import com.yungnickyoung.minecraft.yungsapi.math.Vector3f;
+import com.yungnickyoung.minecraft.yungsapi.noise.FastNoise;
+
+/**
+ * Samples its input at coordinates displaced by FastNoise gradient perturbation (domain warping).
+ * With more than one octave, fractal gradient perturbation is used.
+ */
+public class WarpNode implements NoiseNode {
+    public static final Codec<WarpNode> CODEC = RecordCodecBuilder.create((builder) -> builder
+        .group(
+            NoiseNode.CODEC.fieldOf("input").forGetter(WarpNode::getInput),
+            Codec.INT.optionalFieldOf("seed", 1337).forGetter(WarpNode::getSeed),
+            Codec.FLOAT.optionalFieldOf("frequency", 0.01f).forGetter(WarpNode::getFrequency),
+            Codec.FLOAT.optionalFieldOf("amplitude", 1.0f).forGetter(WarpNode::getAmplitude),
+            Codec.intRange(1, 16).optionalFieldOf("octaves", 1).forGetter(WarpNode::getOctaves),
+            Codec.FLOAT.optionalFieldOf("lacunarity", 2.0f).forGetter(WarpNode::getLacunarity),
+            Codec.FLOAT.optionalFieldOf("gain", 0.5f).forGetter(WarpNode::getGain))
+        .apply(builder, WarpNode::new));
+
+    /**
+     * Per-thread scratch for the warped position. Nested warps can share it, since the position is read
+     * into the input's arguments before the input is evaluated.
+     */
+    private static final ThreadLocal<Vector3f> POSITION = ThreadLocal.withInitial(() -> new Vector3f(0, 0, 0));
+
+    private final NoiseNode input;
+    private final int seed;
+    private final float frequency;
+    private final float amplitude;
+    private final int octaves;
+    private final float lacunarity;
+    private final float gain;
+
+    public WarpNode(NoiseNode input, int seed, float frequency, float amplitude, int octaves, float lacunarity, float gain) {
+        this.input = input;
+        this.seed = seed;
+        this.frequency = frequency;
+        this.amplitude = amplitude;
+        this.octaves = octaves;
+        this.lacunarity = lacunarity;
+        this.gain = gain;
+    }
+
+    public NoiseNode getInput() {
+        return this.input;
+    }
+
+    public int getSeed() {
+        return this.seed;
+    }
+
+    public float getFrequency() {
+        return this.frequency;
+    }
+
+    public float getAmplitude() {
+        return this.amplitude;
+    }
+
+    public int getOctaves() {
+        return this.octaves;
+    }
+
+    public float getLacunarity() {
+        return this.lacunarity;
+    }
+
+    public float getGain() {
+        return this.gain;
+    }
+
+    @Override
+    public NoiseNodeType getType() {
+        return NoiseNodeType.WARP;
+    }
+
+    @Override
+    public CompiledNoise compile() {
+        CompiledNoise input = this.input.compile();
+        if (input.isConstant() || this.amplitude == 0) {
+            return input;
+        }
+
+        FastNoise warp = FastNoise.builder()
+            .seed(this.seed)
+            .frequency(this.frequency)
+            .gradientPerturbAmp(this.amplitude)
+            .fractalOctaves(this.octaves)
+            .fractalLacunarity(this.lacunarity)
+            .fractalGain(this.gain)
+            .build();
+        CompiledNoise.Function3D function = input.getFunction();
+        boolean fractal = this.octaves > 1;
+
+        return CompiledNoise.of((x, y, z) -> {
+            Vector3f position = POSITION.get();
+            position.x = x;
+            position.y = y;
+            position.z = z;
+            if (fractal) {
+                warp.GradientPerturbFractal(position);
+            } else {
+                warp.GradientPerturb(position);
+            }
+            return function.apply(position.x, position.y, position.z);
+        });
+    }
+}
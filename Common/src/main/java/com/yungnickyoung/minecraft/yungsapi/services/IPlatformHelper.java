@@ -1,5 +1,7 @@
 package com.yungnickyoung.minecraft.yungsapi.services;
 
+import java.nio.file.Path;
+
 public interface IPlatformHelper {
     /**
      * Gets the name of the current platform
@@ -23,6 +25,13 @@ public interface IPlatformHelper {
      */
     boolean isDevelopmentEnvironment();
 
+    /**
+     * Gets the root directory of the current game instance.
+     *
+     * @return The game directory.
+     */
+    Path getGameDirectory();
+
     /**
      * @return true if Forge is currently running.
      */
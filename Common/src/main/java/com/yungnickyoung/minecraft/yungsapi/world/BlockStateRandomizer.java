@@ -3,7 +3,6 @@ package com.yungnickyoung.minecraft.yungsapi.world;
 import com.mojang.serialization.Codec;
 import com.mojang.serialization.codecs.RecordCodecBuilder;
 import com.yungnickyoung.minecraft.yungsapi.YungsApiCommon;
-import net.minecraft.Util;
 import net.minecraft.nbt.CompoundTag;
 import net.minecraft.nbt.ListTag;
 import net.minecraft.world.level.block.Block;
@@ -21,7 +20,7 @@ public class BlockStateRandomizer {
             .group(
                     Entry.CODEC.listOf().fieldOf("entries").forGetter((selector) -> selector.entries),
                     BlockState.CODEC.fieldOf("defaultBlockState").forGetter((selector) -> selector.defaultBlockState))
-            .apply(instance, BlockStateRandomizer::new));
+            .apply(instance, (entries, defaultBlockState) -> new BlockStateRandomizer(entries, defaultBlockState).compile()));
 
     /**
      * Map of BlockState to its corresponding probability.
@@ -36,22 +35,52 @@ public class BlockStateRandomizer {
      */
     private BlockState defaultBlockState = Blocks.AIR.defaultBlockState();
 
+    /**
+     * Sampling table compiled from the entries on first use, and discarded whenever they change.
+     */
+    private volatile RandomizerTable<BlockState> compiled;
+
+    /**
+     * Set once {@link #getEntries()} has handed out the live entry list. From then on the list and its entries
+     * can change without this randomizer knowing, so the compiled table is checked against them before each use.
+     */
+    private volatile boolean entriesShared;
+
+    /**
+     * The entries' BlockStates and the running sum of their probabilities, so adding an entry doesn't need to scan the others.
+     * Only kept while entries are being added: constructors drop it once their entries are in, and so does compiling the table.
+     * {@link #addBlock} rebuilds it from the entries when needed, and on every call once the entry list has been shared.
+     */
+    private Set<BlockState> entryValues;
+    private float totalProbability;
+
+    /**
+     * Version of the NBT format written by {@link #saveTag()}.
+     * Tags without a version use the original format of one compound tag per entry, which can still be read.
+     */
+    private static final int NBT_VERSION = 2;
+
+    /**
+     * Saves this randomizer in a compact format: the entries' registry ids in one int array,
+     * and their probabilities as raw float bits in another.
+     */
     public CompoundTag saveTag() {
         CompoundTag compoundTag = new CompoundTag();
+        compoundTag.putInt("version", NBT_VERSION);
 
         // Save default blockstate
         compoundTag.putInt("defaultBlockStateId", Block.BLOCK_STATE_REGISTRY.getId(this.defaultBlockState));
 
         // Save entries
-        ListTag entriesTag = Util.make(new ListTag(), (tag) -> {
-            this.entries.forEach((entry) -> {
-                CompoundTag entryTag = new CompoundTag();
-                entryTag.putInt("entryBlockStateId", Block.BLOCK_STATE_REGISTRY.getId(entry.blockState));
-                entryTag.putFloat("entryChance", entry.probability);
-                tag.add(entryTag);
-            });
-        });
-        compoundTag.put("entries", entriesTag);
+        int[] ids = new int[this.entries.size()];
+        int[] chances = new int[ids.length];
+        for (int i = 0; i < ids.length; i++) {
+            Entry entry = this.entries.get(i);
+            ids[i] = Block.BLOCK_STATE_REGISTRY.getId(entry.blockState);
+            chances[i] = Float.floatToRawIntBits(entry.probability);
+        }
+        compoundTag.putIntArray("entryIds", ids);
+        compoundTag.putIntArray("entryChances", chances);
 
         return compoundTag;
     }
@@ -60,6 +89,20 @@ public class BlockStateRandomizer {
         this.defaultBlockState = Block.BLOCK_STATE_REGISTRY.byId(compoundTag.getInt("defaultBlockStateId"));
         this.entries = new ArrayList<>();
 
+        if (compoundTag.getInt("version") >= NBT_VERSION) {
+            int[] ids = compoundTag.getIntArray("entryIds");
+            int[] chances = compoundTag.getIntArray("entryChances");
+            if (ids.length != chances.length) {
+                YungsApiCommon.LOGGER.warn("WARNING: {} has {} entries but {} chances!", this.getClass().getSimpleName(), ids.length, chances.length);
+            }
+            for (int i = 0; i < Math.min(ids.length, chances.length); i++) {
+                this.addBlock(Block.BLOCK_STATE_REGISTRY.byId(ids[i]), Float.intBitsToFloat(chances[i]));
+            }
+            this.compiled();
+            return;
+        }
+
+        // Legacy format
         ListTag entriesTag = compoundTag.getList("entries", 10);
         entriesTag.forEach(entryTag -> {
             CompoundTag entryCompoundTag = ((CompoundTag) entryTag);
@@ -67,16 +110,38 @@ public class BlockStateRandomizer {
             float chance = entryCompoundTag.getFloat("entryChance");
             this.addBlock(blockState, chance);
         });
+        this.compiled();
     }
 
     public BlockStateRandomizer(Map<BlockState, Float> entries, BlockState defaultBlockState) {
         this.entries = new ArrayList<>();
         entries.forEach(this::addBlock);
+        this.entryValues = null;
         this.defaultBlockState = defaultBlockState;
     }
 
+    /**
+     * The entries are copied, so later changes to the given list or its entries don't affect this randomizer.
+     */
     public BlockStateRandomizer(List<Entry> entries, BlockState defaultBlockState) {
-        this.entries = entries;
+        this.entries = new ArrayList<>(entries.size());
+        entries.forEach(entry -> this.entries.add(new Entry(entry.blockState, entry.probability)));
+        this.defaultBlockState = defaultBlockState;
+    }
+
+    /**
+     * Constructs a randomizer from parallel arrays, adding each BlockState with the probability at the same index.
+     * Entries are added as with {@link #addBlock}, so duplicates and entries exceeding a total probability of 1 are skipped.
+     */
+    public BlockStateRandomizer(BlockState[] blockStates, float[] probabilities, BlockState defaultBlockState) {
+        if (blockStates.length != probabilities.length) {
+            throw new IllegalArgumentException("Got " + blockStates.length + " blocks but " + probabilities.length + " probabilities");
+        }
+        this.entries = new ArrayList<>(blockStates.length);
+        for (int i = 0; i < blockStates.length; i++) {
+            this.addBlock(blockStates[i], probabilities[i]);
+        }
+        this.entryValues = null;
         this.defaultBlockState = defaultBlockState;
     }
 
@@ -98,6 +163,7 @@ public class BlockStateRandomizer {
         for (BlockState state : blockStates) {
             selector.addBlock(state, chance);
         }
+        selector.entryValues = null;
 
         return selector;
     }
@@ -107,20 +173,24 @@ public class BlockStateRandomizer {
      * @return The modified BlockSetSelector
      */
     public BlockStateRandomizer addBlock(BlockState blockState, float chance) {
+        Set<BlockState> values = entryValues();
+
         // Abort if BlockState already a part of this selector
-        if (entries.stream().anyMatch(entry -> entry.blockState.equals(blockState))) {
+        if (values.contains(blockState)) {
             YungsApiCommon.LOGGER.warn("WARNING: duplicate block {} added to BlockSelector!", blockState.toString());
             return this;
         }
 
         // Attempt to add BlockState to entries
-        float currTotal = entries.stream().map(entry -> entry.probability).reduce(Float::sum).orElse(0f);
-        float newTotal = currTotal + chance;
+        float newTotal = this.totalProbability + chance;
         if (newTotal > 1.0F) { // Total probability cannot exceed 1
             YungsApiCommon.LOGGER.warn("WARNING: block {} added to BlockSelector exceeds max probabiltiy of 1!", blockState.toString());
             return this;
         }
         entries.add(new Entry(blockState, chance));
+        values.add(blockState);
+        this.totalProbability = newTotal;
+        this.compiled = null;
         return this;
     }
 
@@ -130,19 +200,44 @@ public class BlockStateRandomizer {
      * to ensure reproducibility for the same world seed.
      */
     public BlockState get(Random random) {
-        float target = random.nextFloat();
-        float currBottom = 0;
+        return compiled().get(random.nextFloat());
+    }
 
-        for (Entry entry : entries) {
-            if (currBottom <= target && target < currBottom + entry.probability) {
-                return entry.blockState;
-            }
+    /**
+     * Randomly select count BlockStates, writing them to out[0] through out[count - 1].
+     * Equivalent to calling {@link #get(Random)} count times, without per-call overhead.
+     */
+    public void fill(Random random, BlockState[] out, int count) {
+        compiled().fill(random, out, count);
+    }
 
-            currBottom += entry.probability;
-        }
+    /**
+     * Same as {@link #fill(Random, BlockState[], int)}, writing the block state registry id of each selected BlockState instead.
+     * Ids are looked up in the registry as they are drawn, so they stay correct if the registry is remapped.
+     */
+    public void fillIds(Random random, int[] out, int count) {
+        compiled().fillIds(random, out, count, Block.BLOCK_STATE_REGISTRY::getId);
+    }
 
-        // No match found
-        return this.defaultBlockState;
+    /**
+     * Select a BlockState for the given block position, without any shared random state.
+     * The choice depends only on the seed and position, so positions can be decided independently,
+     * in any order and from multiple threads, with reproducible results. Each BlockState is chosen with the
+     * same probability as with {@link #get(Random)}.
+     * @param seed Seed for the choice, e.g. derived from the world seed and the structure piece
+     */
+    public BlockState get(long seed, int x, int y, int z) {
+        return compiled().get(RandomizerTable.positionalTarget(seed, x, y, z));
+    }
+
+    /**
+     * Randomly select a BlockState from this randomizer in constant time, regardless of the number of entries.
+     * Each BlockState has the same chance of being chosen as with {@link #get(Random)}, but the two do not choose
+     * the same BlockState for the same Random sequence, so use {@link #get(Random)} wherever existing generation must stay unchanged.
+     */
+    public BlockState getAliased(Random random) {
+        RandomizerTable<BlockState> table = compiled();
+        return table.valueAt(table.aliasIndex(random));
     }
 
     /**
@@ -151,6 +246,7 @@ public class BlockStateRandomizer {
      */
     public void setDefaultBlockState(BlockState blockState) {
         this.defaultBlockState = blockState;
+        this.compiled = null;
     }
 
     public Map<BlockState, Float> getEntriesAsMap() {
@@ -159,7 +255,13 @@ public class BlockStateRandomizer {
         return map;
     }
 
+    /**
+     * Returns the live list of entries. Changes made through it, or to the entries in it, are seen by the next draw.
+     * Once the list has been handed out, each draw first checks the compiled table against the entries,
+     * in time linear in their number.
+     */
     public List<Entry> getEntries() {
+        this.entriesShared = true;
         return entries;
     }
 
@@ -167,6 +269,86 @@ public class BlockStateRandomizer {
         return defaultBlockState;
     }
 
+    private Set<BlockState> entryValues() {
+        if (this.entryValues == null || this.entriesShared) {
+            // Summed in entry order, matching the total a one-by-one build would have accumulated
+            Set<BlockState> values = new HashSet<>();
+            float total = 0;
+            for (Entry entry : this.entries) {
+                values.add(entry.blockState);
+                total += entry.probability;
+            }
+            this.entryValues = values;
+            this.totalProbability = total;
+        }
+        return this.entryValues;
+    }
+
+    /**
+     * Compiles the sampling table now instead of on first use, and returns this randomizer.
+     * Randomizers with identical entries and default BlockState share a single compiled table, so this is called
+     * whenever a randomizer is decoded (through the codec, NBT or JSON), where the same definition is often decoded many times.
+     */
+    public BlockStateRandomizer compile() {
+        compiled();
+        return this;
+    }
+
+    /**
+     * Returns the compiled sampling table, compiling it first if the entries changed since it was last used.
+     * Concurrent callers may each compile an identical table; either way they end up with the same interned table.
+     */
+    private RandomizerTable<BlockState> compiled() {
+        RandomizerTable<BlockState> table = this.compiled;
+        if (table == null || this.entriesShared && !table.isCompiledFrom(this.entries, entry -> entry.blockState, entry -> entry.probability)) {
+            Object[] values = new Object[this.entries.size()];
+            float[] probabilities = new float[values.length];
+            for (int i = 0; i < values.length; i++) {
+                Entry entry = this.entries.get(i);
+                values[i] = entry.blockState;
+                probabilities[i] = entry.probability;
+            }
+            table = RandomizerTable.intern(new RandomizerTable<>(values, probabilities, this.defaultBlockState));
+            this.compiled = table;
+            this.entryValues = null;
+        }
+        return table;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Builds a randomizer in time linear in the number of entries.
+     * Entries are added as with {@link #addBlock}, so duplicates and entries exceeding a total probability of 1 are skipped with a warning.
+     */
+    public static class Builder {
+        private final BlockStateRandomizer randomizer = new BlockStateRandomizer();
+
+        public Builder add(BlockState blockState, float chance) {
+            this.randomizer.addBlock(blockState, chance);
+            return this;
+        }
+
+        public Builder addAll(Map<BlockState, Float> entries) {
+            entries.forEach(this::add);
+            return this;
+        }
+
+        public Builder defaultBlockState(BlockState blockState) {
+            this.randomizer.setDefaultBlockState(blockState);
+            return this;
+        }
+
+        /**
+         * Returns a new randomizer with the entries added so far. The builder can continue to be used afterwards.
+         */
+        public BlockStateRandomizer build() {
+            return new BlockStateRandomizer(this.randomizer.entries, this.randomizer.defaultBlockState);
+        }
+    }
+
     public static class Entry {
         public static Codec<Entry> CODEC = RecordCodecBuilder.create(instance -> instance
                 .group(
@@ -3,7 +3,6 @@ package com.yungnickyoung.minecraft.yungsapi.world;
 import com.mojang.serialization.Codec;
 import com.mojang.serialization.codecs.RecordCodecBuilder;
 import com.yungnickyoung.minecraft.yungsapi.YungsApiCommon;
-import net.minecraft.Util;
 import net.minecraft.core.Registry;
 import net.minecraft.nbt.CompoundTag;
 import net.minecraft.nbt.ListTag;
@@ -21,7 +20,7 @@ public class ItemRandomizer {
             .group(
                     Entry.CODEC.listOf().fieldOf("entries").forGetter((randomizer) -> randomizer.entries),
                     Registry.ITEM.byNameCodec().fieldOf("defaultItem").forGetter((randomizer) -> randomizer.defaultItem))
-            .apply(instance, ItemRandomizer::new));
+            .apply(instance, (entries, defaultItem) -> new ItemRandomizer(entries, defaultItem).compile()));
 
     /**
      * Map of Items to their corresponding probabilities.
@@ -36,22 +35,52 @@ public class ItemRandomizer {
      */
     private Item defaultItem = Items.AIR;
 
+    /**
+     * Sampling table compiled from the entries on first use, and discarded whenever they change.
+     */
+    private volatile RandomizerTable<Item> compiled;
+
+    /**
+     * Set once {@link #getEntries()} has handed out the live entry list. From then on the list and its entries
+     * can change without this randomizer knowing, so the compiled table is checked against them before each use.
+     */
+    private volatile boolean entriesShared;
+
+    /**
+     * The entries' Items and the running sum of their probabilities, so adding an entry doesn't need to scan the others.
+     * Only kept while entries are being added: constructors drop it once their entries are in, and so does compiling the table.
+     * {@link #addItem} rebuilds it from the entries when needed, and on every call once the entry list has been shared.
+     */
+    private Set<Item> entryValues;
+    private float totalProbability;
+
+    /**
+     * Version of the NBT format written by {@link #saveTag()}.
+     * Tags without a version use the original format of one compound tag per entry, which can still be read.
+     */
+    private static final int NBT_VERSION = 2;
+
+    /**
+     * Saves this randomizer in a compact format: the entries' registry ids in one int array,
+     * and their probabilities as raw float bits in another.
+     */
     public CompoundTag saveTag() {
         CompoundTag compoundTag = new CompoundTag();
+        compoundTag.putInt("version", NBT_VERSION);
 
         // Save default blockstate
         compoundTag.putInt("defaultItemId", Registry.ITEM.getId(this.defaultItem));
 
         // Save entries
-        ListTag entriesTag = Util.make(new ListTag(), (tag) -> {
-            this.entries.forEach((entry) -> {
-                CompoundTag entryTag = new CompoundTag();
-                entryTag.putInt("entryItemId", Registry.ITEM.getId(entry.item));
-                entryTag.putFloat("entryChance", entry.probability);
-                tag.add(entryTag);
-            });
-        });
-        compoundTag.put("entries", entriesTag);
+        int[] ids = new int[this.entries.size()];
+        int[] chances = new int[ids.length];
+        for (int i = 0; i < ids.length; i++) {
+            Entry entry = this.entries.get(i);
+            ids[i] = Registry.ITEM.getId(entry.item);
+            chances[i] = Float.floatToRawIntBits(entry.probability);
+        }
+        compoundTag.putIntArray("entryIds", ids);
+        compoundTag.putIntArray("entryChances", chances);
 
         return compoundTag;
     }
@@ -60,6 +89,20 @@ public class ItemRandomizer {
         this.defaultItem = Registry.ITEM.byId(compoundTag.getInt("defaultItemId"));
         this.entries = new ArrayList<>();
 
+        if (compoundTag.getInt("version") >= NBT_VERSION) {
+            int[] ids = compoundTag.getIntArray("entryIds");
+            int[] chances = compoundTag.getIntArray("entryChances");
+            if (ids.length != chances.length) {
+                YungsApiCommon.LOGGER.warn("WARNING: {} has {} entries but {} chances!", this.getClass().getSimpleName(), ids.length, chances.length);
+            }
+            for (int i = 0; i < Math.min(ids.length, chances.length); i++) {
+                this.addItem(Registry.ITEM.byId(ids[i]), Float.intBitsToFloat(chances[i]));
+            }
+            this.compiled();
+            return;
+        }
+
+        // Legacy format
         ListTag entriesTag = compoundTag.getList("entries", 10);
         entriesTag.forEach(entryTag -> {
             CompoundTag entryCompoundTag = ((CompoundTag) entryTag);
@@ -67,10 +110,31 @@ public class ItemRandomizer {
             float chance = entryCompoundTag.getFloat("entryChance");
             this.addItem(item, chance);
         });
+        this.compiled();
     }
 
+    /**
+     * The entries are copied, so later changes to the given list or its entries don't affect this randomizer.
+     */
     public ItemRandomizer(List<Entry> entries, Item defaultItem) {
-        this.entries = entries;
+        this.entries = new ArrayList<>(entries.size());
+        entries.forEach(entry -> this.entries.add(new Entry(entry.item, entry.probability)));
+        this.defaultItem = defaultItem;
+    }
+
+    /**
+     * Constructs a randomizer from parallel arrays, adding each Item with the probability at the same index.
+     * Entries are added as with {@link #addItem}, so duplicates and entries exceeding a total probability of 1 are skipped.
+     */
+    public ItemRandomizer(Item[] items, float[] probabilities, Item defaultItem) {
+        if (items.length != probabilities.length) {
+            throw new IllegalArgumentException("Got " + items.length + " items but " + probabilities.length + " probabilities");
+        }
+        this.entries = new ArrayList<>(items.length);
+        for (int i = 0; i < items.length; i++) {
+            this.addItem(items[i], probabilities[i]);
+        }
+        this.entryValues = null;
         this.defaultItem = defaultItem;
     }
 
@@ -92,6 +156,7 @@ public class ItemRandomizer {
         for (Item item : items) {
             selector.addItem(item, chance);
         }
+        selector.entryValues = null;
 
         return selector;
     }
@@ -101,20 +166,24 @@ public class ItemRandomizer {
      * @return The modified ItemSetSelector
      */
     public ItemRandomizer addItem(Item item, float chance) {
+        Set<Item> values = entryValues();
+
         // Abort if Item already a part of this selector
-        if (entries.stream().anyMatch(entry -> entry.item.equals(item))) {
+        if (values.contains(item)) {
             YungsApiCommon.LOGGER.warn("WARNING: duplicate item {} added to ItemSetSelector!", item.toString());
             return this;
         }
 
         // Attempt to add Item to entries
-        float currTotal = entries.stream().map(entry -> entry.probability).reduce(Float::sum).orElse(0f);
-        float newTotal = currTotal + chance;
+        float newTotal = this.totalProbability + chance;
         if (newTotal > 1) { // Total probability cannot exceed 1
             YungsApiCommon.LOGGER.warn("WARNING: item {} added to ItemSetSelector exceeds max probabiltiy of 1!", item.toString());
             return this;
         }
         entries.add(new Entry(item, chance));
+        values.add(item);
+        this.totalProbability = newTotal;
+        this.compiled = null;
         return this;
     }
 
@@ -124,19 +193,44 @@ public class ItemRandomizer {
      * to ensure reproducibility for the same world seed.
      */
     public Item get(Random random) {
-        float target = random.nextFloat();
-        float currBottom = 0;
+        return compiled().get(random.nextFloat());
+    }
 
-        for (Entry entry : entries) {
-            if (currBottom <= target && target < currBottom + entry.probability) {
-                return entry.item;
-            }
+    /**
+     * Randomly select count Items, writing them to out[0] through out[count - 1].
+     * Equivalent to calling {@link #get(Random)} count times, without per-call overhead.
+     */
+    public void fill(Random random, Item[] out, int count) {
+        compiled().fill(random, out, count);
+    }
 
-            currBottom += entry.probability;
-        }
+    /**
+     * Same as {@link #fill(Random, Item[], int)}, writing the item registry id of each selected Item instead.
+     * Ids are looked up in the registry as they are drawn, so they stay correct if the registry is remapped.
+     */
+    public void fillIds(Random random, int[] out, int count) {
+        compiled().fillIds(random, out, count, Registry.ITEM::getId);
+    }
 
-        // No match found
-        return this.defaultItem;
+    /**
+     * Select an Item for the given block position, without any shared random state.
+     * The choice depends only on the seed and position, so positions can be decided independently,
+     * in any order and from multiple threads, with reproducible results. Each Item is chosen with the
+     * same probability as with {@link #get(Random)}.
+     * @param seed Seed for the choice, e.g. derived from the world seed and the structure piece
+     */
+    public Item get(long seed, int x, int y, int z) {
+        return compiled().get(RandomizerTable.positionalTarget(seed, x, y, z));
+    }
+
+    /**
+     * Randomly select an Item from this randomizer in constant time, regardless of the number of entries.
+     * Each Item has the same chance of being chosen as with {@link #get(Random)}, but the two do not choose
+     * the same Item for the same Random sequence, so use {@link #get(Random)} wherever existing generation must stay unchanged.
+     */
+    public Item getAliased(Random random) {
+        RandomizerTable<Item> table = compiled();
+        return table.valueAt(table.aliasIndex(random));
     }
 
     /**
@@ -145,6 +239,7 @@ public class ItemRandomizer {
      */
     public void setDefaultItem(Item item) {
         this.defaultItem = item;
+        this.compiled = null;
     }
 
     public Map<Item, Float> getEntriesAsMap() {
@@ -153,7 +248,13 @@ public class ItemRandomizer {
         return map;
     }
 
+    /**
+     * Returns the live list of entries. Changes made through it, or to the entries in it, are seen by the next draw.
+     * Once the list has been handed out, each draw first checks the compiled table against the entries,
+     * in time linear in their number.
+     */
     public List<Entry> getEntries() {
+        this.entriesShared = true;
         return entries;
     }
 
@@ -161,6 +262,86 @@ public class ItemRandomizer {
         return defaultItem;
     }
 
+    private Set<Item> entryValues() {
+        if (this.entryValues == null || this.entriesShared) {
+            // Summed in entry order, matching the total a one-by-one build would have accumulated
+            Set<Item> values = new HashSet<>();
+            float total = 0;
+            for (Entry entry : this.entries) {
+                values.add(entry.item);
+                total += entry.probability;
+            }
+            this.entryValues = values;
+            this.totalProbability = total;
+        }
+        return this.entryValues;
+    }
+
+    /**
+     * Compiles the sampling table now instead of on first use, and returns this randomizer.
+     * Randomizers with identical entries and default Item share a single compiled table, so this is called
+     * whenever a randomizer is decoded (through the codec, NBT or JSON), where the same definition is often decoded many times.
+     */
+    public ItemRandomizer compile() {
+        compiled();
+        return this;
+    }
+
+    /**
+     * Returns the compiled sampling table, compiling it first if the entries changed since it was last used.
+     * Concurrent callers may each compile an identical table; either way they end up with the same interned table.
+     */
+    private RandomizerTable<Item> compiled() {
+        RandomizerTable<Item> table = this.compiled;
+        if (table == null || this.entriesShared && !table.isCompiledFrom(this.entries, entry -> entry.item, entry -> entry.probability)) {
+            Object[] values = new Object[this.entries.size()];
+            float[] probabilities = new float[values.length];
+            for (int i = 0; i < values.length; i++) {
+                Entry entry = this.entries.get(i);
+                values[i] = entry.item;
+                probabilities[i] = entry.probability;
+            }
+            table = RandomizerTable.intern(new RandomizerTable<>(values, probabilities, this.defaultItem));
+            this.compiled = table;
+            this.entryValues = null;
+        }
+        return table;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Builds a randomizer in time linear in the number of entries.
+     * Entries are added as with {@link #addItem}, so duplicates and entries exceeding a total probability of 1 are skipped with a warning.
+     */
+    public static class Builder {
+        private final ItemRandomizer randomizer = new ItemRandomizer();
+
+        public Builder add(Item item, float chance) {
+            this.randomizer.addItem(item, chance);
+            return this;
+        }
+
+        public Builder addAll(Map<Item, Float> entries) {
+            entries.forEach(this::add);
+            return this;
+        }
+
+        public Builder defaultItem(Item item) {
+            this.randomizer.setDefaultItem(item);
+            return this;
+        }
+
+        /**
+         * Returns a new randomizer with the entries added so far. The builder can continue to be used afterwards.
+         */
+        public ItemRandomizer build() {
+            return new ItemRandomizer(this.randomizer.entries, this.randomizer.defaultItem);
+        }
+    }
+
     public static class Entry {
         public static Codec<Entry> CODEC = RecordCodecBuilder.create(instance -> instance
                 .group(
@@ -0,0 +1,317 @@
+package com.yungnickyoung.minecraft.yungsapi.world;
+
+import com.google.common.collect.Interner;
+import com.google.common.collect.Interners;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.Random;
+import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+
+/**
+ * Immutable sampling table compiled from a randomizer's entries, shared by {@link BlockStateRandomizer}
+ * and {@link ItemRandomizer}.
+ * <p>
+ * {@link #indexOf(float)} picks the same entry as walking the entries and accumulating their probabilities,
+ * as the randomizers have always done, but with a binary search over the precomputed cumulative probabilities.
+ * The cumulative probabilities are accumulated in float in entry order, so every boundary is bit-identical
+ * to the one the linear walk computes.
+ * </p>
+ * <p>
+ * {@link #aliasIndex(Random)} additionally provides constant-time sampling from an alias table, which has the
+ * same distribution but does not pick the same entries for a given {@link Random} sequence.
+ * The alias table is only built on the first alias draw, since most tables are only ever sampled in entry order.
+ * </p>
+ * Tables are compared by content. Randomizers pass their tables through {@link #intern}, so randomizers
+ * with identical entries and default value share a single table.
+ */
+final class RandomizerTable<T> {
+    private static final Interner<RandomizerTable<?>> INTERNER = Interners.newWeakInterner();
+
+    private final Object[] values;
+    private final T defaultValue;
+
+    /**
+     * upperBounds[i] is the float sum of the probabilities of entries 0 through i.
+     * Entry i covers targets in [upperBounds[i - 1], upperBounds[i]).
+     */
+    private final float[] upperBounds;
+
+    /**
+     * False if the bounds ever decrease (negative or NaN probabilities), in which case binary search
+     * isn't equivalent to the linear walk and the walk is used instead.
+     */
+    private final boolean monotonic;
+
+    /**
+     * The raw probabilities, kept to build the alias table from if the bounds decrease. Null otherwise.
+     */
+    private final float[] probabilities;
+
+    /**
+     * Alias table over the entries plus the default value at index values.length, built on first use.
+     */
+    private volatile AliasTable aliasTable;
+
+    RandomizerTable(Object[] values, float[] probabilities, T defaultValue) {
+        this.values = values;
+        this.defaultValue = defaultValue;
+        this.upperBounds = new float[values.length];
+
+        boolean monotonic = true;
+        float total = 0;
+        for (int i = 0; i < values.length; i++) {
+            float next = total + probabilities[i];
+            monotonic &= next >= total;
+            this.upperBounds[i] = next;
+            total = next;
+        }
+        this.monotonic = monotonic;
+        this.probabilities = monotonic ? null : probabilities;
+    }
+
+    /**
+     * @return The index of the entry chosen by the given target in [0, 1), or {@link #size()} for the default value
+     */
+    int indexOf(float target) {
+        float[] bounds = this.upperBounds;
+        if (!this.monotonic) {
+            float bottom = 0;
+            for (int i = 0; i < bounds.length; i++) {
+                if (bottom <= target && target < bounds[i]) {
+                    return i;
+                }
+                bottom = bounds[i];
+            }
+            return bounds.length;
+        }
+
+        // First entry whose upper bound exceeds the target. Its lower bound is then <= target, since bounds only increase
+        int low = 0;
+        int high = bounds.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (bounds[mid] > target) {
+                high = mid;
+            } else {
+                low = mid + 1;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * @return The value at the given index, where {@link #size()} is the default value
+     */
+    @SuppressWarnings("unchecked")
+    T valueAt(int index) {
+        return index < this.values.length ? (T) this.values[index] : this.defaultValue;
+    }
+
+    T get(float target) {
+        return valueAt(indexOf(target));
+    }
+
+    /**
+     * Writes a value drawn as with {@link #get(float)} to out[i] for each i < count, drawing one float per value.
+     */
+    void fill(Random random, T[] out, int count) {
+        for (int i = 0; i < count; i++) {
+            out[i] = valueAt(indexOf(random.nextFloat()));
+        }
+    }
+
+    /**
+     * Same as {@link #fill(Random, Object[], int)}, writing the id of each value instead.
+     * Ids aren't part of the table, since registries can be remapped while a table is still in use,
+     * so they are looked up with the given function on each draw.
+     */
+    void fillIds(Random random, int[] out, int count, ToIntFunction<? super T> idOf) {
+        for (int i = 0; i < count; i++) {
+            out[i] = idOf.applyAsInt(valueAt(indexOf(random.nextFloat())));
+        }
+    }
+
+    /**
+     * Deterministic target in [0, 1) for the given seed and block position, for use with {@link #get(float)}.
+     * The position is hashed with the SplitMix64 finalizer, and the top 24 bits of the hash give the target,
+     * the same resolution as {@link Random#nextFloat()}.
+     */
+    static float positionalTarget(long seed, int x, int y, int z) {
+        long hash = seed
+                ^ (long) x * 0x9E3779B97F4A7C15L
+                ^ (long) y * 0xC2B2AE3D27D4EB4FL
+                ^ (long) z * 0x165667B19E3779F9L;
+        hash += 0x9E3779B97F4A7C15L;
+        hash = (hash ^ (hash >>> 30)) * 0xBF58476D1CE4E5B9L;
+        hash = (hash ^ (hash >>> 27)) * 0x94D049BB133111EBL;
+        hash ^= hash >>> 31;
+        return (hash >>> 40) * 0x1.0p-24f;
+    }
+
+    /**
+     * Constant-time draw from the alias table, consuming one int and one float from the random.
+     * @return The index of the chosen entry, or {@link #size()} for the default value
+     */
+    int aliasIndex(Random random) {
+        AliasTable table = aliasTable();
+        int column = random.nextInt(table.aliases.length);
+        return random.nextFloat() < table.probabilities[column] ? column : table.aliases[column];
+    }
+
+    /**
+     * Used by randomizers whose entries may have been changed in place since this table was compiled.
+     * @return True if compiling the given entries, in order, would give a table that samples exactly like this one
+     */
+    <E> boolean isCompiledFrom(List<E> entries, Function<? super E, ?> valueOf, ToDoubleFunction<? super E> probabilityOf) {
+        if (entries.size() != this.values.length) {
+            return false;
+        }
+
+        float total = 0;
+        for (int i = 0; i < this.values.length; i++) {
+            E entry = entries.get(i);
+            float probability = (float) probabilityOf.applyAsDouble(entry);
+            float next = total + probability;
+            if (!Objects.equals(valueOf.apply(entry), this.values[i])
+                    || Float.floatToIntBits(next) != Float.floatToIntBits(this.upperBounds[i])
+                    || !this.monotonic && Float.floatToIntBits(probability) != Float.floatToIntBits(this.probabilities[i])) {
+                return false;
+            }
+            total = next;
+        }
+        return true;
+    }
+
+    /**
+     * @return The number of entries, not counting the default value
+     */
+    int size() {
+        return this.values.length;
+    }
+
+    /**
+     * @return The canonical table equal to the given one. Tables are only held weakly, so unused tables can still be collected.
+     */
+    @SuppressWarnings("unchecked")
+    static <T> RandomizerTable<T> intern(RandomizerTable<T> table) {
+        return (RandomizerTable<T>) INTERNER.intern(table);
+    }
+
+    /**
+     * Tables are equal if they sample identically: same values, default value and cumulative probabilities.
+     * Tables with decreasing bounds are only equal to themselves, since their alias tables depend on the raw probabilities.
+     */
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof RandomizerTable)) {
+            return false;
+        }
+        RandomizerTable<?> other = (RandomizerTable<?>) obj;
+        return this.monotonic && other.monotonic
+                && Objects.equals(this.defaultValue, other.defaultValue)
+                && Arrays.equals(this.upperBounds, other.upperBounds)
+                && Arrays.equals(this.values, other.values);
+    }
+
+    @Override
+    public int hashCode() {
+        int hash = Objects.hashCode(this.defaultValue);
+        hash = 31 * hash + Arrays.hashCode(this.upperBounds);
+        return 31 * hash + Arrays.hashCode(this.values);
+    }
+
+    /**
+     * Returns the alias table, building it first if this is the first alias draw.
+     * Concurrent callers may each build an identical table; whichever is published last is kept.
+     */
+    private AliasTable aliasTable() {
+        AliasTable table = this.aliasTable;
+        if (table == null) {
+            table = new AliasTable(effectiveWeights());
+            this.aliasTable = table;
+        }
+        return table;
+    }
+
+    /**
+     * Probability of each outcome actually being chosen by {@link #indexOf(float)}, with the default value last.
+     * Entries only cover targets below 1, so ranges past a total of 1 are cut off.
+     */
+    private double[] effectiveWeights() {
+        double[] weights = new double[this.values.length + 1];
+        double covered = 0;
+        for (int i = 0; i < this.values.length; i++) {
+            double weight = this.monotonic
+                    ? Math.min(this.upperBounds[i], 1.0) - Math.min(i == 0 ? 0 : this.upperBounds[i - 1], 1.0)
+                    : Math.max(this.probabilities[i], 0);
+            weights[i] = Double.isNaN(weight) ? 0 : Math.max(weight, 0);
+            covered += weights[i];
+        }
+        weights[this.values.length] = Math.max(1.0 - covered, 0);
+        return weights;
+    }
+
+    private static final class AliasTable {
+        private final float[] probabilities;
+        private final int[] aliases;
+
+        /**
+         * Builds the alias table using Vose's method.
+         */
+        private AliasTable(double[] weights) {
+            int outcomes = weights.length;
+            this.probabilities = new float[outcomes];
+            this.aliases = new int[outcomes];
+
+            double total = Arrays.stream(weights).sum();
+            double[] scaled = new double[outcomes];
+
+            // Stacks of outcome indices below and at or above the average weight
+            int[] small = new int[outcomes];
+            int[] large = new int[outcomes];
+            int smallSize = 0;
+            int largeSize = 0;
+
+            for (int i = 0; i < outcomes; i++) {
+                scaled[i] = total > 0 ? weights[i] * outcomes / total : 1;
+                if (scaled[i] < 1) {
+                    small[smallSize++] = i;
+                } else {
+                    large[largeSize++] = i;
+                }
+            }
+
+            while (smallSize > 0 && largeSize > 0) {
+                int less = small[--smallSize];
+                int more = large[--largeSize];
+                this.probabilities[less] = (float) scaled[less];
+                this.aliases[less] = more;
+                scaled[more] = scaled[more] + scaled[less] - 1;
+                if (scaled[more] < 1) {
+                    small[smallSize++] = more;
+                } else {
+                    large[largeSize++] = more;
+                }
+            }
+
+            // Whatever remains is 1 up to rounding error
+            while (largeSize > 0) {
+                int i = large[--largeSize];
+                this.probabilities[i] = 1;
+                this.aliases[i] = i;
+            }
+            while (smallSize > 0) {
+                int i = small[--smallSize];
+                this.probabilities[i] = 1;
+                this.aliases[i] = i;
+            }
+        }
+    }
+}
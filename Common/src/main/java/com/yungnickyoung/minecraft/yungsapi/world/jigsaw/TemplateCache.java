@@ -0,0 +1,375 @@
+package com.yungnickyoung.minecraft.yungsapi.world.jigsaw;
+
+import com.yungnickyoung.minecraft.yungsapi.YungsApiCommon;
+import com.yungnickyoung.minecraft.yungsapi.mixin.accessor.StructureTemplateAccessor;
+import com.yungnickyoung.minecraft.yungsapi.mixin.accessor.StructureTemplatePaletteAccessor;
+import com.yungnickyoung.minecraft.yungsapi.services.Services;
+import net.minecraft.SharedConstants;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.Vec3i;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.nbt.NbtIo;
+import net.minecraft.nbt.NbtUtils;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.server.packs.resources.Resource;
+import net.minecraft.server.packs.resources.ResourceManager;
+import net.minecraft.world.level.block.state.BlockState;
+import net.minecraft.world.level.levelgen.structure.templatesystem.StructureManager;
+import net.minecraft.world.level.levelgen.structure.templatesystem.StructureTemplate;
+import net.minecraft.world.phys.Vec3;
+
+import javax.annotation.Nullable;
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+
+/**
+ * On-disk cache of preprocessed structure templates.
+ * <p>
+ * Vanilla loads each template by inflating its GZIP'd NBT and building the full NBT tree before converting it into a
+ * {@link StructureTemplate}. This cache instead stores each loaded template in a flat binary layout -
+ * block positions and palette indices packed in int arrays, with offsets into an uncompressed NBT region for
+ * block states, block entities and entities - and reads it back through a memory-mapped buffer.
+ * </p>
+ * <p>
+ * Each cache file is validated against a SHA-256 hash of the source {@code .nbt} resource and the current data version,
+ * so modified templates and game updates are picked up automatically.
+ * Any cache miss or failure falls back to vanilla loading.
+ * </p>
+ * Disabled by default. It can be enabled with {@link #setEnabled(boolean)},
+ * or by launching with {@code -Dyungsapi.templateCache=true}.
+ */
+public class TemplateCache {
+    private TemplateCache() {} // Private constructor prevents instantiation
+
+    private static final int MAGIC = 0x59544331; // "YTC1"
+    private static final int FORMAT_VERSION = 2;
+    private static final int HASH_LENGTH = 32;
+
+    /**
+     * Block positions are packed into a single int, 10 bits per axis.
+     * Templates larger than this in any dimension are not cached.
+     */
+    private static final int POS_BITS = 10;
+    private static final int POS_MASK = (1 << POS_BITS) - 1;
+
+    private static volatile boolean enabled = Boolean.getBoolean("yungsapi.templateCache");
+
+    public static void setEnabled(boolean enabled) {
+        TemplateCache.enabled = enabled;
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Loads the template with the given id, either from the cache or from its source resource.
+     * Templates loaded from their source resource are written to the cache for next time.
+     * @return The template, or null if it should be loaded by vanilla instead (e.g. the resource doesn't exist).
+     */
+    @Nullable
+    public static StructureTemplate load(StructureManager structureManager, ResourceManager resourceManager, ResourceLocation id) {
+        ResourceLocation resourceLocation = new ResourceLocation(id.getNamespace(), "structures/" + id.getPath() + ".nbt");
+        byte[] source;
+        try (Resource resource = resourceManager.getResource(resourceLocation)) {
+            source = resource.getInputStream().readAllBytes();
+        } catch (IOException e) {
+            return null;
+        }
+
+        byte[] hash = hash(source);
+        if (hash == null) return null;
+        Path cachePath = cachePath(id);
+        if (cachePath == null) return null;
+
+        // Attempt to read from cache
+        try {
+            StructureTemplate cachedTemplate = read(cachePath, hash);
+            if (cachedTemplate != null) {
+                return cachedTemplate;
+            }
+        } catch (Exception e) {
+            YungsApiCommon.LOGGER.warn("Unable to read cached structure template {}: {}", id, e.toString());
+        }
+
+        // Cache miss - load normally, then write to cache
+        StructureTemplate template;
+        try {
+            template = structureManager.readStructure(NbtIo.readCompressed(new ByteArrayInputStream(source)));
+        } catch (IOException e) {
+            return null;
+        }
+        try {
+            write(cachePath, hash, template);
+        } catch (IOException e) {
+            YungsApiCommon.LOGGER.warn("Unable to cache structure template {}: {}", id, e.toString());
+        }
+        return template;
+    }
+
+    /**
+     * @return The cache file for the given template, or null if the id's path would resolve outside the cache directory
+     * (resource paths may contain "..").
+     */
+    @Nullable
+    private static Path cachePath(ResourceLocation id) {
+        Path cacheDirectory = Services.PLATFORM.getGameDirectory()
+                .resolve(".cache")
+                .resolve(YungsApiCommon.MOD_ID)
+                .resolve("templates")
+                .toAbsolutePath()
+                .normalize();
+        Path path = cacheDirectory
+                .resolve(id.getNamespace())
+                .resolve(id.getPath() + ".bin")
+                .normalize();
+        return path.startsWith(cacheDirectory) ? path : null;
+    }
+
+    /**
+     * File layout (big-endian):
+     * <pre>
+     * int      magic, format version, data version
+     * byte[32] SHA-256 of the source resource
+     * int      size x, y, z
+     * int      NBT region length
+     * int      block state count, followed by int[] of NBT offsets for each block state
+     * int      palette count, followed by for each palette:
+     *            int block count, int[] packed positions, int[] block state indices, int[] block entity NBT offsets
+     * int      entity count, followed by for each entity:
+     *            double x, y, z, int block x, y, z, int NBT offset
+     * byte[]   NBT region, holding uncompressed NBT compounds
+     * </pre>
+     * NBT offsets are relative to the start of the NBT region. An offset of -1 means no NBT.
+     * Entity block positions are stored unpacked, since they may lie outside the template's bounds.
+     */
+    @Nullable
+    private static StructureTemplate read(Path path, byte[] expectedHash) throws IOException {
+        if (!Files.isRegularFile(path)) return null;
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+
+            // Validate header
+            if (buffer.getInt() != MAGIC || buffer.getInt() != FORMAT_VERSION || buffer.getInt() != dataVersion()) {
+                return null;
+            }
+            byte[] hash = new byte[HASH_LENGTH];
+            buffer.get(hash);
+            if (!Arrays.equals(hash, expectedHash)) {
+                return null;
+            }
+
+            Vec3i size = new Vec3i(buffer.getInt(), buffer.getInt(), buffer.getInt());
+            int nbtRegionStart = buffer.capacity() - buffer.getInt();
+
+            // Block states
+            int[] stateOffsets = getInts(buffer, buffer.getInt());
+            BlockState[] states = new BlockState[stateOffsets.length];
+            for (int i = 0; i < states.length; i++) {
+                states[i] = NbtUtils.readBlockState(readNbt(buffer, nbtRegionStart, stateOffsets[i]));
+            }
+
+            StructureTemplate template = new StructureTemplate();
+            StructureTemplateAccessor accessor = (StructureTemplateAccessor) template;
+            accessor.setSize(size);
+
+            // Palettes
+            int paletteCount = buffer.getInt();
+            for (int p = 0; p < paletteCount; p++) {
+                int blockCount = buffer.getInt();
+                int[] positions = getInts(buffer, blockCount);
+                int[] stateIndices = getInts(buffer, blockCount);
+                int[] nbtOffsets = getInts(buffer, blockCount);
+
+                List<StructureTemplate.StructureBlockInfo> blocks = new ArrayList<>(blockCount);
+                for (int i = 0; i < blockCount; i++) {
+                    CompoundTag nbt = nbtOffsets[i] == -1 ? null : readNbt(buffer, nbtRegionStart, nbtOffsets[i]);
+                    blocks.add(new StructureTemplate.StructureBlockInfo(unpackPos(positions[i]), states[stateIndices[i]], nbt));
+                }
+                accessor.getPalettes().add(StructureTemplatePaletteAccessor.createPalette(blocks));
+            }
+
+            // Entities
+            int entityCount = buffer.getInt();
+            for (int i = 0; i < entityCount; i++) {
+                Vec3 pos = new Vec3(buffer.getDouble(), buffer.getDouble(), buffer.getDouble());
+                BlockPos blockPos = new BlockPos(buffer.getInt(), buffer.getInt(), buffer.getInt());
+                CompoundTag nbt = readNbt(buffer, nbtRegionStart, buffer.getInt());
+                accessor.getEntityInfoList().add(new StructureTemplate.StructureEntityInfo(pos, blockPos, nbt));
+            }
+
+            return template;
+        }
+    }
+
+    private static void write(Path path, byte[] hash, StructureTemplate template) throws IOException {
+        Vec3i size = template.getSize();
+        if (size.getX() > POS_MASK + 1 || size.getY() > POS_MASK + 1 || size.getZ() > POS_MASK + 1) {
+            return; // Too large to pack positions
+        }
+
+        StructureTemplateAccessor accessor = (StructureTemplateAccessor) template;
+        ByteArrayOutputStream nbtBytes = new ByteArrayOutputStream();
+        DataOutputStream nbtOut = new DataOutputStream(nbtBytes);
+
+        // Assign each distinct block state an index, writing its NBT to the NBT region
+        Map<BlockState, Integer> stateIndices = new LinkedHashMap<>();
+        List<Integer> stateOffsets = new ArrayList<>();
+        for (StructureTemplate.Palette palette : accessor.getPalettes()) {
+            for (StructureTemplate.StructureBlockInfo blockInfo : palette.blocks()) {
+                if (!canPackPos(blockInfo.pos)) {
+                    return; // Block outside the packable range
+                }
+                if (!stateIndices.containsKey(blockInfo.state)) {
+                    stateIndices.put(blockInfo.state, stateIndices.size());
+                    stateOffsets.add(writeNbt(nbtOut, nbtBytes, NbtUtils.writeBlockState(blockInfo.state)));
+                }
+            }
+        }
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(MAGIC);
+        out.writeInt(FORMAT_VERSION);
+        out.writeInt(dataVersion());
+        out.write(hash);
+        out.writeInt(size.getX());
+        out.writeInt(size.getY());
+        out.writeInt(size.getZ());
+
+        // Palettes and entities are written to a separate buffer, since the NBT region length isn't known yet
+        ByteArrayOutputStream bodyBytes = new ByteArrayOutputStream();
+        DataOutputStream body = new DataOutputStream(bodyBytes);
+
+        body.writeInt(accessor.getPalettes().size());
+        for (StructureTemplate.Palette palette : accessor.getPalettes()) {
+            List<StructureTemplate.StructureBlockInfo> blocks = palette.blocks();
+            body.writeInt(blocks.size());
+            for (StructureTemplate.StructureBlockInfo blockInfo : blocks) {
+                body.writeInt(packPos(blockInfo.pos));
+            }
+            for (StructureTemplate.StructureBlockInfo blockInfo : blocks) {
+                body.writeInt(stateIndices.get(blockInfo.state));
+            }
+            for (StructureTemplate.StructureBlockInfo blockInfo : blocks) {
+                body.writeInt(blockInfo.nbt == null ? -1 : writeNbt(nbtOut, nbtBytes, blockInfo.nbt));
+            }
+        }
+
+        body.writeInt(accessor.getEntityInfoList().size());
+        for (StructureTemplate.StructureEntityInfo entityInfo : accessor.getEntityInfoList()) {
+            body.writeDouble(entityInfo.pos.x);
+            body.writeDouble(entityInfo.pos.y);
+            body.writeDouble(entityInfo.pos.z);
+            body.writeInt(entityInfo.blockPos.getX());
+            body.writeInt(entityInfo.blockPos.getY());
+            body.writeInt(entityInfo.blockPos.getZ());
+            body.writeInt(writeNbt(nbtOut, nbtBytes, entityInfo.nbt));
+        }
+
+        nbtOut.flush();
+        out.writeInt(nbtBytes.size());
+        out.writeInt(stateOffsets.size());
+        for (int offset : stateOffsets) {
+            out.writeInt(offset);
+        }
+        body.flush();
+        bodyBytes.writeTo(out);
+        nbtBytes.writeTo(out);
+        out.flush();
+
+        // Write to a temp file first so concurrent loads never observe a partially written file
+        Files.createDirectories(path.getParent());
+        Path tempPath = Files.createTempFile(path.getParent(), path.getFileName().toString(), ".tmp");
+        try {
+            Files.write(tempPath, bytes.toByteArray());
+            Files.move(tempPath, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(tempPath);
+        }
+    }
+
+    /**
+     * Writes the given compound to the NBT region.
+     * @return The offset of the compound within the NBT region.
+     */
+    private static int writeNbt(DataOutputStream nbtOut, ByteArrayOutputStream nbtBytes, CompoundTag tag) throws IOException {
+        nbtOut.flush();
+        int offset = nbtBytes.size();
+        NbtIo.write(tag, nbtOut);
+        return offset;
+    }
+
+    private static CompoundTag readNbt(ByteBuffer buffer, int nbtRegionStart, int offset) throws IOException {
+        ByteBuffer slice = buffer.duplicate().position(nbtRegionStart + offset);
+        return NbtIo.read(new DataInputStream(new ByteBufferInputStream(slice)));
+    }
+
+    private static int[] getInts(ByteBuffer buffer, int count) {
+        int[] ints = new int[count];
+        buffer.asIntBuffer().get(ints);
+        buffer.position(buffer.position() + count * Integer.BYTES);
+        return ints;
+    }
+
+    private static boolean canPackPos(BlockPos pos) {
+        return (pos.getX() & ~POS_MASK) == 0 && (pos.getY() & ~POS_MASK) == 0 && (pos.getZ() & ~POS_MASK) == 0;
+    }
+
+    private static int packPos(BlockPos pos) {
+        return (pos.getX() & POS_MASK) << (2 * POS_BITS) | (pos.getY() & POS_MASK) << POS_BITS | (pos.getZ() & POS_MASK);
+    }
+
+    private static BlockPos unpackPos(int packedPos) {
+        return new BlockPos(packedPos >>> (2 * POS_BITS) & POS_MASK, packedPos >>> POS_BITS & POS_MASK, packedPos & POS_MASK);
+    }
+
+    private static int dataVersion() {
+        return SharedConstants.getCurrentVersion().getWorldVersion();
+    }
+
+    @Nullable
+    private static byte[] hash(byte[] bytes) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(bytes);
+        } catch (NoSuchAlgorithmException e) {
+            YungsApiCommon.LOGGER.error("SHA-256 unavailable. Structure template cache will not be used.");
+            enabled = false;
+            return null;
+        }
+    }
+
+    /**
+     * Minimal InputStream view over a ByteBuffer, used to read NBT straight out of the mapped file.
+     */
+    private static class ByteBufferInputStream extends InputStream {
+        private final ByteBuffer buffer;
+
+        ByteBufferInputStream(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read() {
+            return this.buffer.hasRemaining() ? this.buffer.get() & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] bytes, int offset, int length) {
+            if (!this.buffer.hasRemaining()) return -1;
+            length = Math.min(length, this.buffer.remaining());
+            this.buffer.get(bytes, offset, length);
+            return length;
+        }
+    }
+}
@@ -0,0 +1,223 @@
+package com.yungnickyoung.minecraft.yungsapi.world.jigsaw;
+
+import com.mojang.datafixers.util.Pair;
+import com.yungnickyoung.minecraft.yungsapi.YungsApiCommon;
+import com.yungnickyoung.minecraft.yungsapi.api.YungJigsawConfig;
+import com.yungnickyoung.minecraft.yungsapi.mixin.accessor.ListPoolElementAccessor;
+import com.yungnickyoung.minecraft.yungsapi.mixin.accessor.SinglePoolElementAccessor;
+import com.yungnickyoung.minecraft.yungsapi.mixin.accessor.StructureTemplatePoolAccessor;
+import net.minecraft.Util;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.Registry;
+import net.minecraft.core.RegistryAccess;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.world.level.block.Rotation;
+import net.minecraft.world.level.levelgen.structure.pools.ListPoolElement;
+import net.minecraft.world.level.levelgen.structure.pools.SinglePoolElement;
+import net.minecraft.world.level.levelgen.structure.pools.StructurePoolElement;
+import net.minecraft.world.level.levelgen.structure.pools.StructureTemplatePool;
+import net.minecraft.world.level.levelgen.structure.templatesystem.StructureManager;
+import net.minecraft.world.level.levelgen.structure.templatesystem.StructureTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Optionally loads every structure template reachable from the start pools of all registered
+ * {@link YungJigsawConfig}s ahead of time, in parallel on the worldgen background executor.
+ * <p>
+ * Without this, {@link StructureManager} loads and decompresses each template lazily on the worldgen
+ * thread the first time a piece is considered, which shows up as a large spike the first time a structure generates.
+ * </p>
+ * Prefetching is disabled by default. It can be enabled with {@link #setEnabled(boolean)},
+ * or by launching with {@code -Dyungsapi.prefetchTemplates=true}.
+ */
+public class TemplatePrefetcher {
+    private TemplatePrefetcher() {} // Private constructor prevents instantiation
+
+    private static volatile boolean enabled = Boolean.getBoolean("yungsapi.prefetchTemplates");
+
+    /**
+     * Guards against overlapping prefetches, e.g. when a reload is triggered while the startup prefetch is still running.
+     */
+    private static final AtomicBoolean RUNNING = new AtomicBoolean(false);
+
+    public static void setEnabled(boolean enabled) {
+        TemplatePrefetcher.enabled = enabled;
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Starts a prefetch for the given server if prefetching is enabled and no prefetch is already running.
+     * Returns immediately; the work is performed asynchronously.
+     */
+    public static void prefetchIfEnabled(MinecraftServer server) {
+        if (!enabled) return;
+        prefetch(server.registryAccess(), server.getStructureManager());
+    }
+
+    /**
+     * Asynchronously loads all templates reachable from the start pools of registered {@link YungJigsawConfig}s.
+     * Load time and allocated memory are logged per template namespace once complete.
+     * @return A future completing once all templates have been loaded, or an already completed future
+     *         if another prefetch is still in progress.
+     */
+    public static CompletableFuture<Void> prefetch(RegistryAccess registryAccess, StructureManager structureManager) {
+        if (!RUNNING.compareAndSet(false, true)) {
+            YungsApiCommon.LOGGER.debug("Skipping structure template prefetch - a prefetch is already in progress.");
+            return CompletableFuture.completedFuture(null);
+        }
+
+        return CompletableFuture
+                .supplyAsync(() -> new Walk(registryAccess, structureManager), Util.backgroundExecutor())
+                .thenCompose(Walk::run)
+                .whenComplete((result, throwable) -> {
+                    RUNNING.set(false);
+                    if (throwable != null) {
+                        YungsApiCommon.LOGGER.error("Structure template prefetch failed", throwable);
+                    }
+                });
+    }
+
+    /**
+     * A single breadth-first walk over the pool graph.
+     * Each level of pools is loaded in parallel; jigsaw blocks in the loaded templates determine the next level.
+     * Levels are chained as futures, so no executor thread is blocked waiting on a level to finish.
+     */
+    private static class Walk {
+        private final Registry<StructureTemplatePool> poolRegistry;
+        private final StructureManager structureManager;
+        private final Set<ResourceLocation> visitedPools = new HashSet<>();
+        private final Set<ResourceLocation> visitedTemplates = ConcurrentHashMap.newKeySet();
+        private final Map<String, NamespaceStats> stats = new ConcurrentHashMap<>();
+
+        Walk(RegistryAccess registryAccess, StructureManager structureManager) {
+            this.poolRegistry = registryAccess.registryOrThrow(Registry.TEMPLATE_POOL_REGISTRY);
+            this.structureManager = structureManager;
+
+            // Seed the walk with the start pool of every registered structure using a YungJigsawConfig
+            registryAccess.registryOrThrow(Registry.CONFIGURED_STRUCTURE_FEATURE_REGISTRY).forEach(configuredStructure -> {
+                if (configuredStructure.config instanceof YungJigsawConfig config) {
+                    this.visitedPools.add(config.getStartPool());
+                }
+            });
+        }
+
+        CompletableFuture<Void> run() {
+            long startTime = System.nanoTime();
+            return walkLevel(new HashSet<>(this.visitedPools))
+                    .thenRun(() -> logResults(System.nanoTime() - startTime));
+        }
+
+        /**
+         * Loads the templates of every pool in the frontier, then walks the newly discovered pools.
+         */
+        private CompletableFuture<Void> walkLevel(Set<ResourceLocation> frontier) {
+            if (frontier.isEmpty()) {
+                return CompletableFuture.completedFuture(null);
+            }
+
+            Set<ResourceLocation> discoveredPools = ConcurrentHashMap.newKeySet();
+            List<CompletableFuture<Void>> tasks = new ArrayList<>();
+
+            for (ResourceLocation poolId : frontier) {
+                Optional<StructureTemplatePool> pool = this.poolRegistry.getOptional(poolId);
+                if (pool.isEmpty()) continue;
+                discoveredPools.add(pool.get().getFallback());
+                for (Pair<StructurePoolElement, Integer> pair : ((StructureTemplatePoolAccessor) pool.get()).getRawTemplates()) {
+                    collectTasks(pair.getFirst(), discoveredPools, tasks);
+                }
+            }
+
+            return CompletableFuture.allOf(tasks.toArray(new CompletableFuture[0])).thenCompose(loaded -> {
+                // Only walk pools we haven't seen before
+                Set<ResourceLocation> nextFrontier = new HashSet<>();
+                for (ResourceLocation poolId : discoveredPools) {
+                    if (this.visitedPools.add(poolId)) {
+                        nextFrontier.add(poolId);
+                    }
+                }
+                return walkLevel(nextFrontier);
+            });
+        }
+
+        /**
+         * Queues a load task for each template referenced by the given element.
+         * List elements are unwrapped; elements without templates (e.g. feature elements) are skipped.
+         */
+        private void collectTasks(StructurePoolElement element, Set<ResourceLocation> discoveredPools, List<CompletableFuture<Void>> tasks) {
+            if (element instanceof ListPoolElement) {
+                ((ListPoolElementAccessor) element).getElements().forEach(child -> collectTasks(child, discoveredPools, tasks));
+            } else if (element instanceof SinglePoolElement) {
+                ((SinglePoolElementAccessor) element).getTemplate().left().ifPresent(templateId -> {
+                    if (this.visitedTemplates.add(templateId)) {
+                        tasks.add(CompletableFuture.runAsync(() -> load(element, templateId, discoveredPools), Util.backgroundExecutor()));
+                    }
+                });
+            }
+        }
+
+        private void load(StructurePoolElement element, ResourceLocation templateId, Set<ResourceLocation> discoveredPools) {
+            long allocatedBefore = allocatedBytes();
+            long startTime = System.nanoTime();
+            Optional<StructureTemplate> template = this.structureManager.get(templateId);
+            long elapsed = System.nanoTime() - startTime;
+            long allocated = allocatedBytes() - allocatedBefore;
+
+            NamespaceStats namespaceStats = this.stats.computeIfAbsent(templateId.getNamespace(), namespace -> new NamespaceStats());
+            if (template.isEmpty()) {
+                namespaceStats.missing.increment();
+                return;
+            }
+            namespaceStats.templates.increment();
+            namespaceStats.nanos.add(elapsed);
+            namespaceStats.bytes.add(Math.max(allocated, 0));
+
+            // Gather pools targeted by this element's jigsaw blocks. The template is already cached at this point.
+            element.getShuffledJigsawBlocks(this.structureManager, BlockPos.ZERO, Rotation.NONE, new Random(0))
+                    .forEach(jigsawBlock -> discoveredPools.add(new ResourceLocation(jigsawBlock.nbt.getString("pool"))));
+        }
+
+        private void logResults(long totalNanos) {
+            YungsApiCommon.LOGGER.info("Prefetched structure templates for {} pools in {} ms", this.visitedPools.size(), totalNanos / 1_000_000);
+            this.stats.entrySet().stream()
+                    .sorted(Map.Entry.comparingByKey())
+                    .forEach(entry -> {
+                        NamespaceStats namespaceStats = entry.getValue();
+                        YungsApiCommon.LOGGER.info("  {}: {} templates, {} ms load time (summed across threads), {} KiB allocated{}",
+                                entry.getKey(),
+                                namespaceStats.templates.sum(),
+                                namespaceStats.nanos.sum() / 1_000_000,
+                                namespaceStats.bytes.sum() / 1024,
+                                namespaceStats.missing.sum() > 0 ? ", " + namespaceStats.missing.sum() + " missing" : "");
+                    });
+        }
+    }
+
+    private static class NamespaceStats {
+        final LongAdder templates = new LongAdder();
+        final LongAdder missing = new LongAdder();
+        final LongAdder nanos = new LongAdder();
+        final LongAdder bytes = new LongAdder();
+    }
+
+    /**
+     * @return The number of bytes allocated by the current thread so far, or 0 if the JVM doesn't support measuring it.
+     */
+    private static long allocatedBytes() {
+        ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+        if (threadMXBean instanceof com.sun.management.ThreadMXBean sunThreadMXBean && sunThreadMXBean.isThreadAllocatedMemoryEnabled()) {
+            return sunThreadMXBean.getThreadAllocatedBytes(Thread.currentThread().getId());
+        }
+        return 0;
+    }
+}
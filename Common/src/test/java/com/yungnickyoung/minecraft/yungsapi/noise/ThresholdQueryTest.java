@@ -0,0 +1,84 @@
+package com.yungnickyoung.minecraft.yungsapi.noise;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+/**
+ * IsAbove(...) and IsInRange(...) must answer the same as comparing GetNoise(...) directly,
+ * including for negative and greater-than-one fractal gains.
+ */
+public class ThresholdQueryTest {
+    private static final FastNoise.NoiseType[] FRACTAL_TYPES = {
+            FastNoise.NoiseType.ValueFractal,
+            FastNoise.NoiseType.PerlinFractal,
+            FastNoise.NoiseType.SimplexFractal,
+            FastNoise.NoiseType.CubicFractal
+    };
+    private static final float[] GAINS = {-2f, -0.5f, 0f, 0.5f, 2f};
+
+    @Test
+    public void valueFractalWithNegativeGainIsNotAboveItself() {
+        FastNoise noise = FastNoise.builder()
+                .noiseType(FastNoise.NoiseType.ValueFractal)
+                .fractalType(FastNoise.FractalType.FBM)
+                .fractalGain(-0.5f)
+                .build();
+        Random random = new Random(1);
+        for (int i = 0; i < 10000; i++) {
+            float x = random.nextFloat() * 1000, y = random.nextFloat() * 200, z = random.nextFloat() * 1000;
+            assertFalse(noise.IsAbove(x, y, z, noise.GetNoise(x, y, z)));
+        }
+    }
+
+    @Test
+    public void fastNoiseMatchesGetNoise() {
+        Random random = new Random(2);
+        for (FastNoise.NoiseType noiseType : FRACTAL_TYPES) {
+            for (FastNoise.FractalType fractalType : FastNoise.FractalType.values()) {
+                for (float gain : GAINS) {
+                    FastNoise noise = FastNoise.builder()
+                            .seed(random.nextInt())
+                            .noiseType(noiseType)
+                            .fractalType(fractalType)
+                            .fractalOctaves(1 + random.nextInt(6))
+                            .fractalGain(gain)
+                            .build();
+                    for (int i = 0; i < 2000; i++) {
+                        float x = random.nextFloat() * 1000, y = random.nextFloat() * 200, z = random.nextFloat() * 1000;
+                        float value = noise.GetNoise(x, y, z);
+                        float min = i % 2 == 0 ? value : (random.nextFloat() * 2 - 1) * 4;
+                        float max = min + random.nextFloat();
+                        String context = noiseType + "/" + fractalType + " gain " + gain + " at " + x + ", " + y + ", " + z;
+                        assertEquals(value > min, noise.IsAbove(x, y, z, min), context);
+                        assertEquals(value >= min && value <= max, noise.IsInRange(x, y, z, min, max), context);
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void openSimplexMatchesGetNoise() {
+        Random random = new Random(3);
+        for (float gain : GAINS) {
+            OpenSimplex2S noise = new OpenSimplex2S(random.nextLong());
+            noise.setOctaves(5);
+            noise.setGain(gain);
+            noise.setLacunarity(2);
+            noise.setFrequency(0.01);
+            for (int i = 0; i < 5000; i++) {
+                float x = random.nextFloat() * 1000, y = random.nextFloat() * 200, z = random.nextFloat() * 1000;
+                float value = noise.GetNoise(x, y, z);
+                float min = i % 2 == 0 ? value : (random.nextFloat() * 2 - 1) * 4;
+                float max = min + random.nextFloat();
+                String context = "gain " + gain + " at " + x + ", " + y + ", " + z;
+                assertEquals(value > min, noise.IsAbove(x, y, z, min), context);
+                assertEquals(value >= min && value <= max, noise.IsInRange(x, y, z, min, max), context);
+            }
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package com.yungnickyoung.minecraft.yungsapi.world;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The compiled tables must pick the same values as the linear walk the randomizers originally used,
+ * so that get(Random) keeps generating the same structures for the same seeds.
+ */
+public class RandomizerTableTest {
+    /**
+     * The original BlockStateRandomizer/ItemRandomizer get(Random), over parallel arrays.
+     */
+    private static String linearWalk(String[] values, float[] probabilities, String defaultValue, float target) {
+        float currBottom = 0;
+        for (int i = 0; i < values.length; i++) {
+            if (currBottom <= target && target < currBottom + probabilities[i]) {
+                return values[i];
+            }
+            currBottom += probabilities[i];
+        }
+        return defaultValue;
+    }
+
+    private static RandomizerTable<String> table(String[] values, float[] probabilities, String defaultValue) {
+        return new RandomizerTable<>(values.clone(), probabilities.clone(), defaultValue);
+    }
+
+    @Test
+    public void getMatchesLinearWalk() {
+        Random random = new Random(1);
+        for (int t = 0; t < 2000; t++) {
+            int size = random.nextInt(24);
+            String[] values = new String[size];
+            float[] probabilities = new float[size];
+            for (int i = 0; i < size; i++) {
+                values[i] = "value" + i;
+                // Mostly valid randomizers, plus totals above 1 and negative probabilities, which the walk also accepts
+                probabilities[i] = t % 5 == 0 ? random.nextFloat() - 0.25f : random.nextFloat() / size * (t % 3 == 0 ? 2 : 1);
+            }
+            RandomizerTable<String> table = table(values, probabilities, "default");
+
+            long seed = random.nextLong();
+            Random walkRandom = new Random(seed);
+            Random tableRandom = new Random(seed);
+            for (int i = 0; i < 500; i++) {
+                assertEquals(linearWalk(values, probabilities, "default", walkRandom.nextFloat()), table.get(tableRandom.nextFloat()));
+            }
+        }
+    }
+
+    @Test
+    public void getMatchesLinearWalkAtBoundaries() {
+        float[] probabilities = {0.1f, 0.2f, 0.3f, 0.15f};
+        String[] values = {"a", "b", "c", "d"};
+        RandomizerTable<String> table = table(values, probabilities, "default");
+
+        float bound = 0;
+        for (float probability : probabilities) {
+            bound += probability;
+            for (float target : new float[]{Math.nextDown(bound), bound, Math.nextUp(bound)}) {
+                assertEquals(linearWalk(values, probabilities, "default", target), table.get(target));
+            }
+        }
+    }
+
+    @Test
+    public void fillMatchesGet() {
+        String[] values = {"a", "b", "c"};
+        RandomizerTable<String> table = table(values, new float[]{0.25f, 0.25f, 0.25f}, "default");
+        String[] out = new String[1000];
+        table.fill(new Random(2), out, out.length);
+
+        Random random = new Random(2);
+        for (String value : out) {
+            assertEquals(table.get(random.nextFloat()), value);
+        }
+    }
+
+    @Test
+    public void aliasIndexFollowsProbabilities() {
+        RandomizerTable<String> table = table(new String[]{"a", "b", "c"}, new float[]{0.5f, 0.25f, 0.125f}, "default");
+        int[] counts = new int[table.size() + 1];
+        Random random = new Random(3);
+        int draws = 200000;
+        for (int i = 0; i < draws; i++) {
+            counts[table.aliasIndex(random)]++;
+        }
+
+        double[] expected = {0.5, 0.25, 0.125, 0.125};
+        for (int i = 0; i < counts.length; i++) {
+            assertTrue(Math.abs(counts[i] / (double) draws - expected[i]) < 0.01, "Outcome " + i + " drawn " + counts[i] + " times");
+        }
+    }
+
+    @Test
+    public void isCompiledFromDetectsChangedEntries() {
+        String[] values = {"a", "b", "c"};
+        float[] probabilities = {0.25f, 0.25f, 0.25f};
+        RandomizerTable<String> table = table(values, probabilities, "default");
+        assertTrue(table.isCompiledFrom(Arrays.asList(0, 1, 2), i -> values[i], i -> probabilities[i]));
+
+        assertFalse(table.isCompiledFrom(Arrays.asList(0, 1), i -> values[i], i -> probabilities[i]));
+        assertFalse(table.isCompiledFrom(Arrays.asList(0, 2, 1), i -> values[i], i -> probabilities[i]));
+        assertFalse(table.isCompiledFrom(Arrays.asList(0, 1, 2), i -> values[i], i -> i == 1 ? 0.5f : probabilities[i]));
+        assertFalse(table.isCompiledFrom(Arrays.asList(0, 1, 2), i -> i == 2 ? "d" : values[i], i -> probabilities[i]));
+    }
+}
@@ -2,6 +2,8 @@ package com.yungnickyoung.minecraft.yungsapi.services;
 
 import net.fabricmc.loader.api.FabricLoader;
 
+import java.nio.file.Path;
+
 public class FabricPlatformHelper implements IPlatformHelper {
     @Override
     public String getPlatformName() {
@@ -18,6 +20,11 @@ public class FabricPlatformHelper implements IPlatformHelper {
         return FabricLoader.getInstance().isDevelopmentEnvironment();
     }
 
+    @Override
+    public Path getGameDirectory() {
+        return FabricLoader.getInstance().getGameDir();
+    }
+
     @Override
     public boolean isFabric() {
         return true;
@@ -2,6 +2,9 @@ package com.yungnickyoung.minecraft.yungsapi.services;
 
 import net.minecraftforge.fml.ModList;
 import net.minecraftforge.fml.loading.FMLLoader;
+import net.minecraftforge.fml.loading.FMLPaths;
+
+import java.nio.file.Path;
 
 public class ForgePlatformHelper implements IPlatformHelper {
     @Override
@@ -19,6 +22,11 @@ public class ForgePlatformHelper implements IPlatformHelper {
         return !FMLLoader.isProduction();
     }
 
+    @Override
+    public Path getGameDirectory() {
+        return FMLPaths.GAMEDIR.get();
+    }
+
     @Override
     public boolean isForge() {
         return true;